@@ -0,0 +1,27 @@
+#!/usr/bin/env bash
+# Runs scripts/load/execution-model.js against the packaged app in both REST execution models and
+# prints p99 latency and throughput for each. Needs k6 and a running PostgreSQL (see README).
+#
+#   ./mvnw package -DskipTests && scripts/load/compare-execution-models.sh
+set -euo pipefail
+
+PORT="${PORT:-8080}"
+DURATION="${DURATION:-60s}"
+VUS="${VUS:-1000}"
+cd "$(dirname "$0")/../.."
+
+for mode in worker virtual-threads; do
+  virtual=$([ "$mode" = virtual-threads ] && echo true || echo false)
+  java -Dquarkus.virtual-threads.enabled="$virtual" -Dquarkus.http.port="$PORT" \
+    -Dquarkus.datasource.jdbc.acquisition-timeout=30s \
+    -jar target/quarkus-app/quarkus-run.jar > "target/load-$mode.log" 2>&1 &
+  app=$!
+  trap 'kill $app 2>/dev/null || true' EXIT
+  until curl -sf "http://localhost:$PORT/q/health/ready" > /dev/null; do sleep 1; done
+
+  k6 run --quiet -e BASE_URL="http://localhost:$PORT" -e MODE="$mode" \
+    -e VUS="$VUS" -e DURATION="$DURATION" scripts/load/execution-model.js
+
+  kill "$app"
+  wait "$app" 2>/dev/null || true
+done
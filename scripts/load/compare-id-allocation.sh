@@ -0,0 +1,19 @@
+#!/usr/bin/env bash
+# Runs ProductInsertThroughputIT once per product_seq allocation size against the Dev Services
+# PostgreSQL container (needs Docker) and prints the insert rate of each run. SQL logging is off so
+# that it does not dominate the timings.
+#
+#   scripts/load/compare-id-allocation.sh            # sizes 1 50 500
+#   SIZES="50 1000" scripts/load/compare-id-allocation.sh
+set -euo pipefail
+
+SIZES="${SIZES:-1 50 500}"
+cd "$(dirname "$0")/../.."
+mkdir -p target
+
+for size in $SIZES; do
+  ./mvnw -q test -Dtest=ProductInsertThroughputIT -Did.allocation-size.product_seq="$size" \
+    -Dquarkus.hibernate-orm.log.sql=false > "target/id-allocation-$size.log" 2>&1 \
+    || { tail -n 50 "target/id-allocation-$size.log"; exit 1; }
+  grep -h "Inserted products" "target/id-allocation-$size.log"
+done
@@ -0,0 +1,55 @@
+// Load scenario for comparing REST execution models (see docs/BENCHMARKS.md, "Load tests").
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e MODE=worker scripts/load/execution-model.js
+//
+// 1000 concurrent clients (VUS) loop over a read-heavy mix of blocking JDBC endpoints for DURATION.
+// The summary reports p99 latency per endpoint and overall throughput (http_reqs rate).
+import http from "k6/http";
+import { check } from "k6";
+
+const BASE_URL = __ENV.BASE_URL || "http://localhost:8080";
+const MODE = __ENV.MODE || "unknown";
+
+export const options = {
+  scenarios: {
+    clients: {
+      executor: "constant-vus",
+      vus: Number(__ENV.VUS || 1000),
+      duration: __ENV.DURATION || "60s",
+      gracefulStop: "10s",
+    },
+  },
+  summaryTrendStats: ["avg", "med", "p(90)", "p(99)", "max"],
+  tags: { mode: MODE },
+};
+
+const requests = [
+  { name: "store-list", path: "/store" },
+  { name: "store-get", path: "/store/1" },
+  { name: "product-list", path: "/product" },
+  { name: "warehouse-list", path: "/warehouse" },
+  { name: "warehouse-get", path: "/warehouse/1" },
+  { name: "fulfilment-page", path: "/fulfilment?storeId=1&limit=50" },
+];
+
+export default function () {
+  const request = requests[Math.floor(Math.random() * requests.length)];
+  const response = http.get(BASE_URL + request.path, {
+    tags: { endpoint: request.name },
+    timeout: "60s",
+  });
+  check(response, { "status is 200": (r) => r.status === 200 });
+}
+
+export function handleSummary(data) {
+  const p99 = data.metrics.http_req_duration.values["p(99)"];
+  const rate = data.metrics.http_reqs.values.rate;
+  const failed = data.metrics.http_req_failed.values.rate;
+  const line =
+    `mode=${MODE} p99=${p99.toFixed(1)}ms throughput=${rate.toFixed(1)}req/s ` +
+    `failed=${(failed * 100).toFixed(2)}%\n`;
+  return {
+    stdout: line,
+    [`target/load-${MODE}.json`]: JSON.stringify(data, null, 2),
+  };
+}
@@ -0,0 +1,21 @@
+package com.fulfilment.application.monolith;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Silences application logging in benchmark forks, so the benchmarks measure the code rather than
+ * console output. Forks run with {@code -Dorg.jboss.logging.provider=jdk}, so JBoss Logging
+ * delegates to {@code java.util.logging}.
+ */
+public final class BenchmarkLogging {
+
+  // java.util.logging holds loggers weakly; keep the configured one alive.
+  private static final Logger APPLICATION_LOGGER = Logger.getLogger("com.fulfilment");
+
+  private BenchmarkLogging() {}
+
+  public static void silence() {
+    APPLICATION_LOGGER.setLevel(Level.OFF);
+  }
+}
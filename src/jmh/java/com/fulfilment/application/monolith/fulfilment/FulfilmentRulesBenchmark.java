@@ -0,0 +1,66 @@
+package com.fulfilment.application.monolith.fulfilment;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The database-free part of {@link FulfilmentService#assign}: completing a snapshot from the limit
+ * index and deciding on it with {@link FulfilmentService#isAssignable}. The index holds 100k
+ * assignments (10k stores, 10 products each, spread over 1k warehouses).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FulfilmentRulesBenchmark {
+
+  private static final FulfilmentConstraintSnapshot REFERENCES =
+      new FulfilmentConstraintSnapshot(true, true, true, false, 0, 0, false, 0);
+
+  private FulfilmentConstraintCounters counters;
+  private FulfilmentConstraintSnapshot allowed;
+  private FulfilmentConstraintSnapshot rejected;
+
+  @Setup
+  public void setUp() {
+    counters = new FulfilmentConstraintCounters();
+    for (long store = 1; store <= 10_000; store++) {
+      for (long product = 1; product <= 10; product++) {
+        counters.add(store, product, (store * 10 + product) % 1_000 + 1);
+      }
+    }
+    allowed = new FulfilmentConstraintSnapshot(true, true, true, false, 1, 2, true, 3);
+    rejected = new FulfilmentConstraintSnapshot(true, true, true, false, 2, 3, true, 3);
+  }
+
+  @Benchmark
+  public FulfilmentConstraintSnapshot indexLookup() {
+    return counters.withLimits(REFERENCES, 4_242L, 7L, 500L);
+  }
+
+  @Benchmark
+  public boolean decideAllowed() {
+    return FulfilmentService.isAssignable(allowed, 1L, 1L, 1L);
+  }
+
+  /** Fails the per-product limit; dominated by building the exception and its message. */
+  @Benchmark
+  public Object decideRejected() {
+    try {
+      return FulfilmentService.isAssignable(rejected, 1L, 1L, 1L);
+    } catch (FulfilmentConstraintException e) {
+      return e;
+    }
+  }
+}
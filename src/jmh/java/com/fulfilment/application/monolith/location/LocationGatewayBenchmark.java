@@ -0,0 +1,77 @@
+package com.fulfilment.application.monolith.location;
+
+import com.fulfilment.application.monolith.BenchmarkLogging;
+import com.fulfilment.application.monolith.warehouses.domain.exceptions.LocationNotFoundException;
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link LocationGateway#resolveByIdentifier} for known and unknown identifiers, with the built-in
+ * locations and with a generated source of 10k locations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.jboss.logging.provider=jdk")
+public class LocationGatewayBenchmark {
+
+  /** First and last of the built-in locations, also present in the generated source. */
+  @Param({"ZWOLLE-001", "VETSBY-001"})
+  public String identifier;
+
+  @Param({"0", "10000"})
+  public int generatedLocations;
+
+  private LocationGateway gateway;
+
+  @Setup
+  public void setUp() throws IOException {
+    BenchmarkLogging.silence();
+    gateway = new LocationGateway();
+    if (generatedLocations > 0) {
+      Path csv = Files.createTempFile("locations", ".csv");
+      csv.toFile().deleteOnExit();
+      StringBuilder lines = new StringBuilder();
+      for (Location location : LocationGateway.DEFAULT_LOCATIONS) {
+        lines.append(location.identification).append(",1,100\n");
+      }
+      for (int i = 0; i < generatedLocations; i++) {
+        lines.append("GENERATED-").append(i).append(",1,100\n");
+      }
+      Files.writeString(csv, lines);
+      gateway.source = Optional.of(csv.toString());
+      gateway.reload();
+    }
+  }
+
+  @Benchmark
+  public Location resolveKnown() {
+    return gateway.resolveByIdentifier(identifier);
+  }
+
+  @Benchmark
+  public Object resolveUnknown() {
+    try {
+      return gateway.resolveByIdentifier("UNKNOWN-001");
+    } catch (LocationNotFoundException e) {
+      return e;
+    }
+  }
+}
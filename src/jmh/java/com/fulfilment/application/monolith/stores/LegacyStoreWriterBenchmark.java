@@ -0,0 +1,84 @@
+package com.fulfilment.application.monolith.stores;
+
+import com.fulfilment.application.monolith.BenchmarkLogging;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link LegacyStoreManagerGateway} writing a dispatcher batch of store updates followed by {@link
+ * LegacyStoreManagerGateway#flush()}: one temp file per record against appends to a segment synced
+ * every {@code syncEvery} records. Reported per record.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.jboss.logging.provider=jdk")
+public class LegacyStoreWriterBenchmark {
+
+  private static final int BATCH = 100;
+
+  /** {@code temp-file}, or {@code segment-N} for segment mode syncing every N records. */
+  @Param({"temp-file", "segment-1", "segment-100"})
+  public String writer;
+
+  private Path directory;
+  private LegacyStoreManagerGateway gateway;
+  private Store store;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    BenchmarkLogging.silence();
+    directory = Files.createTempDirectory("legacy-segments");
+    gateway = new LegacyStoreManagerGateway();
+    if (writer.startsWith(LegacyStoreManagerGateway.MODE_SEGMENT)) {
+      gateway.mode = LegacyStoreManagerGateway.MODE_SEGMENT;
+      gateway.segmentDirectory = Optional.of(directory.toString());
+      gateway.syncEvery = Integer.parseInt(writer.substring(writer.indexOf('-') + 1));
+    }
+    gateway.init();
+    store = new Store("BENCHMARK_STORE");
+    store.id = 1L;
+    store.quantityProductsInStock = 42;
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    gateway.close();
+    try (Stream<Path> files = Files.walk(directory)) {
+      for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+        Files.delete(file);
+      }
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public void writeBatch() {
+    for (int i = 0; i < BATCH; i++) {
+      store.quantityProductsInStock = i;
+      gateway.updateStoreOnLegacySystem(store);
+    }
+    gateway.flush();
+  }
+}
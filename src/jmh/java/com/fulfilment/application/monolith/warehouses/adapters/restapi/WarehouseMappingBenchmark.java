@@ -0,0 +1,62 @@
+package com.fulfilment.application.monolith.warehouses.adapters.restapi;
+
+import com.warehouse.api.beans.Warehouse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** DTO mapping of {@link WarehouseResourceImpl}: request to domain, domain to response, a list. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WarehouseMappingBenchmark {
+
+  private static final int LIST_SIZE = 100;
+
+  private Warehouse request;
+  private com.fulfilment.application.monolith.warehouses.domain.models.Warehouse domain;
+  private List<com.fulfilment.application.monolith.warehouses.domain.models.Warehouse> domainList;
+
+  @Setup
+  public void setUp() {
+    request = new Warehouse();
+    request.setBusinessUnitCode("MWH.BENCH");
+    request.setLocation("AMSTERDAM-001");
+    request.setCapacity(30);
+    request.setStock(5);
+    domain = WarehouseResourceImpl.toDomainModel(request);
+    domainList = new ArrayList<>();
+    for (int i = 0; i < LIST_SIZE; i++) {
+      domainList.add(WarehouseResourceImpl.toDomainModel(request));
+    }
+  }
+
+  @Benchmark
+  public com.fulfilment.application.monolith.warehouses.domain.models.Warehouse toDomainModel() {
+    return WarehouseResourceImpl.toDomainModel(request);
+  }
+
+  @Benchmark
+  public Warehouse toWarehouseResponse() {
+    return WarehouseResourceImpl.toWarehouseResponse(domain);
+  }
+
+  /** The mapping done by the list endpoint for {@value #LIST_SIZE} warehouses. */
+  @Benchmark
+  public List<Warehouse> toWarehouseResponseList() {
+    return domainList.stream().map(WarehouseResourceImpl::toWarehouseResponse).toList();
+  }
+}
@@ -0,0 +1,141 @@
+package com.fulfilment.application.monolith.warehouses.domain.usecases;
+
+import static com.fulfilment.application.monolith.warehouses.domain.usecases.InMemoryWarehouseStore.warehouse;
+
+import com.fulfilment.application.monolith.location.LocationGateway;
+import com.fulfilment.application.monolith.logging.CategoryRateLimitFilter;
+import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseRepository;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.validators.WarehouseValidator;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.jboss.logmanager.formatters.PatternFormatter;
+import org.jboss.logmanager.handlers.AsyncHandler;
+import org.jboss.logmanager.handlers.OutputStreamHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Logging cost per warehouse creation request: {@link CreateWarehouseUseCase#create} logs two
+ * lines, plus the {@link WarehouseRepository} create log for the same request (the in-memory store
+ * does not log). Records go through the JBoss LogManager handlers Quarkus sets up for the console,
+ * writing to the null device; {@code off} is the baseline without logging.
+ *
+ * <p>Four threads, so the synchronous handler's lock is contended as under load. The process name
+ * is set as in the Docker images; without it every log record looks it up from the OS.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(
+    value = 1,
+    jvmArgsAppend = {
+      "-Djava.util.logging.manager=org.jboss.logmanager.LogManager",
+      "-Dorg.jboss.logging.provider=jboss",
+      "-Djboss.process.name=fulfilment"
+    })
+public class CreateWarehouseLoggingBenchmark {
+
+  // Quarkus' default console format
+  private static final String CONSOLE_FORMAT = "%d{HH:mm:ss,SSS} %-5p [%c{3.}] (%t) %s%e%n";
+
+  private static final org.jboss.logging.Logger REPOSITORY_LOGGER =
+      org.jboss.logging.Logger.getLogger(WarehouseRepository.class.getName());
+
+  /** Console handler setup shared by all threads of a trial. */
+  @State(Scope.Benchmark)
+  public static class Console {
+
+    @Param({"off", "sync", "async", "async-rate-limited"})
+    public String mode;
+
+    // java.util.logging holds loggers weakly; keep the configured ones alive.
+    private final Logger root = Logger.getLogger("");
+    private final Logger application = Logger.getLogger("com.fulfilment");
+    private Handler handler;
+
+    @Setup
+    public void configure() throws IOException {
+      for (Handler existing : root.getHandlers()) {
+        root.removeHandler(existing);
+      }
+      if (mode.equals("off")) {
+        application.setLevel(Level.OFF);
+        return;
+      }
+      application.setLevel(Level.INFO);
+      var console = new OutputStreamHandler(nullDevice(), new PatternFormatter(CONSOLE_FORMAT));
+      console.setAutoFlush(true);
+      if (mode.equals("sync")) {
+        handler = console;
+      } else {
+        // as quarkus.log.console.async and quarkus.log.console.filter in application.properties
+        var async = new AsyncHandler(4096);
+        async.setOverflowAction(AsyncHandler.OverflowAction.BLOCK);
+        async.addHandler(console);
+        if (mode.equals("async-rate-limited")) {
+          console.setFilter(
+              new CategoryRateLimitFilter(WarehouseRepository.class.getPackageName(), 50));
+        }
+        handler = async;
+      }
+      root.addHandler(handler);
+    }
+
+    @TearDown
+    public void close() {
+      if (handler != null) {
+        root.removeHandler(handler);
+        handler.close();
+      }
+    }
+
+    private static OutputStream nullDevice() throws IOException {
+      Path device = Path.of("/dev/null");
+      return Files.exists(device)
+          ? new FileOutputStream(device.toFile())
+          : OutputStream.nullOutputStream();
+    }
+  }
+
+  private InMemoryWarehouseStore store;
+  private CreateWarehouseUseCase useCase;
+  private Warehouse candidate;
+
+  @Setup
+  public void setUp() {
+    store = new InMemoryWarehouseStore();
+    useCase = new CreateWarehouseUseCase(store, new LocationGateway(), new WarehouseValidator());
+    candidate = warehouse("MWH.BENCH", "AMSTERDAM-001", 30, 5);
+  }
+
+  /** One accepted creation; the warehouse is removed again to keep the store unchanged. */
+  @Benchmark
+  public Warehouse createRequest(Console console) {
+    useCase.create(candidate);
+    REPOSITORY_LOGGER.infov("Creating warehouse with business unit code: {0}", "MWH.BENCH");
+    store.remove(candidate);
+    return candidate;
+  }
+}
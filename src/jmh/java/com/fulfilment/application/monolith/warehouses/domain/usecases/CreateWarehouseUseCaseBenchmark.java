@@ -0,0 +1,65 @@
+package com.fulfilment.application.monolith.warehouses.domain.usecases;
+
+import static com.fulfilment.application.monolith.warehouses.domain.usecases.InMemoryWarehouseStore.warehouse;
+
+import com.fulfilment.application.monolith.BenchmarkLogging;
+import com.fulfilment.application.monolith.location.LocationGateway;
+import com.fulfilment.application.monolith.warehouses.domain.exceptions.DuplicateBusinessUnitCodeException;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.validators.WarehouseValidator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** {@link CreateWarehouseUseCase#create} against an in-memory store and the location gateway. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.jboss.logging.provider=jdk")
+public class CreateWarehouseUseCaseBenchmark {
+
+  private InMemoryWarehouseStore store;
+  private CreateWarehouseUseCase useCase;
+  private Warehouse candidate;
+  private Warehouse duplicate;
+
+  @Setup
+  public void setUp() {
+    BenchmarkLogging.silence();
+    store = new InMemoryWarehouseStore();
+    store.create(warehouse("MWH.001", "AMSTERDAM-001", 20, 5));
+    store.create(warehouse("MWH.002", "AMSTERDAM-001", 20, 5));
+    useCase = new CreateWarehouseUseCase(store, new LocationGateway(), new WarehouseValidator());
+    candidate = warehouse("MWH.BENCH", "AMSTERDAM-001", 30, 5);
+    duplicate = warehouse("MWH.001", "AMSTERDAM-001", 30, 5);
+  }
+
+  /** Passes every check; the created warehouse is removed again to keep the store unchanged. */
+  @Benchmark
+  public Warehouse create() {
+    useCase.create(candidate);
+    store.remove(candidate);
+    return candidate;
+  }
+
+  /** Passes the location checks and is rejected by the store on insert, like the unique index. */
+  @Benchmark
+  public Object createDuplicate() {
+    try {
+      useCase.create(duplicate);
+      return duplicate;
+    } catch (DuplicateBusinessUnitCodeException e) {
+      return e;
+    }
+  }
+}
@@ -0,0 +1,149 @@
+package com.fulfilment.application.monolith.warehouses.domain.usecases;
+
+import com.fulfilment.application.monolith.warehouses.domain.exceptions.DuplicateBusinessUnitCodeException;
+import com.fulfilment.application.monolith.warehouses.domain.models.LocationOccupancy;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseFilter;
+import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link WarehouseStore} over a map of active warehouses by business unit code. Archived warehouses
+ * are dropped, so repeated replaces keep the store at a constant size. Each stored warehouse gets
+ * the next id from 1 up, as from a sequence, and is found by it with {@link #getById} until it is
+ * archived or removed.
+ */
+final class InMemoryWarehouseStore implements WarehouseStore {
+
+  private final Map<String, Warehouse> active = new HashMap<>();
+  private final Map<Long, Warehouse> byId = new HashMap<>();
+  private final Map<Warehouse, Long> ids = new IdentityHashMap<>();
+  private long nextId = 1;
+
+  @Override
+  public List<Warehouse> getAll() {
+    return new ArrayList<>(active.values());
+  }
+
+  @Override
+  public List<Warehouse> findActive(WarehouseFilter filter, int limit) {
+    return active.values().stream()
+        .filter(w -> filter.location == null || filter.location.equals(w.location))
+        .filter(
+            w ->
+                filter.businessUnitCodePrefix == null
+                    || w.businessUnitCode.startsWith(filter.businessUnitCodePrefix))
+        .filter(w -> filter.minCapacity == null || w.capacity >= filter.minCapacity)
+        .filter(w -> filter.maxCapacity == null || w.capacity <= filter.maxCapacity)
+        .filter(w -> filter.minStock == null || w.stock >= filter.minStock)
+        .filter(w -> filter.maxStock == null || w.stock <= filter.maxStock)
+        .filter(w -> filter.after == null || w.businessUnitCode.compareTo(filter.after) > 0)
+        .sorted(Comparator.comparing(w -> w.businessUnitCode))
+        .limit(limit)
+        .toList();
+  }
+
+  @Override
+  public void create(Warehouse warehouse) {
+    if (warehouse.archivedAt != null) {
+      return;
+    }
+    if (active.putIfAbsent(warehouse.businessUnitCode, warehouse) != null) {
+      throw new DuplicateBusinessUnitCodeException(warehouse.businessUnitCode);
+    }
+    assignId(warehouse);
+  }
+
+  @Override
+  public void createAll(List<Warehouse> warehouses) {
+    warehouses.forEach(this::create);
+  }
+
+  @Override
+  public void update(Warehouse warehouse) {
+    if (warehouse.archivedAt != null) {
+      remove(warehouse);
+    } else {
+      Warehouse previous = active.put(warehouse.businessUnitCode, warehouse);
+      if (previous != warehouse) {
+        if (previous != null) {
+          byId.remove(ids.remove(previous));
+        }
+        assignId(warehouse);
+      }
+    }
+  }
+
+  @Override
+  public void remove(Warehouse warehouse) {
+    if (active.remove(warehouse.businessUnitCode, warehouse)) {
+      byId.remove(ids.remove(warehouse));
+    }
+  }
+
+  @Override
+  public Warehouse findActiveByBusinessUnitCode(String buCode) {
+    return active.get(buCode);
+  }
+
+  @Override
+  public Set<String> findActiveBusinessUnitCodes(Collection<String> buCodes) {
+    Set<String> found = new HashSet<>();
+    for (String buCode : buCodes) {
+      if (active.containsKey(buCode)) {
+        found.add(buCode);
+      }
+    }
+    return found;
+  }
+
+  @Override
+  public Warehouse getById(Long id) {
+    return byId.get(id);
+  }
+
+  @Override
+  public LocationOccupancy occupancyOf(String location) {
+    long count = 0;
+    int capacity = 0;
+    for (Warehouse warehouse : active.values()) {
+      if (location.equals(warehouse.location)) {
+        count++;
+        capacity += warehouse.capacity;
+      }
+    }
+    return new LocationOccupancy(location, count, capacity);
+  }
+
+  @Override
+  public Map<String, LocationOccupancy> occupancyByLocation(Collection<String> locations) {
+    Map<String, LocationOccupancy> occupancy = new HashMap<>();
+    for (String location : locations) {
+      occupancy.put(location, occupancyOf(location));
+    }
+    return occupancy;
+  }
+
+  private void assignId(Warehouse warehouse) {
+    long id = nextId++;
+    byId.put(id, warehouse);
+    ids.put(warehouse, id);
+  }
+
+  static Warehouse warehouse(String buCode, String location, int capacity, int stock) {
+    Warehouse warehouse = new Warehouse();
+    warehouse.businessUnitCode = buCode;
+    warehouse.location = location;
+    warehouse.capacity = capacity;
+    warehouse.stock = stock;
+    return warehouse;
+  }
+}
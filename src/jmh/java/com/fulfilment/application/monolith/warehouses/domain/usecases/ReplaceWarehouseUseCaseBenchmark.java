@@ -0,0 +1,52 @@
+package com.fulfilment.application.monolith.warehouses.domain.usecases;
+
+import static com.fulfilment.application.monolith.warehouses.domain.usecases.InMemoryWarehouseStore.warehouse;
+
+import com.fulfilment.application.monolith.BenchmarkLogging;
+import com.fulfilment.application.monolith.location.LocationGateway;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.validators.WarehouseValidator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link ReplaceWarehouseUseCase#replace} against an in-memory store. Each invocation replaces the
+ * warehouse the previous one created, so the store stays at a constant size.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.jboss.logging.provider=jdk")
+public class ReplaceWarehouseUseCaseBenchmark {
+
+  private static final String BU_CODE = "MWH.REPLACE";
+
+  private ReplaceWarehouseUseCase useCase;
+
+  @Setup
+  public void setUp() {
+    BenchmarkLogging.silence();
+    InMemoryWarehouseStore store = new InMemoryWarehouseStore();
+    store.create(warehouse("MWH.001", "AMSTERDAM-001", 20, 5));
+    store.create(warehouse(BU_CODE, "AMSTERDAM-001", 30, 10));
+    useCase = new ReplaceWarehouseUseCase(store, new LocationGateway(), new WarehouseValidator());
+  }
+
+  @Benchmark
+  public Warehouse replaceAtSameLocation() {
+    Warehouse replacement = warehouse(BU_CODE, "AMSTERDAM-001", 40, 10);
+    useCase.replace(replacement);
+    return replacement;
+  }
+}
@@ -0,0 +1,17 @@
+package com.fulfilment.application.monolith.concurrency;
+
+import com.fulfilment.application.monolith.exception.BusinessException;
+
+public class ConcurrentUpdateException extends BusinessException {
+
+  public static final String ERROR_CODE = "CONCURRENT_UPDATE";
+
+  public ConcurrentUpdateException(String message) {
+    super(message, ERROR_CODE, 409);
+  }
+
+  public ConcurrentUpdateException(String message, Throwable cause) {
+    this(message);
+    initCause(cause);
+  }
+}
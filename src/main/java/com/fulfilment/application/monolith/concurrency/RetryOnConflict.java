@@ -0,0 +1,19 @@
+package com.fulfilment.application.monolith.concurrency;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import jakarta.interceptor.InterceptorBinding;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Re-invokes the method when it fails on an optimistic lock conflict (see {@link
+ * RetryOnConflictInterceptor}). Put it next to {@code @Transactional}: the retry runs outside the
+ * transaction, so every attempt reads the current rows in a new one.
+ */
+@InterceptorBinding
+@Target({TYPE, METHOD})
+@Retention(RUNTIME)
+public @interface RetryOnConflict {}
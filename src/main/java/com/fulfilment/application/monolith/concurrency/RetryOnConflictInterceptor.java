@@ -0,0 +1,126 @@
+package com.fulfilment.application.monolith.concurrency;
+
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.Priority;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+import jakarta.persistence.OptimisticLockException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.StaleStateException;
+import org.jboss.logging.Logger;
+
+/**
+ * Retries {@link RetryOnConflict} methods that fail on an optimistic lock conflict: a versioned row
+ * changed between read and write. Waits a jittered, exponentially growing backoff between attempts
+ * so contending requests spread out, and gives up after {@code conflict.retry.max-attempts} with a
+ * {@link ConcurrentUpdateException} (409). For methods returning a {@link Uni}, the returned Uni is
+ * re-subscribed instead.
+ *
+ * <p>Runs before the transaction interceptor, so each attempt has its own transaction; conflicts
+ * detected at commit arrive as the cause of the rollback exception.
+ */
+@RetryOnConflict
+@Interceptor
+@Priority(Interceptor.Priority.PLATFORM_BEFORE + 100)
+public class RetryOnConflictInterceptor {
+
+  private static final Logger LOGGER = Logger.getLogger(RetryOnConflictInterceptor.class.getName());
+
+  @ConfigProperty(name = "conflict.retry.max-attempts", defaultValue = "3")
+  int maxAttempts;
+
+  @ConfigProperty(name = "conflict.retry.backoff.initial", defaultValue = "10ms")
+  Duration initialBackoff;
+
+  @ConfigProperty(name = "conflict.retry.backoff.max", defaultValue = "200ms")
+  Duration maxBackoff;
+
+  @AroundInvoke
+  @SuppressWarnings("unchecked")
+  Object retry(InvocationContext context) throws Exception {
+    if (Uni.class.isAssignableFrom(context.getMethod().getReturnType())) {
+      return retry(context, (Uni<Object>) context.proceed(), 1);
+    }
+    for (int attempt = 1; ; attempt++) {
+      try {
+        return context.proceed();
+      } catch (Exception e) {
+        if (!isConflict(e)) {
+          throw e;
+        }
+        if (attempt >= maxAttempts) {
+          throw exhausted(context, e);
+        }
+        Duration delay = backoff(attempt);
+        logRetry(context, attempt, delay);
+        Thread.sleep(delay.toMillis());
+      }
+    }
+  }
+
+  private <T> Uni<T> retry(InvocationContext context, Uni<T> uni, int attempt) {
+    return uni.onFailure(RetryOnConflictInterceptor::isConflict)
+        .recoverWithUni(
+            e -> {
+              if (attempt >= maxAttempts) {
+                return Uni.createFrom().<T>failure(exhausted(context, e));
+              }
+              Duration delay = backoff(attempt);
+              logRetry(context, attempt, delay);
+              return Uni.createFrom()
+                  .voidItem()
+                  .onItem()
+                  .delayIt()
+                  .by(delay)
+                  .chain(() -> retry(context, uni, attempt + 1));
+            });
+  }
+
+  /**
+   * Initial backoff doubled per failed attempt and capped at the maximum, then drawn at random
+   * between half of it and all of it.
+   */
+  Duration backoff(int attempt) {
+    int doublings = Math.min(attempt - 1, 30);
+    long nanos = Math.min(initialBackoff.toNanos() << doublings, maxBackoff.toNanos());
+    if (nanos <= 0) {
+      nanos = maxBackoff.toNanos();
+    }
+    return Duration.ofNanos(ThreadLocalRandom.current().nextLong(nanos / 2, nanos + 1));
+  }
+
+  /** An optimistic lock failure anywhere in the cause chain. */
+  static boolean isConflict(Throwable failure) {
+    for (Throwable t = failure; t != null; t = t.getCause()) {
+      if (t instanceof OptimisticLockException || t instanceof StaleStateException) {
+        return true;
+      }
+      if (t.getCause() == t) {
+        break;
+      }
+    }
+    return false;
+  }
+
+  private ConcurrentUpdateException exhausted(InvocationContext context, Throwable conflict) {
+    return new ConcurrentUpdateException(
+        "Concurrent update conflict in "
+            + context.getMethod().getName()
+            + ", gave up after "
+            + maxAttempts
+            + " attempts",
+        conflict);
+  }
+
+  private static void logRetry(InvocationContext context, int attempt, Duration delay) {
+    LOGGER.debugv(
+        "Optimistic lock conflict in {0}.{1} (attempt {2}), retrying in {3} ms",
+        context.getMethod().getDeclaringClass().getSimpleName(),
+        context.getMethod().getName(),
+        attempt,
+        delay.toMillis());
+  }
+}
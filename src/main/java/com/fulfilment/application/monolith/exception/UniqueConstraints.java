@@ -0,0 +1,26 @@
+package com.fulfilment.application.monolith.exception;
+
+import org.hibernate.exception.ConstraintViolationException;
+
+/**
+ * Recognises violations of named unique constraints in persistence failures, so inserts can rely on
+ * the constraint instead of checking for duplicates first.
+ */
+public final class UniqueConstraints {
+
+  private UniqueConstraints() {}
+
+  /** Whether the failure, or any of its causes, is a violation of the named constraint. */
+  public static boolean isViolationOf(Throwable failure, String constraintName) {
+    for (Throwable t = failure; t != null; t = t.getCause()) {
+      if (t instanceof ConstraintViolationException violation
+          && constraintName.equalsIgnoreCase(violation.getConstraintName())) {
+        return true;
+      }
+      if (t.getCause() == t) {
+        break;
+      }
+    }
+    return false;
+  }
+}
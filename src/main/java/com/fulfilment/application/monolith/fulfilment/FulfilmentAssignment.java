@@ -0,0 +1,19 @@
+package com.fulfilment.application.monolith.fulfilment;
+
+/** One (store, product, warehouse) triple of a batch assignment request. */
+public class FulfilmentAssignment {
+
+  public Long storeId;
+
+  public Long productId;
+
+  public Long warehouseId;
+
+  public FulfilmentAssignment() {}
+
+  public FulfilmentAssignment(Long storeId, Long productId, Long warehouseId) {
+    this.storeId = storeId;
+    this.productId = productId;
+    this.warehouseId = warehouseId;
+  }
+}
@@ -0,0 +1,76 @@
+package com.fulfilment.application.monolith.fulfilment;
+
+/** Outcome of one item of a batch assignment, in request order. */
+public class FulfilmentBatchItemResult {
+
+  public enum Status {
+    ASSIGNED,
+    ALREADY_ASSIGNED,
+    REJECTED,
+    /** Valid, but not persisted because an atomic batch was rejected. */
+    SKIPPED
+  }
+
+  private final Long storeId;
+  private final Long productId;
+  private final Long warehouseId;
+  private final Status status;
+  private final String errorCode;
+  private final String message;
+
+  public FulfilmentBatchItemResult(
+      FulfilmentAssignment assignment, Status status, String errorCode, String message) {
+    this(
+        assignment.storeId,
+        assignment.productId,
+        assignment.warehouseId,
+        status,
+        errorCode,
+        message);
+  }
+
+  private FulfilmentBatchItemResult(
+      Long storeId,
+      Long productId,
+      Long warehouseId,
+      Status status,
+      String errorCode,
+      String message) {
+    this.storeId = storeId;
+    this.productId = productId;
+    this.warehouseId = warehouseId;
+    this.status = status;
+    this.errorCode = errorCode;
+    this.message = message;
+  }
+
+  /** Returns a copy of this result with another status. */
+  FulfilmentBatchItemResult withStatus(Status status) {
+    return new FulfilmentBatchItemResult(
+        storeId, productId, warehouseId, status, errorCode, message);
+  }
+
+  public Long getStoreId() {
+    return storeId;
+  }
+
+  public Long getProductId() {
+    return productId;
+  }
+
+  public Long getWarehouseId() {
+    return warehouseId;
+  }
+
+  public Status getStatus() {
+    return status;
+  }
+
+  public String getErrorCode() {
+    return errorCode;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+}
@@ -0,0 +1,9 @@
+package com.fulfilment.application.monolith.fulfilment;
+
+/** How a batch assignment handles items that violate a constraint. */
+public enum FulfilmentBatchMode {
+  /** Nothing is persisted unless every item is valid. */
+  ATOMIC,
+  /** Valid items are persisted; invalid items are reported and skipped. */
+  BEST_EFFORT
+}
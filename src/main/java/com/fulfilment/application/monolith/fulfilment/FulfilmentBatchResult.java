@@ -0,0 +1,36 @@
+package com.fulfilment.application.monolith.fulfilment;
+
+import java.util.List;
+
+/** Response body of a batch assignment: whether anything was persisted, plus per-item results. */
+public class FulfilmentBatchResult {
+
+  private final FulfilmentBatchMode mode;
+  private final boolean applied;
+  private final List<FulfilmentBatchItemResult> items;
+
+  public FulfilmentBatchResult(
+      FulfilmentBatchMode mode, boolean applied, List<FulfilmentBatchItemResult> items) {
+    this.mode = mode;
+    this.applied = applied;
+    this.items = items;
+  }
+
+  public FulfilmentBatchMode getMode() {
+    return mode;
+  }
+
+  public boolean isApplied() {
+    return applied;
+  }
+
+  public List<FulfilmentBatchItemResult> getItems() {
+    return items;
+  }
+
+  /** Whether any item was rejected. */
+  public boolean hasRejections() {
+    return items.stream()
+        .anyMatch(item -> item.getStatus() == FulfilmentBatchItemResult.Status.REJECTED);
+  }
+}
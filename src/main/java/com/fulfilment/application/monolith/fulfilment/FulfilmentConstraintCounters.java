@@ -0,0 +1,83 @@
+package com.fulfilment.application.monolith.fulfilment;
+
+/**
+ * Limit counters derived from a set of (store, product, warehouse) assignments: warehouses per
+ * (store, product), distinct warehouses per store and distinct products per warehouse. Pairs of ids
+ * are packed into one {@code long} key, so ids must fit in 32 bits (see {@link #indexable}). Not
+ * thread-safe.
+ */
+final class FulfilmentConstraintCounters {
+
+  private static final long MAX_INDEXABLE_ID = 0xFFFF_FFFFL;
+
+  private final LongCounterMap warehousesByStoreProduct = new LongCounterMap();
+  private final LongCounterMap productsByStoreWarehouse = new LongCounterMap();
+  private final LongCounterMap storesByWarehouseProduct = new LongCounterMap();
+  private final LongCounterMap warehousesByStore = new LongCounterMap();
+  private final LongCounterMap productsByWarehouse = new LongCounterMap();
+
+  /** Returns whether the ids can be packed into counter keys. */
+  static boolean indexable(long storeId, long productId, long warehouseId) {
+    return fits(storeId) && fits(productId) && fits(warehouseId);
+  }
+
+  /** Counts a new assignment. Callers must not add the same assignment twice. */
+  void add(long storeId, long productId, long warehouseId) {
+    warehousesByStoreProduct.add(pair(storeId, productId), 1);
+    if (productsByStoreWarehouse.add(pair(storeId, warehouseId), 1) == 1) {
+      warehousesByStore.add(storeId, 1);
+    }
+    if (storesByWarehouseProduct.add(pair(warehouseId, productId), 1) == 1) {
+      productsByWarehouse.add(warehouseId, 1);
+    }
+  }
+
+  /** Removes a counted assignment. */
+  void remove(long storeId, long productId, long warehouseId) {
+    warehousesByStoreProduct.add(pair(storeId, productId), -1);
+    if (productsByStoreWarehouse.add(pair(storeId, warehouseId), -1) == 0) {
+      warehousesByStore.add(storeId, -1);
+    }
+    if (storesByWarehouseProduct.add(pair(warehouseId, productId), -1) == 0) {
+      productsByWarehouse.add(warehouseId, -1);
+    }
+  }
+
+  long warehousesForProductAtStore(long storeId, long productId) {
+    return warehousesByStoreProduct.get(pair(storeId, productId));
+  }
+
+  long warehousesForStore(long storeId) {
+    return warehousesByStore.get(storeId);
+  }
+
+  boolean warehouseUsedForStore(long storeId, long warehouseId) {
+    return productsByStoreWarehouse.get(pair(storeId, warehouseId)) > 0;
+  }
+
+  long productTypesForWarehouse(long warehouseId) {
+    return productsByWarehouse.get(warehouseId);
+  }
+
+  /** Fills the limit counters of a snapshot that only carries existence checks. */
+  FulfilmentConstraintSnapshot withLimits(
+      FulfilmentConstraintSnapshot references, long storeId, long productId, long warehouseId) {
+    return new FulfilmentConstraintSnapshot(
+        references.storeExists(),
+        references.productExists(),
+        references.warehouseActive(),
+        references.assigned(),
+        warehousesForProductAtStore(storeId, productId),
+        warehousesForStore(storeId),
+        warehouseUsedForStore(storeId, warehouseId),
+        productTypesForWarehouse(warehouseId));
+  }
+
+  private static boolean fits(long id) {
+    return id >= 0 && id <= MAX_INDEXABLE_ID;
+  }
+
+  private static long pair(long high, long low) {
+    return (high << 32) | low;
+  }
+}
@@ -0,0 +1,256 @@
+package com.fulfilment.application.monolith.fulfilment;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Per-node index of the fulfilment limit counters, so {@link FulfilmentService#assign} does not
+ * count rows in the database. Loaded at startup; assigns are counted when inserted and uncounted if
+ * their transaction rolls back, unassigns are uncounted after commit.
+ *
+ * <p>The index is "cold" until a load completes, after {@link #invalidate()}, when disabled via
+ * {@code fulfilment.constraint-index.enabled}, or when an id does not fit the packed keys; callers
+ * then fall back to the repository counts. A load is only installed if no assignment transaction
+ * was in flight or completed while it ran, so the index never diverges from committed data.
+ */
+@ApplicationScoped
+public class FulfilmentConstraintIndex {
+
+  private static final Logger LOGGER = Logger.getLogger(FulfilmentConstraintIndex.class.getName());
+
+  private static final int LOAD_ATTEMPTS = 3;
+
+  @ConfigProperty(name = "fulfilment.constraint-index.enabled", defaultValue = "true")
+  boolean enabled;
+
+  @Inject StoreProductFulfilmentRepository fulfilmentRepository;
+  @Inject TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  private final AtomicInteger inFlight = new AtomicInteger();
+
+  // Guarded by lock; null while cold.
+  private FulfilmentConstraintCounters counters;
+  private boolean loading;
+  private boolean changedDuringLoad;
+
+  void onStart(@Observes StartupEvent event) {
+    if (enabled) {
+      reload();
+    }
+  }
+
+  public boolean isWarm() {
+    lock.readLock().lock();
+    try {
+      return counters != null;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Drops the index; limit checks use the repository until the next {@link #reload()}. */
+  public void invalidate() {
+    lock.writeLock().lock();
+    try {
+      counters = null;
+    } finally {
+      lock.writeLock().unlock();
+    }
+    LOGGER.info("Fulfilment constraint index invalidated");
+  }
+
+  /**
+   * Rebuilds the index from the database. Retries a few times if assignments change while loading.
+   *
+   * @return whether the index is warm afterwards
+   */
+  public synchronized boolean reload() {
+    if (!enabled) {
+      return false;
+    }
+    for (int attempt = 1; attempt <= LOAD_ATTEMPTS; attempt++) {
+      lock.writeLock().lock();
+      try {
+        counters = null;
+        loading = true;
+        changedDuringLoad = false;
+      } finally {
+        lock.writeLock().unlock();
+      }
+
+      FulfilmentConstraintCounters loaded = QuarkusTransaction.requiringNew().call(this::load);
+
+      lock.writeLock().lock();
+      try {
+        loading = false;
+        if (loaded != null && !changedDuringLoad && inFlight.get() == 0) {
+          counters = loaded;
+          LOGGER.info("Fulfilment constraint index loaded");
+          return true;
+        }
+      } finally {
+        lock.writeLock().unlock();
+      }
+      if (loaded == null) {
+        break;
+      }
+    }
+    LOGGER.warn("Fulfilment constraint index left cold; limit checks use the database");
+    return false;
+  }
+
+  /**
+   * Completes a snapshot carrying only existence checks with the indexed limit counters.
+   *
+   * @return the completed snapshot, or {@code null} if the index is cold or cannot hold these ids
+   */
+  FulfilmentConstraintSnapshot withLimits(
+      FulfilmentConstraintSnapshot references, Long storeId, Long productId, Long warehouseId) {
+    if (!FulfilmentConstraintCounters.indexable(storeId, productId, warehouseId)) {
+      return null;
+    }
+    lock.readLock().lock();
+    try {
+      return counters != null
+          ? counters.withLimits(references, storeId, productId, warehouseId)
+          : null;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Counts new assignments right away, as a reservation, and removes them again if the current
+   * transaction rolls back. Counting before commit is conservative: a concurrent check may see an
+   * assignment that is later rolled back, but never misses one that {@link FulfilmentLocks} let
+   * through, whatever order the transaction's completion callbacks run in.
+   */
+  void recordAssigned(List<StoreProductFulfilment> assignments) {
+    if (!enabled || assignments.isEmpty()) {
+      return;
+    }
+    FulfilmentConstraintCounters reservedIn;
+    lock.writeLock().lock();
+    try {
+      reservedIn = apply(assignments, true);
+    } finally {
+      lock.writeLock().unlock();
+    }
+    afterCompletion(
+        committed -> {
+          if (!committed && counters == reservedIn) {
+            apply(assignments, false);
+          }
+        });
+  }
+
+  /** Uncounts the assignments once the current transaction commits. */
+  void recordUnassigned(List<StoreProductFulfilment> assignments) {
+    if (!enabled || assignments.isEmpty()) {
+      return;
+    }
+    afterCompletion(
+        committed -> {
+          if (committed) {
+            apply(assignments, false);
+          }
+        });
+  }
+
+  /**
+   * Registers a completion callback that runs under the write lock. Until it has run the
+   * transaction counts as in flight, which keeps a concurrent {@link #reload()} from installing.
+   */
+  private void afterCompletion(Consumer<Boolean> callback) {
+    inFlight.incrementAndGet();
+    try {
+      transactionSynchronizationRegistry.registerInterposedSynchronization(
+          new Synchronization() {
+            @Override
+            public void beforeCompletion() {}
+
+            @Override
+            public void afterCompletion(int status) {
+              boolean committed = status == Status.STATUS_COMMITTED;
+              lock.writeLock().lock();
+              try {
+                inFlight.decrementAndGet();
+                if (committed && loading) {
+                  changedDuringLoad = true;
+                }
+                callback.accept(committed);
+              } finally {
+                lock.writeLock().unlock();
+              }
+            }
+          });
+    } catch (RuntimeException e) {
+      inFlight.decrementAndGet();
+      throw e;
+    }
+  }
+
+  /**
+   * Adds or removes assignments; caller holds the write lock.
+   *
+   * @return the counters that were changed, or {@code null} if the index is cold
+   */
+  private FulfilmentConstraintCounters apply(
+      List<StoreProductFulfilment> assignments, boolean assigned) {
+    for (StoreProductFulfilment assignment : assignments) {
+      if (counters == null) {
+        return null;
+      }
+      long storeId = assignment.storeId;
+      long productId = assignment.productId;
+      long warehouseId = assignment.warehouseId;
+      if (!FulfilmentConstraintCounters.indexable(storeId, productId, warehouseId)) {
+        counters = null;
+        LOGGER.warnv(
+            "Fulfilment ids exceed the index key range, index invalidated: storeId={0}, "
+                + "productId={1}, warehouseId={2}",
+            storeId, productId, warehouseId);
+        return null;
+      }
+      if (assigned) {
+        counters.add(storeId, productId, warehouseId);
+      } else {
+        counters.remove(storeId, productId, warehouseId);
+      }
+    }
+    return counters;
+  }
+
+  private FulfilmentConstraintCounters load() {
+    FulfilmentConstraintCounters loaded = new FulfilmentConstraintCounters();
+    try (Stream<Object[]> rows = fulfilmentRepository.streamAssignmentIds()) {
+      var iterator = rows.iterator();
+      while (iterator.hasNext()) {
+        Object[] row = iterator.next();
+        long storeId = (Long) row[0];
+        long productId = (Long) row[1];
+        long warehouseId = (Long) row[2];
+        if (!FulfilmentConstraintCounters.indexable(storeId, productId, warehouseId)) {
+          LOGGER.warn("Fulfilment ids exceed the index key range, index not loaded");
+          return null;
+        }
+        loaded.add(storeId, productId, warehouseId);
+      }
+    }
+    return loaded;
+  }
+}
@@ -0,0 +1,24 @@
+package com.fulfilment.application.monolith.fulfilment;
+
+/**
+ * Everything {@link FulfilmentService#assign} needs to decide on an assignment, read in a single
+ * round trip by {@link StoreProductFulfilmentRepository#evaluateConstraints}.
+ *
+ * @param storeExists whether the store exists
+ * @param productExists whether the product exists
+ * @param warehouseActive whether the warehouse exists and is not archived
+ * @param assigned whether the (store, product, warehouse) assignment already exists
+ * @param warehousesForProductAtStore warehouses fulfilling the product for the store
+ * @param warehousesForStore distinct warehouses fulfilling the store (any product)
+ * @param warehouseUsedForStore whether the warehouse already fulfils the store (any product)
+ * @param productTypesForWarehouse distinct products stored by the warehouse (any store)
+ */
+public record FulfilmentConstraintSnapshot(
+    boolean storeExists,
+    boolean productExists,
+    boolean warehouseActive,
+    boolean assigned,
+    long warehousesForProductAtStore,
+    long warehousesForStore,
+    boolean warehouseUsedForStore,
+    long productTypesForWarehouse) {}
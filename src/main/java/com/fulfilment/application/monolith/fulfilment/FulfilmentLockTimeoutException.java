@@ -0,0 +1,12 @@
+package com.fulfilment.application.monolith.fulfilment;
+
+import com.fulfilment.application.monolith.exception.BusinessException;
+
+public class FulfilmentLockTimeoutException extends BusinessException {
+
+  public static final String ERROR_CODE = "FULFILMENT_LOCK_TIMEOUT";
+
+  public FulfilmentLockTimeoutException(String message) {
+    super(message, ERROR_CODE, 409);
+  }
+}
@@ -0,0 +1,155 @@
+package com.fulfilment.application.monolith.fulfilment;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Serialises the fulfilment check-then-insert per store and per warehouse, so two concurrent
+ * assigns cannot both pass a limit check and both insert. Locks are taken inside the transaction
+ * and held until it completes; assigns for unrelated stores and warehouses run in parallel.
+ *
+ * <p>Modes ({@code fulfilment.locking.mode}):
+ *
+ * <ul>
+ *   <li>{@code striped} (default): per-node semaphores striped by id. Only valid while a single
+ *       node writes fulfilment data.
+ *   <li>{@code advisory}: PostgreSQL transaction-scoped advisory locks, for several nodes sharing
+ *       one database. Combine with {@code fulfilment.constraint-index.enabled=false}, since the
+ *       in-memory index does not see other nodes' writes.
+ *   <li>{@code none}: no locking; limits may be exceeded under concurrency.
+ * </ul>
+ *
+ * Within one mode, store locks are always taken before warehouse locks and in ascending order, so
+ * lock holders cannot deadlock each other.
+ */
+@ApplicationScoped
+public class FulfilmentLocks {
+
+  public enum Mode {
+    STRIPED,
+    ADVISORY,
+    NONE
+  }
+
+  private static final int STORE_NAMESPACE = 1;
+  private static final int WAREHOUSE_NAMESPACE = 2;
+
+  private static final Object HELD_STRIPES_KEY = new Object();
+
+  @ConfigProperty(name = "fulfilment.locking.mode", defaultValue = "striped")
+  Mode mode;
+
+  @ConfigProperty(name = "fulfilment.locking.stripes", defaultValue = "1024")
+  int stripes;
+
+  @ConfigProperty(name = "fulfilment.locking.timeout", defaultValue = "10s")
+  Duration timeout;
+
+  @Inject StoreProductFulfilmentRepository fulfilmentRepository;
+  @Inject TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+  private Semaphore[] storeStripes;
+  private Semaphore[] warehouseStripes;
+
+  @PostConstruct
+  void init() {
+    storeStripes = newStripes(stripes);
+    warehouseStripes = newStripes(stripes);
+  }
+
+  /**
+   * Locks the given stores and warehouses until the current transaction completes.
+   *
+   * @throws FulfilmentLockTimeoutException if a striped lock is not acquired within the timeout
+   */
+  void lock(Collection<Long> storeIds, Collection<Long> warehouseIds) {
+    switch (mode) {
+      case STRIPED -> {
+        HeldStripes held = heldStripes();
+        acquire(storeStripes, stripeIndexes(storeIds), held.stores, "store");
+        acquire(warehouseStripes, stripeIndexes(warehouseIds), held.warehouses, "warehouse");
+      }
+      case ADVISORY -> {
+        new TreeSet<>(storeIds)
+            .forEach(id -> fulfilmentRepository.acquireAdvisoryLock(STORE_NAMESPACE, id));
+        new TreeSet<>(warehouseIds)
+            .forEach(id -> fulfilmentRepository.acquireAdvisoryLock(WAREHOUSE_NAMESPACE, id));
+      }
+      case NONE -> {}
+    }
+  }
+
+  private void acquire(
+      Semaphore[] stripeLocks, SortedSet<Integer> indexes, SortedSet<Integer> held, String kind) {
+    for (int index : indexes) {
+      if (held.contains(index)) {
+        continue; // already held by this transaction
+      }
+      try {
+        if (!stripeLocks[index].tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+          throw new FulfilmentLockTimeoutException(
+              "Timed out waiting for concurrent fulfilment changes on the same " + kind);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new FulfilmentLockTimeoutException("Interrupted waiting for a fulfilment " + kind);
+      }
+      held.add(index);
+    }
+  }
+
+  /** Stripes held by the current transaction, released when it completes. */
+  private HeldStripes heldStripes() {
+    HeldStripes held =
+        (HeldStripes) transactionSynchronizationRegistry.getResource(HELD_STRIPES_KEY);
+    if (held == null) {
+      HeldStripes created = new HeldStripes();
+      transactionSynchronizationRegistry.registerInterposedSynchronization(
+          new Synchronization() {
+            @Override
+            public void beforeCompletion() {}
+
+            @Override
+            public void afterCompletion(int status) {
+              // Semaphores have no owner thread, so a rollback on the reaper thread releases too
+              created.stores.forEach(index -> storeStripes[index].release());
+              created.warehouses.forEach(index -> warehouseStripes[index].release());
+            }
+          });
+      transactionSynchronizationRegistry.putResource(HELD_STRIPES_KEY, created);
+      held = created;
+    }
+    return held;
+  }
+
+  private SortedSet<Integer> stripeIndexes(Collection<Long> ids) {
+    SortedSet<Integer> indexes = new TreeSet<>();
+    for (Long id : ids) {
+      indexes.add(Math.floorMod(Long.hashCode(id), stripes));
+    }
+    return indexes;
+  }
+
+  private static Semaphore[] newStripes(int count) {
+    Semaphore[] locks = new Semaphore[count];
+    for (int i = 0; i < count; i++) {
+      locks[i] = new Semaphore(1);
+    }
+    return locks;
+  }
+
+  private static final class HeldStripes {
+    private final SortedSet<Integer> stores = new TreeSet<>();
+    private final SortedSet<Integer> warehouses = new TreeSet<>();
+  }
+}
@@ -1,20 +1,33 @@
 package com.fulfilment.application.monolith.fulfilment;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fulfilment.application.monolith.rest.NdjsonOutput;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 import java.util.List;
 
 @Path("fulfilment")
 @ApplicationScoped
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
+@RunOnVirtualThread
 public class FulfilmentResource {
 
+  static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+  private static final String NDJSON = NdjsonOutput.MEDIA_TYPE;
+  private static final int MAX_PAGE_SIZE = 1000;
+
   @Inject FulfilmentService fulfilmentService;
+  @Inject ObjectMapper objectMapper;
 
   /**
    * Assigns a warehouse to fulfil a product for a store. Idempotent if already assigned. Returns
@@ -31,6 +44,22 @@ public class FulfilmentResource {
     return Response.noContent().build();
   }
 
+  /**
+   * Assigns a list of { storeId, productId, warehouseId } in one transaction, checking all limits
+   * across the whole batch. Returns 200 with per-item results. In ATOMIC mode (default) a single
+   * rejected item rejects the batch with 400 and nothing is persisted; in BEST_EFFORT mode valid
+   * items are persisted and rejected ones reported.
+   */
+  @POST
+  @Path("batch")
+  @Transactional
+  public Response assignBatch(
+      @QueryParam("mode") @DefaultValue("ATOMIC") FulfilmentBatchMode mode,
+      @NotNull List<FulfilmentAssignment> assignments) {
+    FulfilmentBatchResult result = fulfilmentService.assignAll(assignments, mode);
+    return Response.status(result.isApplied() ? 200 : 400).entity(result).build();
+  }
+
   /** Removes the assignment. Idempotent. Returns 204. */
   @DELETE
   @Path("store/{storeId}/product/{productId}/warehouse/{warehouseId}")
@@ -45,17 +74,57 @@ public class FulfilmentResource {
 
   /**
    * Lists fulfilment assignments. Provide either storeId or warehouseId (or both). Returns list of
-   * { id, storeId, productId, warehouseId }.
+   * { id, storeId, productId, warehouseId }. With {@code limit}, returns one keyset page in id
+   * order starting after the {@code after} id; if the page is full, the {@code X-Next-Cursor}
+   * header carries the {@code after} value for the next page.
    */
   @GET
-  public List<StoreProductFulfilment> list(
-      @QueryParam("storeId") Long storeId, @QueryParam("warehouseId") Long warehouseId) {
+  public Response list(
+      @QueryParam("storeId") Long storeId,
+      @QueryParam("warehouseId") Long warehouseId,
+      @QueryParam("after") @Min(0) Long after,
+      @QueryParam("limit") @Min(1) @Max(MAX_PAGE_SIZE) Integer limit) {
+    if (limit == null) {
+      if (storeId != null) {
+        return Response.ok(fulfilmentService.listByStore(storeId)).build();
+      }
+      if (warehouseId != null) {
+        return Response.ok(fulfilmentService.listByWarehouse(warehouseId)).build();
+      }
+      return Response.ok(List.of()).build();
+    }
+
+    long afterId = after != null ? after : 0L;
+    List<StoreProductFulfilment> page;
     if (storeId != null) {
-      return fulfilmentService.listByStore(storeId);
+      page = fulfilmentService.listByStore(storeId, afterId, limit);
+    } else if (warehouseId != null) {
+      page = fulfilmentService.listByWarehouse(warehouseId, afterId, limit);
+    } else {
+      page = List.of();
+    }
+    Response.ResponseBuilder response = Response.ok(page);
+    if (page.size() == limit) {
+      response.header(NEXT_CURSOR_HEADER, page.get(page.size() - 1).id);
     }
-    if (warehouseId != null) {
-      return fulfilmentService.listByWarehouse(warehouseId);
+    return response.build();
+  }
+
+  /**
+   * Streams all assignments of a store (or warehouse) as newline-delimited JSON, one { id, storeId,
+   * productId, warehouseId } per line, written as rows come off the database cursor.
+   */
+  @GET
+  @Path("stream")
+  @Produces(NDJSON)
+  public Response stream(
+      @QueryParam("storeId") Long storeId, @QueryParam("warehouseId") Long warehouseId) {
+    if (storeId == null && warehouseId == null) {
+      return Response.ok(new byte[0], NDJSON).build();
     }
-    return List.of();
+    StreamingOutput body =
+        NdjsonOutput.<StoreProductFulfilment>of(
+            objectMapper, writer -> fulfilmentService.forEach(storeId, warehouseId, writer));
+    return Response.ok(body, NDJSON).build();
   }
 }
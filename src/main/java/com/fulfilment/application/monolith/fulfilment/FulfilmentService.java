@@ -1,14 +1,16 @@
 package com.fulfilment.application.monolith.fulfilment;
 
-import com.fulfilment.application.monolith.products.Product;
-import com.fulfilment.application.monolith.products.ProductRepository;
-import com.fulfilment.application.monolith.stores.Store;
-import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseRepository;
-import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import io.micrometer.core.annotation.Timed;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
 @ApplicationScoped
@@ -20,74 +22,237 @@ public class FulfilmentService {
   private static final int MAX_WAREHOUSES_PER_STORE = 3;
   private static final int MAX_PRODUCT_TYPES_PER_WAREHOUSE = 5;
 
+  @ConfigProperty(name = "fulfilment.batch.max-size", defaultValue = "10000")
+  int maxBatchSize;
+
   @Inject StoreProductFulfilmentRepository fulfilmentRepository;
-  @Inject ProductRepository productRepository;
-  @Inject WarehouseRepository warehouseRepository;
+  @Inject FulfilmentConstraintIndex constraintIndex;
+  @Inject FulfilmentLocks fulfilmentLocks;
 
   /**
    * Assigns a warehouse to fulfil a product for a store. Enforces: (1) at most 2 warehouses per
    * product per store, (2) at most 3 warehouses per store, (3) at most 5 product types per
-   * warehouse. Idempotent if the assignment already exists.
+   * warehouse. Idempotent if the assignment already exists. All rules are decided from one
+   * constraint snapshot, so the only round trips are that read and the insert; limit counters come
+   * from {@link FulfilmentConstraintIndex} while it is warm. The store and warehouse are locked via
+   * {@link FulfilmentLocks} until commit, so concurrent assigns cannot both pass a limit.
    *
    * @throws FulfilmentConstraintException if store/product/warehouse missing or constraints would
    *     be violated
+   * @throws FulfilmentLockTimeoutException if concurrent changes hold the store or warehouse lock
    */
   @Transactional
+  @Timed(
+      value = "fulfilment.assign",
+      histogram = true,
+      description = "Assign a warehouse to a store and product")
   public void assign(Long storeId, Long productId, Long warehouseId) {
     if (storeId == null || productId == null || warehouseId == null) {
       throw new FulfilmentConstraintException(
           "Store, product and warehouse identifiers are required");
     }
-    Store store = Store.findById(storeId);
-    if (store == null) {
+    // Held until commit, so a concurrent assign for the same store or warehouse sees this one
+    fulfilmentLocks.lock(List.of(storeId), List.of(warehouseId));
+    FulfilmentConstraintSnapshot snapshot = evaluate(storeId, productId, warehouseId);
+    if (!isAssignable(snapshot, storeId, productId, warehouseId)) {
+      return; // idempotent
+    }
+
+    StoreProductFulfilment assignment = new StoreProductFulfilment(storeId, productId, warehouseId);
+    fulfilmentRepository.persist(assignment);
+    constraintIndex.recordAssigned(List.of(assignment));
+    LOGGER.infov(
+        "Fulfilment assigned: storeId={0}, productId={1}, warehouseId={2}",
+        storeId, productId, warehouseId);
+  }
+
+  /**
+   * Assigns many (store, product, warehouse) triples in one transaction. Entity existence is
+   * resolved with one IN query per entity type and the limits are checked in memory across the
+   * whole batch: items apply in request order, so earlier items count against later ones. New
+   * assignments are inserted with JDBC batching.
+   *
+   * @return per-item results; in {@link FulfilmentBatchMode#ATOMIC} mode nothing is persisted if
+   *     any item is rejected
+   * @throws FulfilmentConstraintException if the batch is too large
+   */
+  @Transactional
+  public FulfilmentBatchResult assignAll(
+      List<FulfilmentAssignment> assignments, FulfilmentBatchMode mode) {
+    if (assignments.size() > maxBatchSize) {
+      throw new FulfilmentConstraintException(
+          "Batch can contain at most " + maxBatchSize + " assignments");
+    }
+    Set<Long> storeIds = new HashSet<>();
+    Set<Long> productIds = new HashSet<>();
+    Set<Long> warehouseIds = new HashSet<>();
+    for (FulfilmentAssignment item : assignments) {
+      if (item != null) {
+        addIfPresent(storeIds, item.storeId);
+        addIfPresent(productIds, item.productId);
+        addIfPresent(warehouseIds, item.warehouseId);
+      }
+    }
+    fulfilmentLocks.lock(storeIds, warehouseIds);
+    Set<Long> existingStores = fulfilmentRepository.findExistingStoreIds(storeIds);
+    Set<Long> existingProducts = fulfilmentRepository.findExistingProductIds(productIds);
+    Set<Long> activeWarehouses = fulfilmentRepository.findActiveWarehouseIds(warehouseIds);
+
+    FulfilmentConstraintCounters counters = new FulfilmentConstraintCounters();
+    Set<AssignmentKey> assigned = new HashSet<>();
+    for (Object[] row : fulfilmentRepository.listAssignmentIds(storeIds, warehouseIds)) {
+      AssignmentKey key = new AssignmentKey((Long) row[0], (Long) row[1], (Long) row[2]);
+      if (!FulfilmentConstraintCounters.indexable(
+          key.storeId(), key.productId(), key.warehouseId())) {
+        throw new FulfilmentConstraintException(
+            "Batch assignment does not support identifiers above 32 bits");
+      }
+      counters.add(key.storeId(), key.productId(), key.warehouseId());
+      assigned.add(key);
+    }
+
+    List<FulfilmentBatchItemResult> results = new ArrayList<>(assignments.size());
+    List<StoreProductFulfilment> toInsert = new ArrayList<>();
+    for (FulfilmentAssignment item : assignments) {
+      FulfilmentAssignment assignment = item != null ? item : new FulfilmentAssignment();
+      try {
+        if (assignment.storeId == null
+            || assignment.productId == null
+            || assignment.warehouseId == null) {
+          throw new FulfilmentConstraintException(
+              "Store, product and warehouse identifiers are required");
+        }
+        AssignmentKey key =
+            new AssignmentKey(assignment.storeId, assignment.productId, assignment.warehouseId);
+        if (!FulfilmentConstraintCounters.indexable(
+            key.storeId(), key.productId(), key.warehouseId())) {
+          throw new FulfilmentConstraintException(
+              "Batch assignment does not support identifiers above 32 bits");
+        }
+        FulfilmentConstraintSnapshot references =
+            new FulfilmentConstraintSnapshot(
+                existingStores.contains(key.storeId()),
+                existingProducts.contains(key.productId()),
+                activeWarehouses.contains(key.warehouseId()),
+                assigned.contains(key),
+                0,
+                0,
+                false,
+                0);
+        FulfilmentConstraintSnapshot snapshot =
+            counters.withLimits(references, key.storeId(), key.productId(), key.warehouseId());
+        if (!isAssignable(snapshot, key.storeId(), key.productId(), key.warehouseId())) {
+          results.add(
+              new FulfilmentBatchItemResult(
+                  assignment, FulfilmentBatchItemResult.Status.ALREADY_ASSIGNED, null, null));
+          continue;
+        }
+        counters.add(key.storeId(), key.productId(), key.warehouseId());
+        assigned.add(key);
+        toInsert.add(new StoreProductFulfilment(key.storeId(), key.productId(), key.warehouseId()));
+        results.add(
+            new FulfilmentBatchItemResult(
+                assignment, FulfilmentBatchItemResult.Status.ASSIGNED, null, null));
+      } catch (FulfilmentConstraintException e) {
+        results.add(
+            new FulfilmentBatchItemResult(
+                assignment,
+                FulfilmentBatchItemResult.Status.REJECTED,
+                e.getErrorCode(),
+                e.getMessage()));
+      }
+    }
+
+    FulfilmentBatchResult result = new FulfilmentBatchResult(mode, true, results);
+    if (mode == FulfilmentBatchMode.ATOMIC && result.hasRejections()) {
+      List<FulfilmentBatchItemResult> skipped =
+          results.stream()
+              .map(
+                  r ->
+                      r.getStatus() == FulfilmentBatchItemResult.Status.ASSIGNED
+                          ? r.withStatus(FulfilmentBatchItemResult.Status.SKIPPED)
+                          : r)
+              .toList();
+      LOGGER.infov("Fulfilment batch rejected: items={0}", assignments.size());
+      return new FulfilmentBatchResult(mode, false, skipped);
+    }
+
+    fulfilmentRepository.persistAll(toInsert);
+    constraintIndex.recordAssigned(toInsert);
+    LOGGER.infov(
+        "Fulfilment batch assigned: mode={0}, items={1}, inserted={2}",
+        mode, assignments.size(), toInsert.size());
+    return result;
+  }
+
+  private static void addIfPresent(Set<Long> ids, Long id) {
+    if (id != null) {
+      ids.add(id);
+    }
+  }
+
+  private record AssignmentKey(long storeId, long productId, long warehouseId) {}
+
+  /**
+   * Reads the constraint snapshot: existence checks from the database and limit counters from the
+   * in-memory index while it is warm, otherwise everything from the database.
+   */
+  private FulfilmentConstraintSnapshot evaluate(Long storeId, Long productId, Long warehouseId) {
+    if (constraintIndex.isWarm()) {
+      FulfilmentConstraintSnapshot snapshot =
+          constraintIndex.withLimits(
+              fulfilmentRepository.evaluateReferences(storeId, productId, warehouseId),
+              storeId,
+              productId,
+              warehouseId);
+      if (snapshot != null) {
+        return snapshot;
+      }
+    }
+    return fulfilmentRepository.evaluateConstraints(storeId, productId, warehouseId);
+  }
+
+  /**
+   * Applies the assignment rules to a constraint snapshot.
+   *
+   * @return {@code false} if the assignment already exists, {@code true} if it may be inserted
+   * @throws FulfilmentConstraintException if store/product/warehouse missing or constraints would
+   *     be violated
+   */
+  static boolean isAssignable(
+      FulfilmentConstraintSnapshot snapshot, Long storeId, Long productId, Long warehouseId) {
+    if (!snapshot.storeExists()) {
       throw new FulfilmentConstraintException("Store not found: " + storeId);
     }
-    Product product = productRepository.findById(productId);
-    if (product == null) {
+    if (!snapshot.productExists()) {
       throw new FulfilmentConstraintException("Product not found: " + productId);
     }
-    Warehouse warehouse = warehouseRepository.getById(warehouseId);
-    if (warehouse == null) {
+    // Archived warehouses are treated as not found, like WarehouseRepository.getById
+    if (!snapshot.warehouseActive()) {
       throw new FulfilmentConstraintException("Warehouse not found: " + warehouseId);
     }
-    if (warehouse.archivedAt != null) {
-      throw new FulfilmentConstraintException("Cannot assign archived warehouse: " + warehouseId);
-    }
-
-    StoreProductFulfilment existing =
-        fulfilmentRepository.findByStoreAndProductAndWarehouse(storeId, productId, warehouseId);
-    if (existing != null) {
-      return; // idempotent
+    if (snapshot.assigned()) {
+      return false;
     }
 
-    long warehousesForProductAtStore =
-        fulfilmentRepository.countWarehousesByStoreAndProduct(storeId, productId);
-    if (warehousesForProductAtStore >= MAX_WAREHOUSES_PER_PRODUCT_PER_STORE) {
+    if (snapshot.warehousesForProductAtStore() >= MAX_WAREHOUSES_PER_PRODUCT_PER_STORE) {
       throw new FulfilmentConstraintException(
           "Product can be fulfilled by at most "
               + MAX_WAREHOUSES_PER_PRODUCT_PER_STORE
               + " warehouses per store");
     }
 
-    long warehousesForStore = fulfilmentRepository.countDistinctWarehousesByStore(storeId);
-    if (warehousesForStore >= MAX_WAREHOUSES_PER_STORE
-        && !fulfilmentRepository.isWarehouseUsedForStore(storeId, warehouseId)) {
+    if (snapshot.warehousesForStore() >= MAX_WAREHOUSES_PER_STORE
+        && !snapshot.warehouseUsedForStore()) {
       throw new FulfilmentConstraintException(
           "Store can be fulfilled by at most " + MAX_WAREHOUSES_PER_STORE + " warehouses");
     }
 
-    long productTypesForWarehouse =
-        fulfilmentRepository.countDistinctProductsByWarehouse(warehouseId);
-    if (productTypesForWarehouse >= MAX_PRODUCT_TYPES_PER_WAREHOUSE) {
+    if (snapshot.productTypesForWarehouse() >= MAX_PRODUCT_TYPES_PER_WAREHOUSE) {
       throw new FulfilmentConstraintException(
           "Warehouse can store at most " + MAX_PRODUCT_TYPES_PER_WAREHOUSE + " product types");
     }
-
-    StoreProductFulfilment assignment = new StoreProductFulfilment(storeId, productId, warehouseId);
-    fulfilmentRepository.persist(assignment);
-    LOGGER.infov(
-        "Fulfilment assigned: storeId={0}, productId={1}, warehouseId={2}",
-        storeId, productId, warehouseId);
+    return true;
   }
 
   /** Removes the assignment if present. Idempotent. */
@@ -97,6 +262,7 @@ public class FulfilmentService {
         fulfilmentRepository.findByStoreAndProductAndWarehouse(storeId, productId, warehouseId);
     if (existing != null) {
       fulfilmentRepository.delete(existing);
+      constraintIndex.recordUnassigned(List.of(existing));
       LOGGER.infov(
           "Fulfilment unassigned: storeId={0}, productId={1}, warehouseId={2}",
           storeId, productId, warehouseId);
@@ -110,4 +276,26 @@ public class FulfilmentService {
   public List<StoreProductFulfilment> listByWarehouse(Long warehouseId) {
     return fulfilmentRepository.listByWarehouse(warehouseId);
   }
+
+  public List<StoreProductFulfilment> listByStore(Long storeId, long afterId, int limit) {
+    return fulfilmentRepository.listByStore(storeId, afterId, limit);
+  }
+
+  public List<StoreProductFulfilment> listByWarehouse(Long warehouseId, long afterId, int limit) {
+    return fulfilmentRepository.listByWarehouse(warehouseId, afterId, limit);
+  }
+
+  /**
+   * Passes each assignment of the store (or, if {@code storeId} is null, of the warehouse) to the
+   * consumer as it is read from the database cursor, so memory does not grow with the result size.
+   */
+  @Transactional
+  public void forEach(Long storeId, Long warehouseId, Consumer<StoreProductFulfilment> consumer) {
+    try (Stream<StoreProductFulfilment> rows =
+        storeId != null
+            ? fulfilmentRepository.streamByStore(storeId)
+            : fulfilmentRepository.streamByWarehouse(warehouseId)) {
+      rows.forEach(consumer);
+    }
+  }
 }
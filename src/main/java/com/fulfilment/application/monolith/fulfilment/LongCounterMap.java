@@ -0,0 +1,136 @@
+package com.fulfilment.application.monolith.fulfilment;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from {@code long} keys to {@code long} counts. Keys and values live in
+ * two primitive arrays, so an index with millions of entries does not allocate a boxed key and
+ * value per entry. Counts that drop to zero are removed. Not thread-safe; callers guard access.
+ */
+final class LongCounterMap {
+
+  private static final long FREE = 0L;
+  private static final int MIN_CAPACITY = 16;
+
+  private long[] keys;
+  private long[] values;
+  private int mask;
+  private int size;
+
+  // Key 0 marks a free slot, so its count is kept outside the arrays.
+  private long zeroKeyValue;
+
+  LongCounterMap() {
+    allocate(MIN_CAPACITY);
+  }
+
+  /** Returns the count for the key, or 0 if absent. */
+  long get(long key) {
+    if (key == FREE) {
+      return zeroKeyValue;
+    }
+    int slot = indexOf(key);
+    return slot >= 0 ? values[slot] : 0L;
+  }
+
+  /**
+   * Adds {@code delta} to the count for the key and returns the new count. The entry is removed
+   * once the count reaches zero; counts never go negative.
+   */
+  long add(long key, long delta) {
+    if (key == FREE) {
+      zeroKeyValue = Math.max(0L, zeroKeyValue + delta);
+      return zeroKeyValue;
+    }
+    int slot = hash(key);
+    while (keys[slot] != FREE) {
+      if (keys[slot] == key) {
+        long updated = values[slot] + delta;
+        if (updated <= 0) {
+          removeAt(slot);
+          return 0L;
+        }
+        values[slot] = updated;
+        return updated;
+      }
+      slot = (slot + 1) & mask;
+    }
+    if (delta <= 0) {
+      return 0L;
+    }
+    keys[slot] = key;
+    values[slot] = delta;
+    if (++size * 2 > keys.length) {
+      rehash(keys.length * 2);
+    }
+    return delta;
+  }
+
+  /** Number of keys with a non-zero count. */
+  int size() {
+    return size + (zeroKeyValue > 0 ? 1 : 0);
+  }
+
+  void clear() {
+    Arrays.fill(keys, FREE);
+    Arrays.fill(values, 0L);
+    size = 0;
+    zeroKeyValue = 0L;
+  }
+
+  private int indexOf(long key) {
+    int slot = hash(key);
+    while (keys[slot] != FREE) {
+      if (keys[slot] == key) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  /** Backward-shift deletion: keeps every probe chain contiguous without tombstones. */
+  private void removeAt(int slot) {
+    int gap = slot;
+    int next = (gap + 1) & mask;
+    while (keys[next] != FREE) {
+      int ideal = hash(keys[next]);
+      if (((next - ideal) & mask) >= ((next - gap) & mask)) {
+        keys[gap] = keys[next];
+        values[gap] = values[next];
+        gap = next;
+      }
+      next = (next + 1) & mask;
+    }
+    keys[gap] = FREE;
+    values[gap] = 0L;
+    size--;
+  }
+
+  private void rehash(int capacity) {
+    long[] oldKeys = keys;
+    long[] oldValues = values;
+    allocate(capacity);
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != FREE) {
+        int slot = hash(oldKeys[i]);
+        while (keys[slot] != FREE) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    values = new long[capacity];
+    mask = capacity - 1;
+  }
+
+  private int hash(long key) {
+    long mixed = key * 0x9E3779B97F4A7C15L;
+    return (int) (mixed ^ (mixed >>> 32)) & mask;
+  }
+}
@@ -1,10 +1,11 @@
 package com.fulfilment.application.monolith.fulfilment;
 
+import com.fulfilment.application.monolith.persistence.PooledLoSequence;
 import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 
@@ -13,11 +14,24 @@ import jakarta.persistence.UniqueConstraint;
 @Table(
     name = "store_product_fulfilment",
     uniqueConstraints = {
-      @UniqueConstraint(columnNames = {"store_id", "product_id", "warehouse_id"})
+      @UniqueConstraint(
+          name = StoreProductFulfilment.ASSIGNMENT_CONSTRAINT,
+          columnNames = {"store_id", "product_id", "warehouse_id"})
+    },
+    // The unique constraint serves lookups by store (and product); these cover the others.
+    indexes = {
+      @Index(name = "idx_fulfilment_warehouse_product", columnList = "warehouse_id, product_id"),
+      @Index(name = "idx_fulfilment_store_warehouse", columnList = "store_id, warehouse_id")
     })
 public class StoreProductFulfilment {
 
-  @Id @GeneratedValue public Long id;
+  // named so that the query plan checks can tell it from the other indexes
+  static final String ASSIGNMENT_CONSTRAINT = "uq_fulfilment_store_product_warehouse";
+
+  // ids are drawn in blocks of id.allocation-size.store_product_fulfilment_seq
+  static final String SEQUENCE = "store_product_fulfilment_seq";
+
+  @Id @PooledLoSequence(SEQUENCE) public Long id;
 
   @Column(name = "store_id", nullable = false)
   public Long storeId;
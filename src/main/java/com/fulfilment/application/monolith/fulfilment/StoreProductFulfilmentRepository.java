@@ -1,33 +1,22 @@
 package com.fulfilment.application.monolith.fulfilment;
 
+import io.micrometer.core.annotation.Timed;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
 
 @ApplicationScoped
+@Timed(value = "repository.query", description = "Repository calls by class and method")
 public class StoreProductFulfilmentRepository implements PanacheRepository<StoreProductFulfilment> {
 
-  public long countWarehousesByStoreAndProduct(Long storeId, Long productId) {
-    return count("storeId = ?1 and productId = ?2", storeId, productId);
-  }
-
-  public long countDistinctWarehousesByStore(Long storeId) {
-    return getEntityManager()
-        .createQuery(
-            "select count(distinct f.warehouseId) from StoreProductFulfilment f where f.storeId = ?1",
-            Long.class)
-        .setParameter(1, storeId)
-        .getSingleResult();
-  }
-
-  public long countDistinctProductsByWarehouse(Long warehouseId) {
-    return getEntityManager()
-        .createQuery(
-            "select count(distinct f.productId) from StoreProductFulfilment f where f.warehouseId = ?1",
-            Long.class)
-        .setParameter(1, warehouseId)
-        .getSingleResult();
-  }
+  private static final int INSERT_BATCH_SIZE = 50;
 
   public StoreProductFulfilment findByStoreAndProductAndWarehouse(
       Long storeId, Long productId, Long warehouseId) {
@@ -44,8 +33,218 @@ public class StoreProductFulfilmentRepository implements PanacheRepository<Store
     return list("warehouseId", warehouseId);
   }
 
-  /** Returns whether this warehouse is already used for this store (any product). */
-  public boolean isWarehouseUsedForStore(Long storeId, Long warehouseId) {
-    return count("storeId = ?1 and warehouseId = ?2", storeId, warehouseId) > 0;
+  /** Keyset page of a store's assignments: ids greater than {@code afterId}, in id order. */
+  public List<StoreProductFulfilment> listByStore(Long storeId, long afterId, int limit) {
+    return find("storeId = ?1 and id > ?2", Sort.by("id"), storeId, afterId).page(0, limit).list();
+  }
+
+  /** Keyset page of a warehouse's assignments: ids greater than {@code afterId}, in id order. */
+  public List<StoreProductFulfilment> listByWarehouse(Long warehouseId, long afterId, int limit) {
+    return find("warehouseId = ?1 and id > ?2", Sort.by("id"), warehouseId, afterId)
+        .page(0, limit)
+        .list();
+  }
+
+  /**
+   * Streams a store's assignments in id order as unmanaged objects read from a forward-only cursor.
+   * Must be consumed and closed inside a transaction.
+   */
+  public Stream<StoreProductFulfilment> streamByStore(Long storeId) {
+    return streamRows("f.storeId", storeId);
+  }
+
+  /** Like {@link #streamByStore} for a warehouse's assignments. */
+  public Stream<StoreProductFulfilment> streamByWarehouse(Long warehouseId) {
+    return streamRows("f.warehouseId", warehouseId);
+  }
+
+  private Stream<StoreProductFulfilment> streamRows(String column, Long value) {
+    return getEntityManager()
+        .createQuery(
+            "select f.id, f.storeId, f.productId, f.warehouseId from StoreProductFulfilment f"
+                + " where "
+                + column
+                + " = ?1 order by f.id",
+            Object[].class)
+        .setParameter(1, value)
+        .setHint(HibernateHints.HINT_FETCH_SIZE, 500)
+        .setHint(HibernateHints.HINT_READ_ONLY, true)
+        .getResultStream()
+        .map(
+            row -> {
+              var assignment =
+                  new StoreProductFulfilment((Long) row[1], (Long) row[2], (Long) row[3]);
+              assignment.id = (Long) row[0];
+              return assignment;
+            });
+  }
+
+  /**
+   * Reads entity existence, the existing assignment and all three limit counters for an assignment
+   * in one statement. The aggregate only scans fulfilment rows of the store or the warehouse.
+   */
+  public FulfilmentConstraintSnapshot evaluateConstraints(
+      Long storeId, Long productId, Long warehouseId) {
+    Object[] row =
+        (Object[])
+            getEntityManager()
+                .createNativeQuery(
+                    """
+                    select
+                      (select count(*) from store s where s.id = ?1),
+                      (select count(*) from product p where p.id = ?2),
+                      (select count(*) from warehouse w where w.id = ?3 and w.archivedAt is null),
+                      count(case when f.store_id = ?1 and f.product_id = ?2 and f.warehouse_id = ?3
+                        then 1 end),
+                      count(case when f.store_id = ?1 and f.product_id = ?2 then 1 end),
+                      count(distinct case when f.store_id = ?1 then f.warehouse_id end),
+                      count(case when f.store_id = ?1 and f.warehouse_id = ?3 then 1 end),
+                      count(distinct case when f.warehouse_id = ?3 then f.product_id end)
+                    from store_product_fulfilment f
+                    where f.store_id = ?1 or f.warehouse_id = ?3
+                    """)
+                .setParameter(1, storeId)
+                .setParameter(2, productId)
+                .setParameter(3, warehouseId)
+                .getSingleResult();
+    return new FulfilmentConstraintSnapshot(
+        asLong(row[0]) > 0,
+        asLong(row[1]) > 0,
+        asLong(row[2]) > 0,
+        asLong(row[3]) > 0,
+        asLong(row[4]),
+        asLong(row[5]),
+        asLong(row[6]) > 0,
+        asLong(row[7]));
+  }
+
+  /**
+   * Reads entity existence and the existing assignment only, for callers that take the limit
+   * counters from {@link FulfilmentConstraintIndex}. Counter fields of the result are zero.
+   */
+  public FulfilmentConstraintSnapshot evaluateReferences(
+      Long storeId, Long productId, Long warehouseId) {
+    Object[] row =
+        (Object[])
+            getEntityManager()
+                .createNativeQuery(
+                    """
+                    select
+                      (select count(*) from store s where s.id = ?1),
+                      (select count(*) from product p where p.id = ?2),
+                      (select count(*) from warehouse w where w.id = ?3 and w.archivedAt is null),
+                      (select count(*) from store_product_fulfilment f
+                        where f.store_id = ?1 and f.product_id = ?2 and f.warehouse_id = ?3)
+                    """)
+                .setParameter(1, storeId)
+                .setParameter(2, productId)
+                .setParameter(3, warehouseId)
+                .getSingleResult();
+    return new FulfilmentConstraintSnapshot(
+        asLong(row[0]) > 0,
+        asLong(row[1]) > 0,
+        asLong(row[2]) > 0,
+        asLong(row[3]) > 0,
+        0,
+        0,
+        false,
+        0);
+  }
+
+  /**
+   * Streams (storeId, productId, warehouseId) of every assignment without loading entities. Must be
+   * consumed and closed inside a transaction.
+   */
+  public Stream<Object[]> streamAssignmentIds() {
+    return getEntityManager()
+        .createQuery(
+            "select f.storeId, f.productId, f.warehouseId from StoreProductFulfilment f",
+            Object[].class)
+        .setHint(HibernateHints.HINT_FETCH_SIZE, 1000)
+        .setHint(HibernateHints.HINT_READ_ONLY, true)
+        .getResultStream();
+  }
+
+  /** Returns the ids among {@code storeIds} that exist, with one IN query. */
+  public Set<Long> findExistingStoreIds(Collection<Long> storeIds) {
+    return findIds("select s.id from Store s where s.id in ?1", storeIds);
+  }
+
+  /** Returns the ids among {@code productIds} that exist, with one IN query. */
+  public Set<Long> findExistingProductIds(Collection<Long> productIds) {
+    return findIds("select p.id from Product p where p.id in ?1", productIds);
+  }
+
+  /** Returns the ids among {@code warehouseIds} that exist and are not archived. */
+  public Set<Long> findActiveWarehouseIds(Collection<Long> warehouseIds) {
+    return findIds(
+        "select w.id from DbWarehouse w where w.id in ?1 and w.archivedAt is null", warehouseIds);
+  }
+
+  /**
+   * Returns (storeId, productId, warehouseId) of every assignment of the given stores or
+   * warehouses: exactly the rows the limit counters of those stores and warehouses depend on.
+   */
+  public List<Object[]> listAssignmentIds(
+      Collection<Long> storeIds, Collection<Long> warehouseIds) {
+    if (storeIds.isEmpty() && warehouseIds.isEmpty()) {
+      return List.of();
+    }
+    return getEntityManager()
+        .createQuery(
+            "select f.storeId, f.productId, f.warehouseId from StoreProductFulfilment f"
+                + " where f.storeId in ?1 or f.warehouseId in ?2",
+            Object[].class)
+        // an empty IN list is not valid SQL; -1 never matches a generated id
+        .setParameter(1, storeIds.isEmpty() ? List.of(-1L) : storeIds)
+        .setParameter(2, warehouseIds.isEmpty() ? List.of(-1L) : warehouseIds)
+        .getResultList();
+  }
+
+  /**
+   * Inserts new assignments with JDBC batching. The persistence context is flushed and cleared
+   * after each batch so its size stays bounded.
+   */
+  public void persistAll(List<StoreProductFulfilment> assignments) {
+    Session session = getEntityManager().unwrap(Session.class);
+    Integer previousBatchSize = session.getJdbcBatchSize();
+    session.setJdbcBatchSize(INSERT_BATCH_SIZE);
+    try {
+      for (int i = 0; i < assignments.size(); i++) {
+        session.persist(assignments.get(i));
+        if ((i + 1) % INSERT_BATCH_SIZE == 0) {
+          session.flush();
+          session.clear();
+        }
+      }
+      session.flush();
+      session.clear();
+    } finally {
+      session.setJdbcBatchSize(previousBatchSize);
+    }
+  }
+
+  /**
+   * Takes a PostgreSQL advisory lock held until the current transaction ends. Ids outside the int
+   * range are folded, which can only make unrelated keys share a lock.
+   */
+  public void acquireAdvisoryLock(int namespace, long id) {
+    getEntityManager()
+        .createNativeQuery("select count(*) from (select pg_advisory_xact_lock(?1, ?2)) l")
+        .setParameter(1, namespace)
+        .setParameter(2, Long.hashCode(id))
+        .getSingleResult();
+  }
+
+  private Set<Long> findIds(String query, Collection<Long> ids) {
+    if (ids.isEmpty()) {
+      return Set.of();
+    }
+    return new HashSet<>(
+        getEntityManager().createQuery(query, Long.class).setParameter(1, ids).getResultList());
+  }
+
+  private static long asLong(Object value) {
+    return value != null ? ((Number) value).longValue() : 0L;
   }
 }
@@ -1,46 +1,126 @@
 package com.fulfilment.application.monolith.location;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fulfilment.application.monolith.warehouses.domain.exceptions.LocationIdentifierInvalidException;
 import com.fulfilment.application.monolith.warehouses.domain.exceptions.LocationNotFoundException;
 import com.fulfilment.application.monolith.warehouses.domain.models.Location;
 import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
-import java.util.ArrayList;
+import jakarta.inject.Inject;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
+/**
+ * Resolves locations from an immutable hash index. The index holds the built-in locations unless
+ * {@code location.source} points to a CSV or JSON file (see {@link LocationSource}). {@link
+ * #reload()} re-reads the source and swaps the whole index at once, so lookups never lock and never
+ * see a half-loaded index.
+ */
 @ApplicationScoped
 public class LocationGateway implements LocationResolver {
 
   private static final Logger LOGGER = Logger.getLogger(LocationGateway.class.getName());
 
-  private static final List<Location> locations = new ArrayList<>();
-
-  static {
-    locations.add(new Location("ZWOLLE-001", 1, 40));
-    locations.add(new Location("ZWOLLE-002", 2, 50));
-    locations.add(new Location("AMSTERDAM-001", 5, 100));
-    locations.add(new Location("AMSTERDAM-002", 3, 75));
-    locations.add(new Location("TILBURG-001", 1, 40));
-    locations.add(new Location("HELMOND-001", 1, 45));
-    locations.add(new Location("EINDHOVEN-001", 2, 70));
-    locations.add(new Location("VETSBY-001", 1, 90));
+  static final List<Location> DEFAULT_LOCATIONS =
+      List.of(
+          new Location("ZWOLLE-001", 1, 40),
+          new Location("ZWOLLE-002", 2, 50),
+          new Location("AMSTERDAM-001", 5, 100),
+          new Location("AMSTERDAM-002", 3, 75),
+          new Location("TILBURG-001", 1, 40),
+          new Location("HELMOND-001", 1, 45),
+          new Location("EINDHOVEN-001", 2, 70),
+          new Location("VETSBY-001", 1, 90));
+
+  @ConfigProperty(name = "location.source")
+  Optional<String> source = Optional.empty();
+
+  @Inject ObjectMapper objectMapper;
+
+  private final AtomicReference<Map<String, Location>> index =
+      new AtomicReference<>(indexOf(DEFAULT_LOCATIONS));
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder invalid = new LongAdder();
+  private final LongAdder reloads = new LongAdder();
+  private volatile Instant lastReload;
+
+  @PostConstruct
+  void init() {
+    if (source.isPresent()) {
+      reload();
+    }
   }
 
   @Override
   public Location resolveByIdentifier(String identifier) {
-    LOGGER.infov("Resolving location by identifier: {0}", identifier);
     if (identifier == null || identifier.isBlank()) {
+      invalid.increment();
       LOGGER.warn("Location identifier is null or blank");
       throw new LocationIdentifierInvalidException();
     }
-    return locations.stream()
-        .filter(loc -> identifier.equals(loc.identification))
-        .findFirst()
-        .orElseThrow(
-            () -> {
-              LOGGER.warnv("Location not found: {0}", identifier);
-              return new LocationNotFoundException(identifier);
-            });
+    Location location = index.get().get(identifier);
+    if (location == null) {
+      misses.increment();
+      LOGGER.warnv("Location not found: {0}", identifier);
+      throw new LocationNotFoundException(identifier);
+    }
+    hits.increment();
+    return location;
+  }
+
+  /**
+   * Re-reads the configured source, or restores the built-in locations if none is configured, and
+   * swaps the index. On failure the current index stays in place.
+   *
+   * @return the number of locations now indexed
+   * @throws LocationSourceException if the source cannot be read or is invalid
+   */
+  public synchronized int reload() {
+    List<Location> locations =
+        source
+            .map(path -> LocationSource.read(Path.of(path), objectMapper))
+            .orElse(DEFAULT_LOCATIONS);
+    Map<String, Location> loaded = indexOf(locations);
+    index.set(loaded);
+    reloads.increment();
+    lastReload = Instant.now();
+    LOGGER.infov("Locations loaded: count={0}, source={1}", loaded.size(), sourceName());
+    return loaded.size();
+  }
+
+  public LocationStats stats() {
+    return new LocationStats(
+        index.get().size(),
+        sourceName(),
+        hits.sum(),
+        misses.sum(),
+        invalid.sum(),
+        reloads.sum(),
+        lastReload);
+  }
+
+  private String sourceName() {
+    return source.orElse("built-in");
+  }
+
+  private static Map<String, Location> indexOf(List<Location> locations) {
+    Map<String, Location> byIdentifier = new HashMap<>(locations.size() * 2);
+    for (Location location : locations) {
+      if (byIdentifier.putIfAbsent(location.identification, location) != null) {
+        throw new LocationSourceException("Duplicate location: " + location.identification);
+      }
+    }
+    return Map.copyOf(byIdentifier);
   }
 }
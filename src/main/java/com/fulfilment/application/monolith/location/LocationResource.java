@@ -0,0 +1,31 @@
+package com.fulfilment.application.monolith.location;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+
+/** Operations on the location index: lookup statistics and reloading the source file. */
+@Path("location")
+@ApplicationScoped
+@Produces("application/json")
+public class LocationResource {
+
+  @Inject LocationGateway locationGateway;
+
+  @GET
+  @Path("stats")
+  public LocationStats stats() {
+    return locationGateway.stats();
+  }
+
+  /** Re-reads the location source; on an invalid source the current index is kept. */
+  @POST
+  @Path("reload")
+  public LocationStats reload() {
+    locationGateway.reload();
+    return locationGateway.stats();
+  }
+}
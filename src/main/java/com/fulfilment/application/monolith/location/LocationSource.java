@@ -0,0 +1,97 @@
+package com.fulfilment.application.monolith.location;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads locations from a file. Files ending in {@code .json} hold an array of {@code
+ * {"identification", "maxNumberOfWarehouses", "maxCapacity"}} objects; any other file is CSV with
+ * those three columns, an optional header line and {@code #} comment lines. JSON is parsed with
+ * the caller's (application-configured) {@link ObjectMapper}.
+ */
+final class LocationSource {
+
+  private LocationSource() {}
+
+  static List<Location> read(Path path, ObjectMapper objectMapper) {
+    try {
+      return path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".json")
+          ? readJson(path, objectMapper)
+          : readCsv(path);
+    } catch (IOException e) {
+      throw new LocationSourceException("Cannot read locations from " + path + ": " + e);
+    }
+  }
+
+  private static List<Location> readCsv(Path path) throws IOException {
+    List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+    List<Location> locations = new ArrayList<>(lines.size());
+    boolean first = true;
+    for (int i = 0; i < lines.size(); i++) {
+      String line = lines.get(i).strip();
+      if (line.isEmpty() || line.startsWith("#")) {
+        continue;
+      }
+      if (first && line.toLowerCase(Locale.ROOT).startsWith("identification")) {
+        first = false;
+        continue;
+      }
+      first = false;
+      String[] fields = line.split(",", -1);
+      if (fields.length != 3) {
+        throw invalid(path, i + 1, "expected 3 columns");
+      }
+      locations.add(location(path, i + 1, fields[0].strip(), fields[1].strip(), fields[2].strip()));
+    }
+    return locations;
+  }
+
+  private static List<Location> readJson(Path path, ObjectMapper objectMapper)
+      throws IOException {
+    JsonNode root = objectMapper.readTree(path.toFile());
+    if (root == null || !root.isArray()) {
+      throw new LocationSourceException("Expected a JSON array of locations in " + path);
+    }
+    List<Location> locations = new ArrayList<>(root.size());
+    for (int i = 0; i < root.size(); i++) {
+      JsonNode node = root.get(i);
+      locations.add(
+          location(
+              path,
+              i + 1,
+              node.path("identification").asText(""),
+              node.path("maxNumberOfWarehouses").asText(""),
+              node.path("maxCapacity").asText("")));
+    }
+    return locations;
+  }
+
+  private static Location location(
+      Path path, int entry, String identification, String maxWarehouses, String maxCapacity) {
+    if (identification.isBlank()) {
+      throw invalid(path, entry, "identification is required");
+    }
+    try {
+      int warehouses = Integer.parseInt(maxWarehouses);
+      int capacity = Integer.parseInt(maxCapacity);
+      if (warehouses < 0 || capacity < 0) {
+        throw invalid(path, entry, "limits cannot be negative");
+      }
+      return new Location(identification, warehouses, capacity);
+    } catch (NumberFormatException e) {
+      throw invalid(path, entry, "limits must be integers");
+    }
+  }
+
+  private static LocationSourceException invalid(Path path, int entry, String reason) {
+    return new LocationSourceException("Invalid location " + entry + " in " + path + ": " + reason);
+  }
+}
@@ -0,0 +1,12 @@
+package com.fulfilment.application.monolith.location;
+
+import com.fulfilment.application.monolith.exception.BusinessException;
+
+public class LocationSourceException extends BusinessException {
+
+  public static final String ERROR_CODE = "LOCATION_SOURCE_INVALID";
+
+  public LocationSourceException(String message) {
+    super(message, ERROR_CODE, 500);
+  }
+}
@@ -0,0 +1,23 @@
+package com.fulfilment.application.monolith.location;
+
+import java.time.Instant;
+
+/**
+ * Size of the location index and lookup counters since startup.
+ *
+ * @param locations number of indexed locations
+ * @param source file the index was loaded from, or {@code built-in}
+ * @param hits lookups that resolved a location
+ * @param misses lookups of an unknown identifier
+ * @param invalid lookups with a null or blank identifier
+ * @param reloads completed reloads
+ * @param lastReload time of the last completed reload, {@code null} if none
+ */
+public record LocationStats(
+    int locations,
+    String source,
+    long hits,
+    long misses,
+    long invalid,
+    long reloads,
+    Instant lastReload) {}
@@ -0,0 +1,117 @@
+package com.fulfilment.application.monolith.logging;
+
+import io.quarkus.logging.LoggingFilter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.logging.Filter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logmanager.ExtLogRecord;
+
+/**
+ * Caps the records per second of the configured logger categories and their sub-categories, so
+ * per-request lines on hot paths cannot flood the console under load. Each category has its own
+ * one-second window; errors always pass. The first record let through after records were dropped
+ * says how many.
+ *
+ * <p>Enabled on a handler with {@code quarkus.log.console.filter=category-rate-limit}.
+ */
+@LoggingFilter(name = "category-rate-limit")
+public final class CategoryRateLimitFilter implements Filter {
+
+  private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private final List<String> categories;
+  private final int perSecond;
+  private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+  // replaced in tests
+  LongSupplier nanoTime = System::nanoTime;
+
+  public CategoryRateLimitFilter(
+      @ConfigProperty(name = "log.rate-limit.categories") String categories,
+      @ConfigProperty(name = "log.rate-limit.per-second") int perSecond) {
+    this.categories =
+        Arrays.stream(categories.split(",")).map(String::trim).filter(c -> !c.isEmpty()).toList();
+    this.perSecond = perSecond;
+  }
+
+  @Override
+  public boolean isLoggable(LogRecord record) {
+    if (perSecond <= 0 || record.getLevel().intValue() >= Level.SEVERE.intValue()) {
+      return true;
+    }
+    String category = categoryOf(record.getLoggerName());
+    if (category == null) {
+      return true;
+    }
+    long dropped =
+        windows.computeIfAbsent(category, c -> new Window()).admit(nanoTime.getAsLong(), perSecond);
+    if (dropped < 0) {
+      return false;
+    }
+    if (dropped > 0) {
+      noteDropped(record, dropped);
+    }
+    return true;
+  }
+
+  /** The configured category the logger belongs to, or null if it is not rate limited. */
+  private String categoryOf(String loggerName) {
+    if (loggerName == null) {
+      return null;
+    }
+    for (String category : categories) {
+      if (loggerName.startsWith(category)
+          && (loggerName.length() == category.length()
+              || loggerName.charAt(category.length()) == '.')) {
+        return category;
+      }
+    }
+    return null;
+  }
+
+  private static void noteDropped(LogRecord record, long dropped) {
+    String message = record.getMessage() + " [" + dropped + " records dropped by rate limit]";
+    if (record instanceof ExtLogRecord extRecord) {
+      // keep the format style, so the parameters are still substituted
+      extRecord.setMessage(message, extRecord.getFormatStyle());
+    } else {
+      record.setMessage(message);
+    }
+  }
+
+  /** Records admitted and dropped in the current one-second window of a category. */
+  private static final class Window {
+
+    private long start;
+    private int admitted;
+    private long dropped;
+    private boolean started;
+
+    /**
+     * Returns -1 if the record is dropped, otherwise the number of records dropped since the last
+     * admitted one.
+     */
+    synchronized long admit(long now, int perSecond) {
+      if (!started || now - start >= WINDOW_NANOS) {
+        started = true;
+        start = now;
+        admitted = 0;
+      }
+      if (admitted >= perSecond) {
+        dropped++;
+        return -1;
+      }
+      admitted++;
+      long droppedBefore = dropped;
+      dropped = 0;
+      return droppedBefore;
+    }
+  }
+}
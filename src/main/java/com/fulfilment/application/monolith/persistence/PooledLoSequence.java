@@ -0,0 +1,22 @@
+package com.fulfilment.application.monolith.persistence;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * Generates the annotated id from the named sequence with a {@link PooledLoSequenceGenerator}, in
+ * blocks of {@code id.allocation-size.<sequence name>}. Used instead of {@code @GeneratedValue}.
+ */
+@IdGeneratorType(PooledLoSequenceGenerator.class)
+@Target({FIELD, METHOD})
+@Retention(RUNTIME)
+public @interface PooledLoSequence {
+
+  /** Name of the sequence. */
+  String value();
+}
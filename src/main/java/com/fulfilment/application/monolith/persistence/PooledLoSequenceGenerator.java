@@ -0,0 +1,55 @@
+package com.fulfilment.application.monolith.persistence;
+
+import java.lang.reflect.Member;
+import java.util.Properties;
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+/**
+ * Sequence id generator behind {@link PooledLoSequence}, whose allocation size is configured per
+ * sequence with {@code id.allocation-size.<sequence name>} (default 50) and which always uses the
+ * pooled-lo optimizer: the value returned by {@code nextval} is the first id of the block, and the
+ * block runs up to the value before the next one. A sequence restarted at any value (as {@code
+ * import.sql} does after seeding) therefore never hands out an id below it, and SQL inserts that
+ * take one {@code nextval} per row never collide with a block reserved by ORM.
+ *
+ * <p>The sequence is created with {@code increment by} the allocation size; changing the size for
+ * an existing database also needs {@code alter sequence ... increment by}.
+ */
+public class PooledLoSequenceGenerator extends SequenceStyleGenerator {
+
+  static final String ALLOCATION_SIZE_PREFIX = "id.allocation-size.";
+  static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+  private final String sequenceName;
+
+  public PooledLoSequenceGenerator(
+      PooledLoSequence config, Member idMember, CustomIdGeneratorCreationContext context) {
+    this.sequenceName = config.value();
+  }
+
+  @Override
+  public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) {
+    parameters.setProperty(SEQUENCE_PARAM, sequenceName);
+    parameters.setProperty(INCREMENT_PARAM, String.valueOf(allocationSize(sequenceName)));
+    parameters.setProperty(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+    super.configure(type, parameters, serviceRegistry);
+  }
+
+  /** The configured number of ids reserved per {@code nextval} of the sequence. */
+  public static int allocationSize(String sequenceName) {
+    int size =
+        ConfigProvider.getConfig()
+            .getOptionalValue(ALLOCATION_SIZE_PREFIX + sequenceName, Integer.class)
+            .orElse(DEFAULT_ALLOCATION_SIZE);
+    if (size < 1) {
+      throw new IllegalStateException(
+          ALLOCATION_SIZE_PREFIX + sequenceName + " must be at least 1, was " + size);
+    }
+    return size;
+  }
+}
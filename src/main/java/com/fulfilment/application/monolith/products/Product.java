@@ -1,19 +1,30 @@
 package com.fulfilment.application.monolith.products;
 
+import com.fulfilment.application.monolith.persistence.PooledLoSequence;
 import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import java.math.BigDecimal;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Cacheable
+@Table(uniqueConstraints = @UniqueConstraint(name = Product.NAME_CONSTRAINT, columnNames = "name"))
 public class Product {
 
-  @Id @GeneratedValue public Long id;
+  // named so that create can recognise a duplicate name from the insert failure
+  static final String NAME_CONSTRAINT = "uq_product_name";
 
-  @Column(length = 40, unique = true)
+  // ids are drawn in blocks of id.allocation-size.product_seq (PooledLoSequence)
+  static final String SEQUENCE = "product_seq";
+
+  @Id @PooledLoSequence(SEQUENCE) public Long id;
+
+  @Column(length = 40)
   public String name;
 
   @Column(nullable = true)
@@ -24,6 +35,12 @@ public class Product {
 
   public int stock;
 
+  // optimistic lock version; a client that sends it on update gets a 409 if it is stale
+  @Version
+  @ColumnDefault("0")
+  @Column(nullable = false)
+  public Long version;
+
   public Product() {}
 
   public Product(String name) {
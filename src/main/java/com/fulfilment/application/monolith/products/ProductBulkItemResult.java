@@ -0,0 +1,62 @@
+package com.fulfilment.application.monolith.products;
+
+/** Outcome of one product of a bulk upsert, in request order. */
+public class ProductBulkItemResult {
+
+  public enum Status {
+    CREATED,
+    UPDATED,
+    REJECTED
+  }
+
+  private final int index;
+  private final String name;
+  private final Long id;
+  private final Status status;
+  private final String errorCode;
+  private final String message;
+
+  private ProductBulkItemResult(
+      int index, String name, Long id, Status status, String errorCode, String message) {
+    this.index = index;
+    this.name = name;
+    this.id = id;
+    this.status = status;
+    this.errorCode = errorCode;
+    this.message = message;
+  }
+
+  static ProductBulkItemResult written(int index, Product product, Status status) {
+    return new ProductBulkItemResult(index, product.name, product.id, status, null, null);
+  }
+
+  static ProductBulkItemResult rejected(
+      int index, Product product, String errorCode, String message) {
+    return new ProductBulkItemResult(
+        index, product != null ? product.name : null, null, Status.REJECTED, errorCode, message);
+  }
+
+  public int getIndex() {
+    return index;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public Status getStatus() {
+    return status;
+  }
+
+  public String getErrorCode() {
+    return errorCode;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+}
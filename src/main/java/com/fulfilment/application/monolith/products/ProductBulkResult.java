@@ -0,0 +1,33 @@
+package com.fulfilment.application.monolith.products;
+
+import java.util.List;
+
+/** Response body of a bulk upsert: counts per status plus per-item results in request order. */
+public class ProductBulkResult {
+
+  private final List<ProductBulkItemResult> items;
+
+  public ProductBulkResult(List<ProductBulkItemResult> items) {
+    this.items = items;
+  }
+
+  public long getCreated() {
+    return count(ProductBulkItemResult.Status.CREATED);
+  }
+
+  public long getUpdated() {
+    return count(ProductBulkItemResult.Status.UPDATED);
+  }
+
+  public long getRejected() {
+    return count(ProductBulkItemResult.Status.REJECTED);
+  }
+
+  public List<ProductBulkItemResult> getItems() {
+    return items;
+  }
+
+  private long count(ProductBulkItemResult.Status status) {
+    return items.stream().filter(item -> item.getStatus() == status).count();
+  }
+}
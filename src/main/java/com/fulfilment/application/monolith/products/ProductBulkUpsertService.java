@@ -0,0 +1,161 @@
+package com.fulfilment.application.monolith.products;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.Session;
+import org.jboss.logging.Logger;
+
+/**
+ * Creates or updates products by name, in chunks of {@code product.bulk.chunk-size} that each
+ * commit in their own transaction. Per chunk, existing names are looked up with one {@code IN}
+ * query and the inserts and updates go out as JDBC batches; new ids come from {@code product_seq}
+ * in blocks of {@code id.allocation-size.product_seq}, one {@code nextval} per block.
+ *
+ * <p>A chunk that fails to commit (e.g. a concurrent insert of one of its names) is rolled back and
+ * its products are reported as rejected; the chunks before it stay committed.
+ */
+@ApplicationScoped
+public class ProductBulkUpsertService {
+
+  private static final Logger LOGGER = Logger.getLogger(ProductBulkUpsertService.class.getName());
+
+  static final String INVALID_PRODUCT = "INVALID_PRODUCT";
+  static final String DUPLICATE_IN_REQUEST = "DUPLICATE_IN_REQUEST";
+  static final String CHUNK_FAILED = "CHUNK_FAILED";
+
+  private static final int MAX_NAME_LENGTH = 40;
+  private static final int JDBC_BATCH_SIZE = 50;
+
+  @ConfigProperty(name = "product.bulk.chunk-size", defaultValue = "500")
+  int chunkSize;
+
+  @Inject ProductRepository productRepository;
+
+  /**
+   * Upserts the products in iteration order, reading the next chunk only after the previous one
+   * has committed, so only one chunk of products is held at a time. The result of every product
+   * and every name seen are kept until the end, so memory still grows with the number of products;
+   * callers cap it with {@code product.bulk.max-size}. A null product (e.g. an unreadable line) is
+   * rejected.
+   */
+  public ProductBulkResult upsertAll(Iterator<Product> products) {
+    List<ProductBulkItemResult> results = new ArrayList<>();
+    Set<String> names = new HashSet<>();
+    List<Product> chunk = new ArrayList<>(chunkSize);
+    List<Integer> indexes = new ArrayList<>(chunkSize);
+    for (int index = 0; products.hasNext(); index++) {
+      Product product = products.next();
+      String error = validate(product);
+      if (error != null) {
+        results.add(ProductBulkItemResult.rejected(index, product, INVALID_PRODUCT, error));
+      } else if (!names.add(product.name)) {
+        results.add(
+            ProductBulkItemResult.rejected(
+                index,
+                product,
+                DUPLICATE_IN_REQUEST,
+                "Product '" + product.name + "' appears more than once in the request."));
+      } else {
+        results.add(null);
+        chunk.add(product);
+        indexes.add(index);
+      }
+      if (chunk.size() == chunkSize) {
+        writeChunk(chunk, indexes, results);
+        chunk.clear();
+        indexes.clear();
+      }
+    }
+    if (!chunk.isEmpty()) {
+      writeChunk(chunk, indexes, results);
+    }
+    var result = new ProductBulkResult(results);
+    LOGGER.infov(
+        "Products upserted in bulk: created={0}, updated={1}, rejected={2}",
+        result.getCreated(), result.getUpdated(), result.getRejected());
+    return result;
+  }
+
+  private static String validate(Product product) {
+    if (product == null) {
+      return "Product is missing or not valid JSON.";
+    }
+    if (product.id != null) {
+      return "Id was invalidly set on request.";
+    }
+    if (product.name == null || product.name.isBlank()) {
+      return "Product name is required.";
+    }
+    if (product.name.length() > MAX_NAME_LENGTH) {
+      return "Product name can have at most " + MAX_NAME_LENGTH + " characters.";
+    }
+    return null;
+  }
+
+  private void writeChunk(
+      List<Product> chunk, List<Integer> indexes, List<ProductBulkItemResult> results) {
+    try {
+      List<ProductBulkItemResult> written =
+          QuarkusTransaction.requiringNew().call(() -> write(chunk, indexes));
+      for (ProductBulkItemResult item : written) {
+        results.set(item.getIndex(), item);
+      }
+    } catch (RuntimeException e) {
+      LOGGER.warnv(e, "Bulk upsert chunk of {0} products rolled back", chunk.size());
+      String message = "Chunk rolled back: " + rootMessage(e);
+      for (int i = 0; i < chunk.size(); i++) {
+        results.set(
+            indexes.get(i),
+            ProductBulkItemResult.rejected(indexes.get(i), chunk.get(i), CHUNK_FAILED, message));
+      }
+    }
+  }
+
+  /** One chunk in the current transaction: a single lookup, then batched inserts and updates. */
+  private List<ProductBulkItemResult> write(List<Product> chunk, List<Integer> indexes) {
+    Map<String, Product> existing =
+        productRepository.findByNames(chunk.stream().map(p -> p.name).toList());
+    // the session belongs to this chunk's transaction, so the batch size needs no reset
+    productRepository.getEntityManager().unwrap(Session.class).setJdbcBatchSize(JDBC_BATCH_SIZE);
+
+    List<ProductBulkItemResult> written = new ArrayList<>(chunk.size());
+    List<Product> entities = new ArrayList<>(chunk.size());
+    List<ProductBulkItemResult.Status> statuses = new ArrayList<>(chunk.size());
+    for (Product product : chunk) {
+      Product entity = existing.get(product.name);
+      if (entity != null) {
+        entity.description = product.description;
+        entity.price = product.price;
+        entity.stock = product.stock;
+        statuses.add(ProductBulkItemResult.Status.UPDATED);
+      } else {
+        entity = product;
+        entity.version = null;
+        productRepository.persist(entity);
+        statuses.add(ProductBulkItemResult.Status.CREATED);
+      }
+      entities.add(entity);
+    }
+    productRepository.flush();
+    for (int i = 0; i < chunk.size(); i++) {
+      written.add(ProductBulkItemResult.written(indexes.get(i), entities.get(i), statuses.get(i)));
+    }
+    return written;
+  }
+
+  private static String rootMessage(Throwable failure) {
+    Throwable root = failure;
+    while (root.getCause() != null && root.getCause() != root) {
+      root = root.getCause();
+    }
+    return root.getMessage() != null ? root.getMessage() : root.toString();
+  }
+}
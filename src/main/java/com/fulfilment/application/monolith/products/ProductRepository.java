@@ -1,7 +1,60 @@
 package com.fulfilment.application.monolith.products;
 
+import com.fulfilment.application.monolith.rest.NameCursor;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 
 @ApplicationScoped
-public class ProductRepository implements PanacheRepository<Product> {}
+public class ProductRepository implements PanacheRepository<Product> {
+
+  /** The products with one of the names, by name, in a single {@code IN} query. */
+  public Map<String, Product> findByNames(Collection<String> names) {
+    return list("name in ?1", names).stream()
+        .collect(Collectors.toMap(product -> product.name, Function.identity()));
+  }
+
+  /** Keyset page in (name, id) order: the products after {@code after}, or the first page. */
+  public List<Product> listByName(NameCursor after, int limit) {
+    Sort sort = Sort.by("name").and("id");
+    if (after == null) {
+      return findAll(sort).page(0, limit).list();
+    }
+    return find("name > ?1 or (name = ?1 and id > ?2)", sort, after.name(), after.id())
+        .page(0, limit)
+        .list();
+  }
+
+  /**
+   * Streams every product in (name, id) order as unmanaged objects read from a forward-only cursor.
+   * Must be consumed and closed inside a transaction.
+   */
+  public Stream<Product> streamByName() {
+    return getEntityManager()
+        .createQuery(
+            "select p.id, p.name, p.description, p.price, p.stock, p.version from Product p"
+                + " order by p.name, p.id",
+            Object[].class)
+        .setHint(HibernateHints.HINT_FETCH_SIZE, 500)
+        .setHint(HibernateHints.HINT_READ_ONLY, true)
+        .getResultStream()
+        .map(
+            row -> {
+              var product = new Product((String) row[1]);
+              product.id = (Long) row[0];
+              product.description = (String) row[2];
+              product.price = (BigDecimal) row[3];
+              product.stock = (Integer) row[4];
+              product.version = (Long) row[5];
+              return product;
+            });
+  }
+}
@@ -1,9 +1,21 @@
 package com.fulfilment.application.monolith.products;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fulfilment.application.monolith.concurrency.ConcurrentUpdateException;
+import com.fulfilment.application.monolith.concurrency.RetryOnConflict;
+import com.fulfilment.application.monolith.exception.UniqueConstraints;
+import com.fulfilment.application.monolith.rest.NameCursor;
+import com.fulfilment.application.monolith.rest.NdjsonOutput;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.panache.common.Sort;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.persistence.PersistenceException;
 import jakarta.transaction.Transactional;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
 import jakarta.ws.rs.GET;
@@ -12,21 +24,80 @@ import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
 @Path("product")
 @ApplicationScoped
 @Produces("application/json")
 @Consumes("application/json")
+@RunOnVirtualThread
 public class ProductResource {
 
+  static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+  private static final int MAX_PAGE_SIZE = 1000;
+
   @Inject ProductRepository productRepository;
+  @Inject ProductBulkUpsertService bulkUpsertService;
+  @Inject ObjectMapper objectMapper;
+
+  @ConfigProperty(name = "product.bulk.max-size", defaultValue = "50000")
+  int maxBulkSize;
+
+  /**
+   * Lists products by name. With {@code limit}, returns one keyset page in (name, id) order
+   * starting after the {@code after} cursor; if the page is full, the {@code X-Next-Cursor} header
+   * carries the cursor of the next page.
+   */
+  @GET
+  public Response get(
+      @QueryParam("after") String after,
+      @QueryParam("limit") @Min(1) @Max(MAX_PAGE_SIZE) Integer limit) {
+    if (limit == null) {
+      return Response.ok(productRepository.listAll(Sort.by("name"))).build();
+    }
+    List<Product> page = productRepository.listByName(NameCursor.decode(after), limit);
+    Response.ResponseBuilder response = Response.ok(page);
+    if (page.size() == limit) {
+      Product last = page.get(page.size() - 1);
+      response.header(NEXT_CURSOR_HEADER, new NameCursor(last.name, last.id).encode());
+    }
+    return response.build();
+  }
 
+  /**
+   * Exports every product as newline-delimited JSON in (name, id) order, written as rows come off a
+   * read-only database cursor.
+   */
   @GET
-  public List<Product> get() {
-    return productRepository.listAll(Sort.by("name"));
+  @Path("stream")
+  @Produces(NdjsonOutput.MEDIA_TYPE)
+  public Response stream() {
+    StreamingOutput body =
+        NdjsonOutput.<Product>of(
+            objectMapper,
+            writer ->
+                QuarkusTransaction.requiringNew()
+                    .run(
+                        () -> {
+                          try (Stream<Product> rows = productRepository.streamByName()) {
+                            rows.forEach(writer);
+                          }
+                        }));
+    return Response.ok(body, NdjsonOutput.MEDIA_TYPE).build();
   }
 
   @GET
@@ -51,19 +122,108 @@ public class ProductResource {
       throw new WebApplicationException(
           Response.status(422).entity("Product name is required.").build());
     }
-    if (productRepository.find("name", product.name).firstResult() != null) {
-      throw new WebApplicationException(
-          Response.status(409)
-              .entity("Product with name '" + product.name + "' already exists.")
-              .build());
+    // a new row starts at version 0, whatever the client sent
+    product.version = null;
+    // the unique constraint on name is the duplicate check: no lookup first, and no race
+    try {
+      productRepository.persistAndFlush(product);
+    } catch (PersistenceException e) {
+      if (UniqueConstraints.isViolationOf(e, Product.NAME_CONSTRAINT)) {
+        throw new WebApplicationException(
+            Response.status(409)
+                .entity("Product with name '" + product.name + "' already exists.")
+                .build());
+      }
+      throw e;
     }
-
-    productRepository.persist(product);
     return Response.ok(product).status(201).build();
   }
 
+  /**
+   * Creates or updates (by name) a list of products, committing in chunks. Returns 200 with
+   * per-item results: CREATED, UPDATED or REJECTED with an error code.
+   */
+  @POST
+  @Path("bulk")
+  public ProductBulkResult upsertAll(@NotNull List<Product> products) {
+    if (products.size() > maxBulkSize) {
+      throw tooManyProducts();
+    }
+    return bulkUpsertService.upsertAll(products.iterator());
+  }
+
+  /**
+   * Like {@link #upsertAll(List)} for newline-delimited JSON, one product per line, read while
+   * earlier chunks are written; a line that is not a product is rejected. Limited to {@code
+   * product.bulk.max-size} lines like a list, as the response holds a result per line: a further
+   * line is answered with 422, and the chunks written before it stay committed.
+   */
+  @POST
+  @Path("bulk")
+  @Consumes(NdjsonOutput.MEDIA_TYPE)
+  public ProductBulkResult upsertAll(InputStream ndjson) {
+    var reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8));
+    return bulkUpsertService.upsertAll(new NdjsonProducts(reader));
+  }
+
+  private WebApplicationException tooManyProducts() {
+    return new WebApplicationException(
+        Response.status(422)
+            .entity("Bulk request can contain at most " + maxBulkSize + " products.")
+            .build());
+  }
+
+  /**
+   * Products parsed line by line; blank lines are skipped, unreadable ones yield null. Fails with
+   * 422 on a line beyond {@code product.bulk.max-size}.
+   */
+  private final class NdjsonProducts implements Iterator<Product> {
+
+    private final BufferedReader reader;
+    private String line;
+    private int read;
+
+    NdjsonProducts(BufferedReader reader) {
+      this.reader = reader;
+    }
+
+    @Override
+    public boolean hasNext() {
+      try {
+        while (line == null || line.isBlank()) {
+          line = reader.readLine();
+          if (line == null) {
+            return false;
+          }
+        }
+        if (read == maxBulkSize) {
+          throw tooManyProducts();
+        }
+        return true;
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public Product next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      String current = line;
+      line = null;
+      read++;
+      try {
+        return objectMapper.readValue(current, Product.class);
+      } catch (IOException e) {
+        return null;
+      }
+    }
+  }
+
   @PUT
   @Path("{id}")
+  @RetryOnConflict
   @Transactional
   public Product update(@PathParam("id") Long id, Product product) {
     if (product.name == null) {
@@ -77,6 +237,17 @@ public class ProductResource {
       throw new WebApplicationException(
           Response.status(404).entity("Product with id of " + id + " does not exist.").build());
     }
+    // a client that sends the version it read must still be updating that version
+    if (product.version != null && !product.version.equals(entity.version)) {
+      throw new ConcurrentUpdateException(
+          "Product with id of "
+              + id
+              + " was modified concurrently (version "
+              + product.version
+              + ", current "
+              + entity.version
+              + ").");
+    }
 
     entity.name = product.name;
     entity.description = product.description;
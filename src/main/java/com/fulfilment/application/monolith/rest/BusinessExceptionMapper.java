@@ -1,19 +1,32 @@
 package com.fulfilment.application.monolith.rest;
 
 import com.fulfilment.application.monolith.exception.BusinessException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.inject.Inject;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.ExceptionMapper;
 import jakarta.ws.rs.ext.Provider;
 
 /**
  * Single mapper for all business exceptions. Returns a consistent {@link ErrorResponse} (errorCode
- * + message) with the HTTP status defined on the exception.
+ * + message) with the HTTP status defined on the exception, and counts each response by error code
+ * ({@code business.errors}).
  */
 @Provider
 public class BusinessExceptionMapper implements ExceptionMapper<BusinessException> {
 
+  @Inject MeterRegistry registry;
+
   @Override
   public Response toResponse(BusinessException ex) {
+    registry
+        .counter(
+            "business.errors",
+            "errorCode",
+            ex.getErrorCode(),
+            "status",
+            Integer.toString(ex.getStatus()))
+        .increment();
     ErrorResponse error = new ErrorResponse(ex.getErrorCode(), ex.getMessage());
     return Response.status(ex.getStatus()).entity(error).build();
   }
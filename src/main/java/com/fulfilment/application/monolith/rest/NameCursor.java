@@ -0,0 +1,36 @@
+package com.fulfilment.application.monolith.rest;
+
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position in a listing ordered by (name, id): the last row of a page. Sent to clients as
+ * an opaque token (base64url of {@code id:name}) so names with any characters fit in a header and
+ * a query parameter.
+ */
+public record NameCursor(String name, long id) {
+
+  public String encode() {
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString((id + ":" + name).getBytes(StandardCharsets.UTF_8));
+  }
+
+  /** Decodes a token from {@link #encode()}; null for a null token, 400 for a malformed one. */
+  public static NameCursor decode(String token) {
+    if (token == null) {
+      return null;
+    }
+    try {
+      String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      int separator = value.indexOf(':');
+      return new NameCursor(
+          value.substring(separator + 1), Long.parseLong(value.substring(0, separator)));
+    } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+      throw new WebApplicationException(
+          Response.status(400).entity("Invalid cursor '" + token + "'.").build());
+    }
+  }
+}
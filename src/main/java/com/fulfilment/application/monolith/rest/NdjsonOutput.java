@@ -0,0 +1,41 @@
+package com.fulfilment.application.monolith.rest;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Newline-delimited JSON response body: one object per line, written as the source hands rows over,
+ * so nothing is collected in memory first.
+ */
+public final class NdjsonOutput {
+
+  public static final String MEDIA_TYPE = "application/x-ndjson";
+
+  private NdjsonOutput() {}
+
+  /**
+   * A body that passes a row writer to {@code source} when the response is written; the source
+   * feeds it every row (typically from a database cursor, inside its own transaction).
+   */
+  public static <T> StreamingOutput of(ObjectMapper objectMapper, Consumer<Consumer<T>> source) {
+    return output -> {
+      try (JsonGenerator generator = objectMapper.createGenerator(output)) {
+        generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+        generator.setRootValueSeparator(null);
+        source.accept(
+            row -> {
+              try {
+                generator.writeObject(row);
+                generator.writeRaw('\n');
+              } catch (IOException e) {
+                throw new UncheckedIOException(e);
+              }
+            });
+      }
+    };
+  }
+}
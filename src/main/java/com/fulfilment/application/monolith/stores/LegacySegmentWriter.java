@@ -0,0 +1,178 @@
+package com.fulfilment.application.monolith.stores;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Appends legacy records, one per line, to a segment file through a single {@link FileChannel}.
+ *
+ * <p>Writes are group-committed: the channel is forced to disk after {@code syncEvery} records,
+ * once {@code syncInterval} has passed since the last sync (checked on append and by {@link
+ * #syncIfDue()}), or on an explicit {@link #sync()}. The open segment is named {@code *.log.part};
+ * once it reaches {@code maxSegmentBytes} or {@code maxSegmentAge} it is synced, closed and renamed
+ * to {@code *.log}, which hands it off to the legacy system. Segments left open by a crash are
+ * handed off by {@link #recover()}, so the directory must belong to this process. Thread-safe.
+ */
+final class LegacySegmentWriter implements Closeable {
+
+  static final String OPEN_SUFFIX = ".log.part";
+  static final String READY_SUFFIX = ".log";
+
+  private final Path directory;
+  private final int syncEvery;
+  private final long syncIntervalNanos;
+  private final long maxSegmentBytes;
+  private final long maxSegmentAgeNanos;
+
+  private FileChannel channel;
+  private Path segment;
+  private long segmentOpenedAt;
+  private long segmentSequence;
+  private int unsynced;
+  private long lastSyncAt;
+
+  LegacySegmentWriter(
+      Path directory,
+      int syncEvery,
+      Duration syncInterval,
+      long maxSegmentBytes,
+      Duration maxSegmentAge) {
+    this.directory = directory;
+    this.syncEvery = Math.max(1, syncEvery);
+    this.syncIntervalNanos = syncInterval.toNanos();
+    this.maxSegmentBytes = maxSegmentBytes;
+    this.maxSegmentAgeNanos = maxSegmentAge.toNanos();
+  }
+
+  /** Appends one record; it is durable once the next sync has run. */
+  synchronized void append(String record) throws IOException {
+    if (channel == null) {
+      open();
+    }
+    ByteBuffer bytes = StandardCharsets.UTF_8.encode(record + "\n");
+    while (bytes.hasRemaining()) {
+      channel.write(bytes);
+    }
+    unsynced++;
+    long now = System.nanoTime();
+    if (unsynced >= syncEvery || now - lastSyncAt >= syncIntervalNanos) {
+      sync();
+    }
+    if (channel.position() >= maxSegmentBytes || now - segmentOpenedAt >= maxSegmentAgeNanos) {
+      rotate();
+    }
+  }
+
+  /** Forces every appended record to disk. */
+  synchronized void sync() throws IOException {
+    if (channel != null && unsynced > 0) {
+      channel.force(false);
+    }
+    unsynced = 0;
+    lastSyncAt = System.nanoTime();
+  }
+
+  /** Syncs if records have waited longer than the sync interval and rotates an expired segment. */
+  synchronized void syncIfDue() throws IOException {
+    long now = System.nanoTime();
+    if (unsynced > 0 && now - lastSyncAt >= syncIntervalNanos) {
+      sync();
+    }
+    if (channel != null && now - segmentOpenedAt >= maxSegmentAgeNanos) {
+      rotate();
+    }
+  }
+
+  /** Syncs, closes and hands off the open segment, if any. The next append opens a new one. */
+  synchronized void rotate() throws IOException {
+    if (channel == null) {
+      return;
+    }
+    sync();
+    channel.close();
+    channel = null;
+    Files.move(segment, readyName(segment), StandardCopyOption.ATOMIC_MOVE);
+    segment = null;
+  }
+
+  /**
+   * Hands off the segments a previous process left open (crash or kill), before this writer opens
+   * its own. Their synced records may already be gone from the outbox, so they must still reach the
+   * legacy system. A record cut off mid-line was never synced, and therefore never acknowledged, so
+   * it is dropped; the outbox sends it again.
+   *
+   * @return the number of segments handed off
+   */
+  synchronized int recover() throws IOException {
+    if (!Files.isDirectory(directory)) {
+      return 0;
+    }
+    List<Path> leftovers;
+    try (Stream<Path> files = Files.list(directory)) {
+      leftovers =
+          files.filter(f -> f.getFileName().toString().endsWith(OPEN_SUFFIX)).sorted().toList();
+    }
+    int recovered = 0;
+    for (Path leftover : leftovers) {
+      if (!leftover.equals(segment)) {
+        truncateToLastRecord(leftover);
+        Files.move(leftover, readyName(leftover), StandardCopyOption.ATOMIC_MOVE);
+        recovered++;
+      }
+    }
+    return recovered;
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    rotate();
+  }
+
+  private static Path readyName(Path openSegment) {
+    String name = openSegment.getFileName().toString();
+    return openSegment.resolveSibling(
+        name.substring(0, name.length() - OPEN_SUFFIX.length()) + READY_SUFFIX);
+  }
+
+  /** Cuts the file after its last complete line. */
+  private static void truncateToLastRecord(Path file) throws IOException {
+    try (FileChannel leftover =
+        FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      long end = leftover.size();
+      ByteBuffer last = ByteBuffer.allocate(1);
+      while (end > 0) {
+        last.clear();
+        leftover.read(last, end - 1);
+        if (last.get(0) == '\n') {
+          break;
+        }
+        end--;
+      }
+      if (end < leftover.size()) {
+        leftover.truncate(end);
+        leftover.force(false);
+      }
+    }
+  }
+
+  private void open() throws IOException {
+    Files.createDirectories(directory);
+    segment =
+        directory.resolve(
+            String.format(
+                "stores-%d-%06d%s", System.currentTimeMillis(), segmentSequence++, OPEN_SUFFIX));
+    channel = FileChannel.open(segment, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+    segmentOpenedAt = System.nanoTime();
+    lastSyncAt = segmentOpenedAt;
+  }
+}
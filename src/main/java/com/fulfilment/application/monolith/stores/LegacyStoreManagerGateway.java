@@ -1,43 +1,161 @@
 package com.fulfilment.application.monolith.stores;
 
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
+/**
+ * Propagates stores to the legacy system. Failures are thrown so the {@link StoreOutboxDispatcher}
+ * can retry them.
+ *
+ * <p>{@code legacy.store.writer.mode} selects how records reach the legacy system: {@code
+ * temp-file} writes, then deletes, one temporary file per store change; {@code segment} appends
+ * them to rolling segment files through a {@link LegacySegmentWriter}, which only guarantees a
+ * record is on disk after {@link #flush()}.
+ */
 @ApplicationScoped
 public class LegacyStoreManagerGateway {
 
   private static final Logger LOGGER = Logger.getLogger(LegacyStoreManagerGateway.class.getName());
 
+  static final String MODE_TEMP_FILE = "temp-file";
+  static final String MODE_SEGMENT = "segment";
+
+  @ConfigProperty(name = "legacy.store.writer.mode", defaultValue = MODE_TEMP_FILE)
+  String mode = MODE_TEMP_FILE;
+
+  @ConfigProperty(name = "legacy.store.segment.directory")
+  Optional<String> segmentDirectory = Optional.empty();
+
+  @ConfigProperty(name = "legacy.store.segment.sync-every", defaultValue = "64")
+  int syncEvery = 64;
+
+  @ConfigProperty(name = "legacy.store.segment.sync-interval", defaultValue = "200ms")
+  Duration syncInterval = Duration.ofMillis(200);
+
+  @ConfigProperty(name = "legacy.store.segment.max-bytes", defaultValue = "16777216")
+  long maxSegmentBytes = 16L * 1024 * 1024;
+
+  @ConfigProperty(name = "legacy.store.segment.max-age", defaultValue = "1m")
+  Duration maxSegmentAge = Duration.ofMinutes(1);
+
+  private LegacySegmentWriter segmentWriter;
+
+  @PostConstruct
+  void init() {
+    if (MODE_SEGMENT.equals(mode)) {
+      Path directory =
+          Path.of(
+              segmentDirectory.orElse(
+                  Path.of(System.getProperty("java.io.tmpdir"), "legacy-store-segments")
+                      .toString()));
+      segmentWriter =
+          new LegacySegmentWriter(
+              directory, syncEvery, syncInterval, maxSegmentBytes, maxSegmentAge);
+      try {
+        int recovered = segmentWriter.recover();
+        if (recovered > 0) {
+          LOGGER.warnv("Handed off {0} legacy segment(s) left open in {1}", recovered, directory);
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException("Failed to hand off leftover legacy segments", e);
+      }
+      LOGGER.infov("Legacy store records are appended to segments in {0}", directory);
+    } else if (!MODE_TEMP_FILE.equals(mode)) {
+      throw new IllegalStateException("Unknown legacy.store.writer.mode: " + mode);
+    }
+  }
+
+  @PreDestroy
+  void close() {
+    if (segmentWriter != null) {
+      try {
+        segmentWriter.close();
+      } catch (IOException e) {
+        LOGGER.errorv(e, "Failed to hand off the open legacy segment");
+      }
+    }
+  }
+
   public void createStoreOnLegacySystem(Store store) {
-    // Emulates sending store data to a legacy system by writing to a temp file.
-    writeToFile(store);
+    // Emulates sending store data to a legacy system by writing to a file.
+    write("Store created.", store);
   }
 
   public void updateStoreOnLegacySystem(Store store) {
-    writeToFile(store);
+    write("Store updated.", store);
+  }
+
+  /**
+   * Makes every record written so far durable: one sync for all records since the last one.
+   *
+   * @throws UncheckedIOException if the records could not be synced
+   */
+  public void flush() {
+    if (segmentWriter != null) {
+      try {
+        segmentWriter.sync();
+      } catch (IOException e) {
+        throw new UncheckedIOException("Failed to sync legacy segment", e);
+      }
+    }
+  }
+
+  // Appends sync on their own once the interval has passed; this covers records left when idle.
+  @Scheduled(
+      identity = "legacy-segment-maintenance",
+      every = "1s",
+      concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+  void maintainSegment() {
+    if (segmentWriter != null) {
+      try {
+        segmentWriter.syncIfDue();
+      } catch (IOException e) {
+        LOGGER.errorv(e, "Failed to sync or rotate the legacy segment");
+      }
+    }
   }
 
-  private void writeToFile(Store store) {
+  /**
+   * @throws UncheckedIOException if the store could not be written
+   */
+  private void write(String event, Store store) {
+    String content =
+        event
+            + " [ name ="
+            + store.name
+            + " ] [ items on stock ="
+            + store.quantityProductsInStock
+            + "]";
     try {
-      Path tempFile = Files.createTempFile(store.name, ".txt");
-      LOGGER.debugv("Temporary file created at: {0}", tempFile);
-
-      String content =
-          "Store created. [ name ="
-              + store.name
-              + " ] [ items on stock ="
-              + store.quantityProductsInStock
-              + "]";
-      Files.write(tempFile, content.getBytes());
-      LOGGER.debugv("Data written to temporary file: {0}", tempFile);
-
-      Files.delete(tempFile);
-      LOGGER.debug("Temporary file deleted.");
-    } catch (Exception e) {
-      LOGGER.errorv(e, "Failed to propagate store to legacy system: name={0}", store.name);
-      // Best-effort sync: do not fail the main request; log for ops to retry or fix.
+      if (segmentWriter != null) {
+        segmentWriter.append(content);
+      } else {
+        writeToFile(store, content);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(
+          "Failed to propagate store to legacy system: name=" + store.name, e);
     }
   }
+
+  private void writeToFile(Store store, String content) throws IOException {
+    Path tempFile = Files.createTempFile(store.name, ".txt");
+    LOGGER.debugv("Temporary file created at: {0}", tempFile);
+
+    Files.write(tempFile, content.getBytes());
+    LOGGER.debugv("Data written to temporary file: {0}", tempFile);
+
+    Files.delete(tempFile);
+    LOGGER.debug("Temporary file deleted.");
+  }
 }
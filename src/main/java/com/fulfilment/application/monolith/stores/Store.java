@@ -1,22 +1,83 @@
 package com.fulfilment.application.monolith.stores;
 
-import io.quarkus.hibernate.orm.panache.PanacheEntity;
+import com.fulfilment.application.monolith.persistence.PooledLoSequence;
+import com.fulfilment.application.monolith.rest.NameCursor;
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import io.quarkus.panache.common.Sort;
 import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
+import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.jpa.HibernateHints;
 
 @Entity
 @Cacheable
-public class Store extends PanacheEntity {
+@Table(uniqueConstraints = @UniqueConstraint(name = Store.NAME_CONSTRAINT, columnNames = "name"))
+public class Store extends PanacheEntityBase {
 
-  @Column(length = 40, unique = true)
+  // named so that create can recognise a duplicate name from the insert failure
+  static final String NAME_CONSTRAINT = "uq_store_name";
+
+  // ids are drawn in blocks of id.allocation-size.store_seq (PooledLoSequence)
+  static final String SEQUENCE = "store_seq";
+
+  @Id @PooledLoSequence(SEQUENCE) public Long id;
+
+  @Column(length = 40)
   public String name;
 
   public int quantityProductsInStock;
 
+  // optimistic lock version; a client that sends it on update gets a 409 if it is stale
+  @Version
+  @ColumnDefault("0")
+  @Column(nullable = false)
+  public Long version;
+
   public Store() {}
 
   public Store(String name) {
     this.name = name;
   }
+
+  /** Keyset page in (name, id) order: the stores after {@code after}, or the first page if null. */
+  public static List<Store> listByName(NameCursor after, int limit) {
+    Sort sort = Sort.by("name").and("id");
+    if (after == null) {
+      return Store.<Store>findAll(sort).page(0, limit).list();
+    }
+    return Store.<Store>find(
+            "name > ?1 or (name = ?1 and id > ?2)", sort, after.name(), after.id())
+        .page(0, limit)
+        .list();
+  }
+
+  /**
+   * Streams every store in (name, id) order as unmanaged objects read from a forward-only cursor.
+   * Must be consumed and closed inside a transaction.
+   */
+  public static Stream<Store> streamByName() {
+    return getEntityManager()
+        .createQuery(
+            "select s.id, s.name, s.quantityProductsInStock, s.version from Store s"
+                + " order by s.name, s.id",
+            Object[].class)
+        .setHint(HibernateHints.HINT_FETCH_SIZE, 500)
+        .setHint(HibernateHints.HINT_READ_ONLY, true)
+        .getResultStream()
+        .map(
+            row -> {
+              var store = new Store((String) row[1]);
+              store.id = (Long) row[0];
+              store.quantityProductsInStock = (Integer) row[2];
+              store.version = (Long) row[3];
+              return store;
+            });
+  }
 }
@@ -0,0 +1,217 @@
+package com.fulfilment.application.monolith.stores;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.LockModeType;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.LockOptions;
+import org.hibernate.jpa.SpecHints;
+import org.jboss.logging.Logger;
+
+/**
+ * Drains the {@link StoreOutboxEntry outbox} to the {@link LegacyStoreManagerGateway} in batches.
+ *
+ * <p>A batch is claimed with {@code FOR UPDATE SKIP LOCKED} and leased by moving its due time, so
+ * several nodes can dispatch concurrently and a node that dies mid-batch only delays delivery until
+ * the lease expires. Entries of the same store are coalesced into one call carrying the store's
+ * current state (a create if any entry was a create). A store's entries are only claimed from its
+ * oldest outstanding one, so an update never overtakes a create that is still failing or leased
+ * elsewhere. Failed stores are retried with exponential backoff and parked after {@code
+ * store.outbox.max-attempts}, which also holds back the store's later entries. Delivery is at
+ * least once.
+ */
+@ApplicationScoped
+public class StoreOutboxDispatcher {
+
+  private static final Logger LOGGER = Logger.getLogger(StoreOutboxDispatcher.class.getName());
+
+  private static final int MAX_ERROR_LENGTH = 500;
+
+  @ConfigProperty(name = "store.outbox.batch-size", defaultValue = "100")
+  int batchSize;
+
+  @ConfigProperty(name = "store.outbox.max-attempts", defaultValue = "10")
+  int maxAttempts;
+
+  @ConfigProperty(name = "store.outbox.lease", defaultValue = "30s")
+  Duration lease;
+
+  @ConfigProperty(name = "store.outbox.backoff.initial", defaultValue = "1s")
+  Duration initialBackoff;
+
+  @ConfigProperty(name = "store.outbox.backoff.max", defaultValue = "5m")
+  Duration maxBackoff;
+
+  @Inject LegacyStoreManagerGateway legacyStoreManagerGateway;
+
+  @Scheduled(
+      identity = "store-outbox",
+      every = "${store.outbox.interval:1s}",
+      concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+  void onSchedule() {
+    dispatchPending();
+  }
+
+  /**
+   * Delivers due entries batch by batch until none are left.
+   *
+   * @return the number of outbox entries delivered
+   */
+  public int dispatchPending() {
+    int delivered = 0;
+    while (true) {
+      Batch batch = QuarkusTransaction.requiringNew().call(this::claim);
+      if (batch.entries.isEmpty()) {
+        return delivered;
+      }
+      delivered += deliver(batch);
+      if (batch.entries.size() < batchSize) {
+        return delivered;
+      }
+    }
+  }
+
+  /**
+   * Locks and leases due entries, but only entries of a store none of whose earlier entries is
+   * still outstanding: not while one waits for its backoff or is parked (the query), nor while
+   * another node holds one (skipped by the lock, so checked against the store's oldest entry).
+   */
+  private Batch claim() {
+    LocalDateTime now = LocalDateTime.now();
+    List<StoreOutboxEntry> claimed =
+        StoreOutboxEntry.<StoreOutboxEntry>find(
+                "from StoreOutboxEntry e where e.nextAttemptAt <= ?1 and not exists"
+                    + " (select 1 from StoreOutboxEntry o where o.storeId = e.storeId"
+                    + " and o.id < e.id and (o.nextAttemptAt is null or o.nextAttemptAt > ?1))"
+                    + " order by e.id",
+                now)
+            .withLock(LockModeType.PESSIMISTIC_WRITE)
+            .withHint(SpecHints.HINT_SPEC_LOCK_TIMEOUT, LockOptions.SKIP_LOCKED)
+            .page(0, batchSize)
+            .list();
+    if (claimed.isEmpty()) {
+      return new Batch(List.of(), Map.of());
+    }
+    Map<Long, Long> oldestByStore =
+        StoreOutboxEntry.getEntityManager()
+            .createQuery(
+                "select o.storeId, min(o.id) from StoreOutboxEntry o"
+                    + " where o.storeId in ?1 group by o.storeId",
+                Object[].class)
+            .setParameter(1, claimed.stream().map(e -> e.storeId).distinct().toList())
+            .getResultStream()
+            .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+    Map<Long, Long> oldestClaimed = new LinkedHashMap<>();
+    claimed.forEach(e -> oldestClaimed.putIfAbsent(e.storeId, e.id));
+    List<StoreOutboxEntry> entries =
+        claimed.stream()
+            .filter(e -> oldestClaimed.get(e.storeId).equals(oldestByStore.get(e.storeId)))
+            .toList();
+    if (entries.isEmpty()) {
+      return new Batch(List.of(), Map.of());
+    }
+    LocalDateTime leasedUntil = now.plus(lease);
+    for (StoreOutboxEntry entry : entries) {
+      entry.nextAttemptAt = leasedUntil;
+    }
+    List<Long> storeIds = entries.stream().map(e -> e.storeId).distinct().toList();
+    Map<Long, Store> stores =
+        Store.<Store>list("id in ?1", storeIds).stream()
+            .collect(Collectors.toMap(s -> s.id, Function.identity()));
+    return new Batch(entries, stores);
+  }
+
+  private int deliver(Batch batch) {
+    Map<Long, List<StoreOutboxEntry>> byStore = new LinkedHashMap<>();
+    for (StoreOutboxEntry entry : batch.entries) {
+      byStore.computeIfAbsent(entry.storeId, id -> new ArrayList<>()).add(entry);
+    }
+
+    List<Long> done = new ArrayList<>();
+    List<List<StoreOutboxEntry>> sent = new ArrayList<>();
+    Map<List<StoreOutboxEntry>, RuntimeException> failed = new LinkedHashMap<>();
+    byStore.forEach(
+        (storeId, entries) -> {
+          Store store = batch.stores.get(storeId);
+          try {
+            if (store == null) {
+              LOGGER.debugv("Store {0} no longer exists, outbox entries dropped", storeId);
+              entries.forEach(e -> done.add(e.id));
+              return;
+            }
+            if (entries.stream().anyMatch(e -> e.actionType == StoreEvent.ActionType.CREATED)) {
+              legacyStoreManagerGateway.createStoreOnLegacySystem(store);
+            } else {
+              legacyStoreManagerGateway.updateStoreOnLegacySystem(store);
+            }
+            sent.add(entries);
+          } catch (RuntimeException e) {
+            failed.put(entries, e);
+          }
+        });
+
+    // Group commit: one sync for the whole batch before its entries are removed
+    if (!sent.isEmpty()) {
+      try {
+        legacyStoreManagerGateway.flush();
+        sent.forEach(entries -> entries.forEach(e -> done.add(e.id)));
+      } catch (RuntimeException e) {
+        sent.forEach(entries -> failed.put(entries, e));
+      }
+    }
+
+    QuarkusTransaction.requiringNew()
+        .run(
+            () -> {
+              if (!done.isEmpty()) {
+                StoreOutboxEntry.delete("id in ?1", done);
+              }
+              failed.forEach(this::reschedule);
+            });
+    return done.size();
+  }
+
+  private void reschedule(List<StoreOutboxEntry> entries, RuntimeException error) {
+    int attempts = entries.stream().mapToInt(e -> e.attempts).max().orElse(0) + 1;
+    LocalDateTime nextAttemptAt;
+    if (attempts >= maxAttempts) {
+      nextAttemptAt = null;
+      LOGGER.errorv(
+          error,
+          "Store {0} not propagated to legacy system after {1} attempts, outbox entries parked",
+          entries.get(0).storeId,
+          attempts);
+    } else {
+      nextAttemptAt = LocalDateTime.now().plus(backoff(attempts));
+      LOGGER.warnv(
+          "Store {0} not propagated to legacy system (attempt {1}), retrying at {2}: {3}",
+          entries.get(0).storeId, attempts, nextAttemptAt, error.getMessage());
+    }
+    String message = String.valueOf(error.getMessage());
+    StoreOutboxEntry.update(
+        "attempts = ?1, nextAttemptAt = ?2, lastError = ?3 where id in ?4",
+        attempts,
+        nextAttemptAt,
+        message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message,
+        entries.stream().map(e -> e.id).toList());
+  }
+
+  /** Initial backoff doubled per failed attempt, capped at the maximum. */
+  Duration backoff(int attempts) {
+    int doublings = Math.min(attempts - 1, 30);
+    Duration delay = initialBackoff.multipliedBy(1L << doublings);
+    return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+  }
+
+  private record Batch(List<StoreOutboxEntry> entries, Map<Long, Store> stores) {}
+}
@@ -0,0 +1,53 @@
+package com.fulfilment.application.monolith.stores;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * A store change still to be propagated to the legacy system, written in the same transaction as
+ * the change itself so it survives a crash after commit. Carries only the store id and action: the
+ * dispatcher sends the store's state at delivery time, so several changes collapse into one call.
+ */
+@Entity
+@Table(
+    name = "store_outbox",
+    indexes = {
+      @Index(name = "idx_store_outbox_next_attempt", columnList = "nextAttemptAt, id"),
+      // the dispatcher's look for earlier entries of the same store
+      @Index(name = "idx_store_outbox_store", columnList = "storeId, id")
+    })
+public class StoreOutboxEntry extends PanacheEntity {
+
+  @Column(nullable = false)
+  public Long storeId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 16)
+  public StoreEvent.ActionType actionType;
+
+  @Column(nullable = false)
+  public LocalDateTime createdAt;
+
+  // when the entry is next due; null once it has used up all delivery attempts
+  public LocalDateTime nextAttemptAt;
+
+  public int attempts;
+
+  @Column(length = 500)
+  public String lastError;
+
+  public StoreOutboxEntry() {}
+
+  public StoreOutboxEntry(Long storeId, StoreEvent.ActionType actionType, LocalDateTime now) {
+    this.storeId = storeId;
+    this.actionType = actionType;
+    this.createdAt = now;
+    this.nextAttemptAt = now;
+  }
+}
@@ -1,10 +1,21 @@
 package com.fulfilment.application.monolith.stores;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fulfilment.application.monolith.concurrency.ConcurrentUpdateException;
+import com.fulfilment.application.monolith.concurrency.RetryOnConflict;
+import com.fulfilment.application.monolith.exception.UniqueConstraints;
+import com.fulfilment.application.monolith.rest.NameCursor;
+import com.fulfilment.application.monolith.rest.NdjsonOutput;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.panache.common.Sort;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
+import jakarta.persistence.PersistenceException;
 import jakarta.transaction.Transactional;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
 import jakarta.ws.rs.GET;
@@ -14,21 +25,67 @@ import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Path("store")
 @ApplicationScoped
 @Produces("application/json")
 @Consumes("application/json")
+@RunOnVirtualThread
 public class StoreResource {
 
+  static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+  private static final int MAX_PAGE_SIZE = 1000;
+
   @Inject Event<StoreEvent> storeEvent;
+  @Inject ObjectMapper objectMapper;
+
+  /**
+   * Lists stores by name. With {@code limit}, returns one keyset page in (name, id) order starting
+   * after the {@code after} cursor; if the page is full, the {@code X-Next-Cursor} header carries
+   * the cursor of the next page.
+   */
+  @GET
+  public Response get(
+      @QueryParam("after") String after,
+      @QueryParam("limit") @Min(1) @Max(MAX_PAGE_SIZE) Integer limit) {
+    if (limit == null) {
+      return Response.ok(Store.listAll(Sort.by("name"))).build();
+    }
+    List<Store> page = Store.listByName(NameCursor.decode(after), limit);
+    Response.ResponseBuilder response = Response.ok(page);
+    if (page.size() == limit) {
+      Store last = page.get(page.size() - 1);
+      response.header(NEXT_CURSOR_HEADER, new NameCursor(last.name, last.id).encode());
+    }
+    return response.build();
+  }
 
+  /**
+   * Exports every store as newline-delimited JSON in (name, id) order, written as rows come off a
+   * read-only database cursor.
+   */
   @GET
-  public List<Store> get() {
-    return Store.listAll(Sort.by("name"));
+  @Path("stream")
+  @Produces(NdjsonOutput.MEDIA_TYPE)
+  public Response stream() {
+    StreamingOutput body =
+        NdjsonOutput.<Store>of(
+            objectMapper,
+            writer ->
+                QuarkusTransaction.requiringNew()
+                    .run(
+                        () -> {
+                          try (Stream<Store> rows = Store.streamByName()) {
+                            rows.forEach(writer);
+                          }
+                        }));
+    return Response.ok(body, NdjsonOutput.MEDIA_TYPE).build();
   }
 
   @GET
@@ -53,15 +110,21 @@ public class StoreResource {
       throw new WebApplicationException(
           Response.status(422).entity("Store name is required.").build());
     }
-    if (Store.find("name", store.name).firstResult() != null) {
-      throw new WebApplicationException(
-          Response.status(409)
-              .entity("Store with name '" + store.name + "' already exists.")
-              .build());
+    // a new row starts at version 0, whatever the client sent
+    store.version = null;
+    // the unique constraint on name is the duplicate check: no lookup first, and no race
+    try {
+      store.persistAndFlush();
+    } catch (PersistenceException e) {
+      if (UniqueConstraints.isViolationOf(e, Store.NAME_CONSTRAINT)) {
+        throw new WebApplicationException(
+            Response.status(409)
+                .entity("Store with name '" + store.name + "' already exists.")
+                .build());
+      }
+      throw e;
     }
 
-    store.persist();
-
     storeEvent.fire(new StoreEvent(store, StoreEvent.ActionType.CREATED));
 
     return Response.ok(store).status(201).build();
@@ -69,6 +132,7 @@ public class StoreResource {
 
   @PUT
   @Path("{id}")
+  @RetryOnConflict
   @Transactional
   public Store update(@PathParam("id") Long id, Store updatedStore) {
     if (updatedStore.name == null) {
@@ -82,6 +146,7 @@ public class StoreResource {
       throw new WebApplicationException(
           Response.status(404).entity("Store with id of " + id + " does not exist.").build());
     }
+    checkVersion(id, updatedStore, entity);
 
     entity.name = updatedStore.name;
     entity.quantityProductsInStock = updatedStore.quantityProductsInStock;
@@ -93,6 +158,7 @@ public class StoreResource {
 
   @PATCH
   @Path("{id}")
+  @RetryOnConflict
   @Transactional
   public Store patch(@PathParam("id") Long id, Store updatedStore) {
     if (updatedStore.name == null) {
@@ -106,6 +172,7 @@ public class StoreResource {
       throw new WebApplicationException(
           Response.status(404).entity("Store with id of " + id + " does not exist.").build());
     }
+    checkVersion(id, updatedStore, entity);
 
     entity.name = updatedStore.name;
     entity.quantityProductsInStock = updatedStore.quantityProductsInStock;
@@ -115,6 +182,20 @@ public class StoreResource {
     return entity;
   }
 
+  /** A client that sends the version it read must still be updating that version. */
+  private static void checkVersion(Long id, Store updatedStore, Store entity) {
+    if (updatedStore.version != null && !updatedStore.version.equals(entity.version)) {
+      throw new ConcurrentUpdateException(
+          "Store with id of "
+              + id
+              + " was modified concurrently (version "
+              + updatedStore.version
+              + ", current "
+              + entity.version
+              + ").");
+    }
+  }
+
   @DELETE
   @Path("{id}")
   @Transactional
@@ -0,0 +1,26 @@
+package com.fulfilment.application.monolith.warehouses.adapters.database;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Active warehouse count and summed capacity per location, maintained by {@link
+ * WarehouseRepository} in the same transaction as each warehouse write. Only changed with atomic
+ * increments, never loaded as a managed entity, so it is not cached.
+ */
+@Entity
+@Table(name = "location_occupancy")
+public class DbLocationOccupancy {
+
+  @Id public String location;
+
+  @Column(nullable = false)
+  public long activeWarehouses;
+
+  @Column(nullable = false)
+  public long totalCapacity;
+
+  public DbLocationOccupancy() {}
+}
@@ -1,19 +1,34 @@
 package com.fulfilment.application.monolith.warehouses.adapters.database;
 
+import com.fulfilment.application.monolith.persistence.PooledLoSequence;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
 import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.time.LocalDateTime;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Table(name = "warehouse")
 @Cacheable
 public class DbWarehouse {
 
-  @Id @GeneratedValue public Long id;
+  /**
+   * Partial unique index on businessUnitCode over active rows (archivedAt is null), created in
+   * import.sql since it cannot be declared with JPA. Creates rely on it to reject duplicates.
+   */
+  public static final String ACTIVE_BU_CODE_CONSTRAINT = "uq_warehouse_active_bu_code";
+
+  /**
+   * Id sequence, drawn in blocks of {@code id.allocation-size.warehouse_seq} by ORM ({@link
+   * PooledLoSequence}) and one value per row by the reactive store.
+   */
+  public static final String SEQUENCE = "warehouse_seq";
+
+  @Id @PooledLoSequence(SEQUENCE) public Long id;
 
   public String businessUnitCode;
 
@@ -27,6 +42,12 @@ public class DbWarehouse {
 
   public LocalDateTime archivedAt;
 
+  // rows inserted with SQL (import.sql, the reactive store) start at 0
+  @Version
+  @ColumnDefault("0")
+  @Column(nullable = false)
+  public Long version;
+
   public DbWarehouse() {}
 
   public Warehouse toWarehouse() {
@@ -37,6 +58,7 @@ public class DbWarehouse {
     warehouse.stock = this.stock;
     warehouse.createdAt = this.createdAt;
     warehouse.archivedAt = this.archivedAt;
+    warehouse.version = this.version;
     return warehouse;
   }
 }
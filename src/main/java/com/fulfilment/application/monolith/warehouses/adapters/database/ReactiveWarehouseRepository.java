@@ -0,0 +1,360 @@
+package com.fulfilment.application.monolith.warehouses.adapters.database;
+
+import com.fulfilment.application.monolith.warehouses.domain.exceptions.DuplicateBusinessUnitCodeException;
+import com.fulfilment.application.monolith.warehouses.domain.models.LocationOccupancy;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseFilter;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ReactiveWarehouseStore;
+import io.micrometer.core.annotation.Timed;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.pgclient.PgPool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.RowSet;
+import io.vertx.mutiny.sqlclient.SqlClient;
+import io.vertx.mutiny.sqlclient.Tuple;
+import io.vertx.pgclient.PgException;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.OptimisticLockException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import org.jboss.logging.Logger;
+
+/**
+ * Non-blocking warehouse persistence on the reactive datasource (Vert.x PostgreSQL client). Same
+ * tables and semantics as {@link WarehouseRepository}: reads return only active warehouses, writes
+ * resolve the warehouse by business unit code, and each write adjusts the {@link
+ * DbLocationOccupancy} of the affected locations with the same atomic increments.
+ *
+ * <p>Writes bypass Hibernate ORM, so each committed transaction evicts {@link DbWarehouse} from the
+ * second-level cache; ORM readers (e.g. fulfilment) then see the new state.
+ */
+@ApplicationScoped
+@Timed(value = "repository.query", description = "Repository calls by class and method")
+public class ReactiveWarehouseRepository implements ReactiveWarehouseStore {
+
+  private static final Logger LOGGER =
+      Logger.getLogger(ReactiveWarehouseRepository.class.getName());
+
+  private static final String COLUMNS =
+      "businessUnitCode, location, capacity, stock, createdAt, archivedAt, version";
+
+  private final PgPool pool;
+  private final EntityManagerFactory entityManagerFactory;
+  private final Statements statements;
+
+  public ReactiveWarehouseRepository(PgPool pool, EntityManagerFactory entityManagerFactory) {
+    this.pool = pool;
+    this.entityManagerFactory = entityManagerFactory;
+    this.statements = new Statements(pool);
+  }
+
+  @Override
+  public Uni<List<Warehouse>> getAll() {
+    return statements.getAll();
+  }
+
+  @Override
+  public Uni<List<Warehouse>> findActive(WarehouseFilter filter, int limit) {
+    return statements.findActive(filter, limit);
+  }
+
+  @Override
+  public Uni<Void> create(Warehouse warehouse) {
+    return withTransaction(store -> store.create(warehouse));
+  }
+
+  @Override
+  public Uni<Void> update(Warehouse warehouse) {
+    return withTransaction(store -> store.update(warehouse));
+  }
+
+  @Override
+  public Uni<Warehouse> findActiveByBusinessUnitCode(String buCode) {
+    return statements.findActiveByBusinessUnitCode(buCode);
+  }
+
+  @Override
+  public Uni<Warehouse> getById(Long id) {
+    return statements.getById(id);
+  }
+
+  @Override
+  public Uni<LocationOccupancy> occupancyOf(String location) {
+    return statements.occupancyOf(location);
+  }
+
+  @Override
+  public <T> Uni<T> withTransaction(Function<ReactiveWarehouseStore, Uni<T>> work) {
+    return pool.withTransaction(connection -> work.apply(new Statements(connection)))
+        .invoke(() -> entityManagerFactory.getCache().evict(DbWarehouse.class));
+  }
+
+  /** Same duplicate check as {@link WarehouseRepository#create}: the partial unique index. */
+  private static boolean isDuplicateActiveBusinessUnitCode(Throwable failure) {
+    return failure instanceof PgException pg
+        && "23505".equals(pg.getSqlState())
+        && DbWarehouse.ACTIVE_BU_CODE_CONSTRAINT.equalsIgnoreCase(pg.getConstraint());
+  }
+
+  /** The store operations on one SQL client: the pool, or the connection of a transaction. */
+  private static final class Statements implements ReactiveWarehouseStore {
+
+    private final SqlClient client;
+
+    Statements(SqlClient client) {
+      this.client = client;
+    }
+
+    @Override
+    public Uni<List<Warehouse>> getAll() {
+      return client
+          .preparedQuery("select " + COLUMNS + " from warehouse where archivedAt is null")
+          .execute()
+          .map(Statements::toWarehouses);
+    }
+
+    @Override
+    public Uni<List<Warehouse>> findActive(WarehouseFilter filter, int limit) {
+      WarehouseListingCriteria criteria = WarehouseListingCriteria.sql(filter);
+      criteria.parameters.add(limit);
+      return client
+          .preparedQuery(
+              "select "
+                  + COLUMNS
+                  + " from warehouse w"
+                  + criteria.whereAndOrder
+                  + " limit $"
+                  + criteria.parameters.size())
+          .execute(Tuple.tuple(criteria.parameters))
+          .map(Statements::toWarehouses);
+    }
+
+    @Override
+    public Uni<Void> create(Warehouse warehouse) {
+      LOGGER.infov("Creating warehouse with business unit code: {0}", warehouse.businessUnitCode);
+      Uni<Void> occupancy =
+          warehouse.archivedAt == null
+              ? adjustOccupancy(warehouse.location, 1, warehouse.capacity)
+              : Uni.createFrom().voidItem();
+      // One nextval per row: under pooled-lo the value is the first id of a block no ORM node gets
+      return occupancy
+          .chain(
+              () ->
+                  client
+                      .preparedQuery(
+                          "insert into warehouse (id, "
+                              + COLUMNS
+                              + ") values (nextval('warehouse_seq'), $1, $2, $3, $4, $5, $6, $7)")
+                      .execute(
+                          Tuple.from(
+                              new Object[] {
+                                warehouse.businessUnitCode,
+                                warehouse.location,
+                                warehouse.capacity,
+                                warehouse.stock,
+                                warehouse.createdAt,
+                                warehouse.archivedAt,
+                                warehouse.version != null ? warehouse.version : 0L
+                              })))
+          .onFailure(ReactiveWarehouseRepository::isDuplicateActiveBusinessUnitCode)
+          .transform(e -> new DuplicateBusinessUnitCodeException(warehouse.businessUnitCode))
+          .replaceWithVoid();
+    }
+
+    /**
+     * Same row and version checks as {@link WarehouseRepository#update}, without a row lock: the
+     * update only applies to the version read, and the transaction fails with an {@link
+     * OptimisticLockException} (rolling back the occupancy changes) if another one changed it.
+     */
+    @Override
+    public Uni<Void> update(Warehouse warehouse) {
+      LOGGER.infov("Updating warehouse with business unit code: {0}", warehouse.businessUnitCode);
+      return client
+          .preparedQuery(
+              "select id, location, capacity, archivedAt, version from warehouse"
+                  + " where businessUnitCode = $1"
+                  + " order by archivedAt is null desc, id desc limit 1")
+          .execute(Tuple.of(warehouse.businessUnitCode))
+          .chain(
+              rows -> {
+                Row row = rows.size() == 0 ? null : rows.iterator().next();
+                if (warehouse.version != null
+                    && (row == null
+                        || row.getLocalDateTime(3) != null
+                        || !warehouse.version.equals(row.getLong(4)))) {
+                  return Uni.createFrom().failure(changedSinceRead(warehouse));
+                }
+                if (row == null) {
+                  LOGGER.warnv("Warehouse not found for update: {0}", warehouse.businessUnitCode);
+                  return Uni.createFrom().voidItem();
+                }
+                return adjustOccupancyForUpdate(row, warehouse)
+                    .chain(
+                        () ->
+                            client
+                                .preparedQuery(
+                                    "update warehouse set location = $3, capacity = $4,"
+                                        + " stock = $5, createdAt = $6, archivedAt = $7,"
+                                        + " version = version + 1"
+                                        + " where id = $1 and version = $2")
+                                .execute(
+                                    Tuple.from(
+                                        new Object[] {
+                                          row.getLong(0),
+                                          row.getLong(4),
+                                          warehouse.location,
+                                          warehouse.capacity,
+                                          warehouse.stock,
+                                          warehouse.createdAt,
+                                          warehouse.archivedAt
+                                        })))
+                    .chain(
+                        (RowSet<Row> updated) ->
+                            updated.rowCount() == 0
+                                ? Uni.createFrom().failure(changedSinceRead(warehouse))
+                                : Uni.createFrom().voidItem());
+              });
+    }
+
+    private static OptimisticLockException changedSinceRead(Warehouse warehouse) {
+      return new OptimisticLockException(
+          "Warehouse " + warehouse.businessUnitCode + " changed since it was read");
+    }
+
+    @Override
+    public Uni<Warehouse> findActiveByBusinessUnitCode(String buCode) {
+      LOGGER.infov("Finding active warehouse by business unit code: {0}", buCode);
+      return client
+          .preparedQuery(
+              "select "
+                  + COLUMNS
+                  + " from warehouse where businessUnitCode = $1 and archivedAt is null limit 1")
+          .execute(Tuple.of(buCode))
+          .map(Statements::firstWarehouse);
+    }
+
+    @Override
+    public Uni<Warehouse> getById(Long id) {
+      if (id == null) {
+        return Uni.createFrom().nullItem();
+      }
+      return client
+          .preparedQuery(
+              "select " + COLUMNS + " from warehouse where id = $1 and archivedAt is null")
+          .execute(Tuple.of(id))
+          .map(Statements::firstWarehouse);
+    }
+
+    @Override
+    public Uni<LocationOccupancy> occupancyOf(String location) {
+      return readOccupancy(location)
+          .chain(
+              occupancy ->
+                  occupancy != null
+                      ? Uni.createFrom().item(occupancy)
+                      : initOccupancy(location).chain(() -> readOccupancy(location)));
+    }
+
+    @Override
+    public <T> Uni<T> withTransaction(Function<ReactiveWarehouseStore, Uni<T>> work) {
+      return work.apply(this);
+    }
+
+    /** Same transitions as {@link WarehouseRepository#update}, from the current row as read. */
+    private Uni<Void> adjustOccupancyForUpdate(Row current, Warehouse warehouse) {
+      String location = current.getString(1);
+      int capacity = current.getInteger(2);
+      boolean wasActive = current.getLocalDateTime(3) == null;
+      boolean isActive = warehouse.archivedAt == null;
+      if (wasActive && isActive && Objects.equals(location, warehouse.location)) {
+        return adjustOccupancy(location, 0, warehouse.capacity - capacity);
+      }
+      Uni<Void> adjusted = Uni.createFrom().voidItem();
+      if (wasActive) {
+        adjusted = adjusted.chain(() -> adjustOccupancy(location, -1, -capacity));
+      }
+      if (isActive) {
+        adjusted = adjusted.chain(() -> adjustOccupancy(warehouse.location, 1, warehouse.capacity));
+      }
+      return adjusted;
+    }
+
+    private Uni<LocationOccupancy> readOccupancy(String location) {
+      return client
+          .preparedQuery(
+              "select activeWarehouses, totalCapacity from location_occupancy where location = $1")
+          .execute(Tuple.of(location))
+          .map(
+              rows -> {
+                if (rows.size() == 0) {
+                  return null;
+                }
+                Row row = rows.iterator().next();
+                return new LocationOccupancy(
+                    location, row.getLong(0), Math.toIntExact(row.getLong(1)));
+              });
+    }
+
+    /** Atomic in-place increment, initialising a missing row from the warehouse table first. */
+    private Uni<Void> adjustOccupancy(String location, long warehouses, long capacity) {
+      if (location == null || (warehouses == 0 && capacity == 0)) {
+        return Uni.createFrom().voidItem();
+      }
+      return incrementOccupancy(location, warehouses, capacity)
+          .chain(
+              updated ->
+                  updated > 0
+                      ? Uni.createFrom().voidItem()
+                      : initOccupancy(location)
+                          .chain(() -> incrementOccupancy(location, warehouses, capacity))
+                          .replaceWithVoid());
+    }
+
+    private Uni<Integer> incrementOccupancy(String location, long warehouses, long capacity) {
+      return client
+          .preparedQuery(
+              "update location_occupancy set activeWarehouses = activeWarehouses + $2,"
+                  + " totalCapacity = totalCapacity + $3 where location = $1")
+          .execute(Tuple.of(location, warehouses, capacity))
+          .map(RowSet::rowCount);
+    }
+
+    private Uni<Void> initOccupancy(String location) {
+      return client
+          .preparedQuery(
+              """
+              insert into location_occupancy (location, activeWarehouses, totalCapacity)
+              select $1, count(*), coalesce(sum(w.capacity), 0)
+              from warehouse w where w.location = $1 and w.archivedAt is null
+              on conflict (location) do nothing
+              """)
+          .execute(Tuple.of(location))
+          .replaceWithVoid();
+    }
+
+    private static List<Warehouse> toWarehouses(RowSet<Row> rows) {
+      List<Warehouse> warehouses = new ArrayList<>(rows.size());
+      rows.forEach(row -> warehouses.add(toWarehouse(row)));
+      return warehouses;
+    }
+
+    private static Warehouse firstWarehouse(RowSet<Row> rows) {
+      return rows.size() == 0 ? null : toWarehouse(rows.iterator().next());
+    }
+
+    private static Warehouse toWarehouse(Row row) {
+      var warehouse = new Warehouse();
+      warehouse.businessUnitCode = row.getString(0);
+      warehouse.location = row.getString(1);
+      warehouse.capacity = row.getInteger(2);
+      warehouse.stock = row.getInteger(3);
+      warehouse.createdAt = row.getLocalDateTime(4);
+      warehouse.archivedAt = row.getLocalDateTime(5);
+      warehouse.version = row.getLong(6);
+      return warehouse;
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package com.fulfilment.application.monolith.warehouses.adapters.database;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseFilter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * WHERE and ORDER BY of an active-warehouse listing, shared by {@link WarehouseRepository} (JPQL,
+ * {@code ?n} placeholders) and {@link ReactiveWarehouseRepository} (SQL, {@code $n}): over the
+ * alias {@code w}, field and column names are the same. Every criterion is a predicate served by
+ * the partial indexes on active warehouses in {@code import.sql}, which {@code
+ * WarehouseListingQueryPlanIT} checks per filter.
+ */
+final class WarehouseListingCriteria {
+
+  final String whereAndOrder;
+  final List<Object> parameters = new ArrayList<>();
+
+  private final StringBuilder sql = new StringBuilder(" where w.archivedAt is null");
+  private final String placeholder;
+
+  private WarehouseListingCriteria(WarehouseFilter filter, String placeholder) {
+    this.placeholder = placeholder;
+    add("w.location = ", filter.location);
+    if (filter.businessUnitCodePrefix != null) {
+      add("w.businessUnitCode like ", escapeLike(filter.businessUnitCodePrefix) + "%");
+      sql.append(" escape '\\'");
+    }
+    add("w.capacity >= ", filter.minCapacity);
+    add("w.capacity <= ", filter.maxCapacity);
+    add("w.stock >= ", filter.minStock);
+    add("w.stock <= ", filter.maxStock);
+    add("w.businessUnitCode > ", filter.after);
+    this.whereAndOrder = sql.append(" order by w.businessUnitCode").toString();
+  }
+
+  static WarehouseListingCriteria jpql(WarehouseFilter filter) {
+    return new WarehouseListingCriteria(filter, "?");
+  }
+
+  static WarehouseListingCriteria sql(WarehouseFilter filter) {
+    return new WarehouseListingCriteria(filter, "$");
+  }
+
+  private void add(String predicate, Object value) {
+    if (value == null) {
+      return;
+    }
+    parameters.add(value);
+    sql.append(" and ").append(predicate).append(placeholder).append(parameters.size());
+  }
+
+  private static String escapeLike(String value) {
+    return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+  }
+}
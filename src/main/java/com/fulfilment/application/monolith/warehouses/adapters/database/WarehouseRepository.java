@@ -1,54 +1,194 @@
 package com.fulfilment.application.monolith.warehouses.adapters.database;
 
+import com.fulfilment.application.monolith.exception.UniqueConstraints;
+import com.fulfilment.application.monolith.warehouses.domain.exceptions.DuplicateBusinessUnitCodeException;
+import com.fulfilment.application.monolith.warehouses.domain.models.LocationOccupancy;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseFilter;
 import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
+import io.micrometer.core.annotation.Timed;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.TypedQuery;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
 import org.jboss.logging.Logger;
 
 /**
  * Warehouse persistence. All read methods return only active warehouses (archivedAt is null). Write
- * operations (create, update, remove) resolve entities by id/businessUnitCode without filtering by
- * archivedAt so that archive/replace flows can update the same record.
+ * operations (create, update, remove) resolve entities by businessUnitCode without filtering by
+ * archivedAt so that archive/replace flows can update the same record; update prefers the active
+ * one. Each write also adjusts the {@link DbLocationOccupancy} of the affected locations in the
+ * same transaction.
+ *
+ * <p>Rows are versioned ({@link DbWarehouse#version}): an update of a warehouse read from this
+ * store fails with an {@link OptimisticLockException} when the row changed since it was read.
  */
 @ApplicationScoped
+@Timed(value = "repository.query", description = "Repository calls by class and method")
 public class WarehouseRepository implements WarehouseStore, PanacheRepository<DbWarehouse> {
 
   private static final Logger LOGGER = Logger.getLogger(WarehouseRepository.class.getName());
 
+  private static final int INSERT_BATCH_SIZE = 50;
+
+  /** Constructor projection of a warehouse row into the domain model, for read-only listings. */
+  static final String SELECT_WAREHOUSE =
+      "select new com.fulfilment.application.monolith.warehouses.domain.models.Warehouse("
+          + "w.businessUnitCode, w.location, w.capacity, w.stock, w.createdAt, w.archivedAt,"
+          + " w.version)"
+          + " from DbWarehouse w";
+
+  /**
+   * Selects active warehouses straight into the domain model (see {@link #SELECT_WAREHOUSE}),
+   * without loading managed entities: nothing enters the persistence context or the second-level
+   * cache, and nothing is dirty-checked at flush.
+   */
   @Override
   public List<Warehouse> getAll() {
-    return this.find("archivedAt is null").stream().map(DbWarehouse::toWarehouse).toList();
+    return getEntityManager()
+        .createQuery(SELECT_WAREHOUSE + " where w.archivedAt is null", Warehouse.class)
+        .getResultList();
   }
 
+  /** Projected like {@link #getAll()}, with the filter and keyset in SQL. */
+  @Override
+  public List<Warehouse> findActive(WarehouseFilter filter, int limit) {
+    WarehouseListingCriteria criteria = WarehouseListingCriteria.jpql(filter);
+    TypedQuery<Warehouse> query =
+        getEntityManager().createQuery(SELECT_WAREHOUSE + criteria.whereAndOrder, Warehouse.class);
+    for (int i = 0; i < criteria.parameters.size(); i++) {
+      query.setParameter(i + 1, criteria.parameters.get(i));
+    }
+    return query.setMaxResults(limit).getResultList();
+  }
+
+  /**
+   * Inserts right away, without looking for an active warehouse with the code first: the partial
+   * unique index ({@link DbWarehouse#ACTIVE_BU_CODE_CONSTRAINT}) rejects the duplicate, and the
+   * violation is reported as a {@link DuplicateBusinessUnitCodeException}.
+   */
   @Override
   public void create(Warehouse warehouse) {
     LOGGER.infov("Creating warehouse with business unit code: {0}", warehouse.businessUnitCode);
-    DbWarehouse entity = new DbWarehouse();
-    entity.businessUnitCode = warehouse.businessUnitCode;
-    entity.location = warehouse.location;
-    entity.capacity = warehouse.capacity;
-    entity.stock = warehouse.stock;
-    entity.createdAt = warehouse.createdAt;
-    entity.archivedAt = warehouse.archivedAt;
-    persist(entity);
+    DbWarehouse entity = toEntity(warehouse);
+    if (entity.archivedAt == null) {
+      adjustOccupancy(entity.location, 1, entity.capacity);
+    }
+    try {
+      persist(entity);
+      flush();
+    } catch (PersistenceException e) {
+      if (UniqueConstraints.isViolationOf(e, DbWarehouse.ACTIVE_BU_CODE_CONSTRAINT)) {
+        throw new DuplicateBusinessUnitCodeException(warehouse.businessUnitCode);
+      }
+      throw e;
+    }
   }
 
+  /**
+   * Inserts the warehouses with JDBC batching, adjusting the occupancy once per location. The
+   * persistence context is flushed and cleared after each batch so its size stays bounded. As in
+   * {@link #create}, an active duplicate (e.g. created concurrently since the caller checked) is
+   * rejected by the unique index and reported as a {@link DuplicateBusinessUnitCodeException}; the
+   * transaction can then only roll back.
+   */
+  @Override
+  public void createAll(List<Warehouse> warehouses) {
+    LOGGER.infov("Creating warehouses in bulk: count={0}", warehouses.size());
+    Map<String, long[]> occupancyDeltas = new HashMap<>();
+    for (Warehouse warehouse : warehouses) {
+      if (warehouse.archivedAt == null) {
+        long[] delta = occupancyDeltas.computeIfAbsent(warehouse.location, l -> new long[2]);
+        delta[0]++;
+        delta[1] += warehouse.capacity;
+      }
+    }
+    occupancyDeltas.forEach((location, delta) -> adjustOccupancy(location, delta[0], delta[1]));
+
+    Session session = getEntityManager().unwrap(Session.class);
+    Integer previousBatchSize = session.getJdbcBatchSize();
+    session.setJdbcBatchSize(INSERT_BATCH_SIZE);
+    List<String> batchCodes = new ArrayList<>(INSERT_BATCH_SIZE);
+    try {
+      for (int i = 0; i < warehouses.size(); i++) {
+        session.persist(toEntity(warehouses.get(i)));
+        batchCodes.add(warehouses.get(i).businessUnitCode);
+        if ((i + 1) % INSERT_BATCH_SIZE == 0) {
+          session.flush();
+          session.clear();
+          batchCodes.clear();
+        }
+      }
+      session.flush();
+      session.clear();
+    } catch (PersistenceException e) {
+      if (UniqueConstraints.isViolationOf(e, DbWarehouse.ACTIVE_BU_CODE_CONSTRAINT)) {
+        throw new DuplicateBusinessUnitCodeException(duplicateOf(e, batchCodes));
+      }
+      throw e;
+    } finally {
+      session.setJdbcBatchSize(previousBatchSize);
+    }
+  }
+
+  /**
+   * Updates the active row of the business unit code (the latest row if none is active). A
+   * warehouse read from this store carries the version it was read at: the row must still be active
+   * at that version, and the version is checked again when the update is flushed, before anything
+   * else the transaction writes.
+   */
   @Override
   public void update(Warehouse warehouse) {
     LOGGER.infov("Updating warehouse with business unit code: {0}", warehouse.businessUnitCode);
-    DbWarehouse entity = find("businessUnitCode", warehouse.businessUnitCode).firstResult();
+    DbWarehouse entity =
+        find(
+                "businessUnitCode = ?1"
+                    + " order by case when archivedAt is null then 0 else 1 end, id desc",
+                warehouse.businessUnitCode)
+            .firstResult();
+    if (warehouse.version != null
+        && (entity == null
+            || entity.archivedAt != null
+            || !warehouse.version.equals(entity.version))) {
+      throw new OptimisticLockException(
+          "Warehouse " + warehouse.businessUnitCode + " changed since it was read");
+    }
     if (entity == null) {
       LOGGER.warnv("Warehouse not found for update: {0}", warehouse.businessUnitCode);
       return;
     }
+    // Adjust before changing the entity: the occupancy may be initialised from the table
+    boolean wasActive = entity.archivedAt == null;
+    boolean isActive = warehouse.archivedAt == null;
+    if (wasActive && isActive && Objects.equals(entity.location, warehouse.location)) {
+      adjustOccupancy(entity.location, 0, warehouse.capacity - entity.capacity);
+    } else {
+      if (wasActive) {
+        adjustOccupancy(entity.location, -1, -entity.capacity);
+      }
+      if (isActive) {
+        adjustOccupancy(warehouse.location, 1, warehouse.capacity);
+      }
+    }
     entity.location = warehouse.location;
     entity.capacity = warehouse.capacity;
     entity.stock = warehouse.stock;
     entity.createdAt = warehouse.createdAt;
     entity.archivedAt = warehouse.archivedAt;
     persist(entity);
+    flush();
   }
 
   @Override
@@ -56,6 +196,9 @@ public class WarehouseRepository implements WarehouseStore, PanacheRepository<Db
     LOGGER.infov("Removing warehouse with business unit code: {0}", warehouse.businessUnitCode);
     DbWarehouse entity = find("businessUnitCode", warehouse.businessUnitCode).firstResult();
     if (entity != null) {
+      if (entity.archivedAt == null) {
+        adjustOccupancy(entity.location, -1, -entity.capacity);
+      }
       delete(entity);
     } else {
       LOGGER.warnv("Warehouse not found for removal: {0}", warehouse.businessUnitCode);
@@ -72,6 +215,25 @@ public class WarehouseRepository implements WarehouseStore, PanacheRepository<Db
     return entity.toWarehouse();
   }
 
+  @Override
+  public Set<String> findActiveBusinessUnitCodes(Collection<String> buCodes) {
+    if (buCodes.isEmpty()) {
+      return Set.of();
+    }
+    return new HashSet<>(
+        getEntityManager()
+            .createQuery(
+                "select w.businessUnitCode from DbWarehouse w"
+                    + " where w.businessUnitCode in ?1 and w.archivedAt is null",
+                String.class)
+            .setParameter(1, buCodes)
+            .getResultList());
+  }
+
+  /**
+   * Loaded by primary key rather than projected like {@link #getAll()}, so that repeated reads of
+   * one warehouse are served from the {@code DbWarehouse} second-level cache region.
+   */
   @Override
   public Warehouse getById(Long id) {
     if (id == null) {
@@ -85,11 +247,33 @@ public class WarehouseRepository implements WarehouseStore, PanacheRepository<Db
   }
 
   @Override
+  public LocationOccupancy occupancyOf(String location) {
+    Object[] row = readOccupancy(location);
+    if (row == null) {
+      initOccupancy(location);
+      row = readOccupancy(location);
+    }
+    return new LocationOccupancy(
+        location, ((Number) row[0]).longValue(), Math.toIntExact(((Number) row[1]).longValue()));
+  }
+
+  @Override
+  public Map<String, LocationOccupancy> occupancyByLocation(Collection<String> locations) {
+    Map<String, LocationOccupancy> occupancy = readOccupancies(locations);
+    if (occupancy.size() < locations.size()) {
+      List<String> missing = locations.stream().filter(l -> !occupancy.containsKey(l)).toList();
+      missing.forEach(this::initOccupancy);
+      occupancy.putAll(readOccupancies(missing));
+    }
+    return occupancy;
+  }
+
+  /** Counts active warehouses at the location from the warehouse table. */
   public long countActiveByLocation(String location) {
     return count("location = ?1 and archivedAt is null", location);
   }
 
-  @Override
+  /** Sums the capacity of active warehouses at the location from the warehouse table. */
   public int totalCapacityByLocation(String location) {
     Long sum =
         getEntityManager()
@@ -100,4 +284,120 @@ public class WarehouseRepository implements WarehouseStore, PanacheRepository<Db
             .getSingleResult();
     return sum != null ? sum.intValue() : 0;
   }
+
+  private Map<String, LocationOccupancy> readOccupancies(Collection<String> locations) {
+    Map<String, LocationOccupancy> occupancy = new HashMap<>();
+    if (locations.isEmpty()) {
+      return occupancy;
+    }
+    getEntityManager()
+        .createQuery(
+            "select o.location, o.activeWarehouses, o.totalCapacity from DbLocationOccupancy o"
+                + " where o.location in ?1",
+            Object[].class)
+        .setParameter(1, locations)
+        .getResultList()
+        .forEach(
+            row ->
+                occupancy.put(
+                    (String) row[0],
+                    new LocationOccupancy(
+                        (String) row[0],
+                        ((Number) row[1]).longValue(),
+                        Math.toIntExact(((Number) row[2]).longValue()))));
+    return occupancy;
+  }
+
+  private Object[] readOccupancy(String location) {
+    List<Object[]> rows =
+        getEntityManager()
+            .createQuery(
+                "select o.activeWarehouses, o.totalCapacity from DbLocationOccupancy o"
+                    + " where o.location = ?1",
+                Object[].class)
+            .setParameter(1, location)
+            .getResultList();
+    return rows.isEmpty() ? null : rows.get(0);
+  }
+
+  /**
+   * Adds to the occupancy of a location with an atomic in-place increment, so concurrent writers at
+   * the same location do not lose updates. Must run before the warehouse change reaches the
+   * session, as a missing row is initialised from the warehouse table.
+   */
+  private void adjustOccupancy(String location, long warehouses, long capacity) {
+    if (location == null || (warehouses == 0 && capacity == 0)) {
+      return;
+    }
+    if (incrementOccupancy(location, warehouses, capacity) == 0) {
+      initOccupancy(location);
+      incrementOccupancy(location, warehouses, capacity);
+    }
+  }
+
+  /**
+   * The code of the batch that PostgreSQL names in the violation detail ({@code Key
+   * (businessunitcode)=(...)}), or all codes of the batch if none is named.
+   */
+  private static String duplicateOf(Throwable failure, List<String> batchCodes) {
+    for (Throwable t = failure; t != null; t = t.getCause()) {
+      List<Throwable> candidates = new ArrayList<>(List.of(t));
+      if (t instanceof SQLException sql && sql.getNextException() != null) {
+        candidates.add(sql.getNextException());
+      }
+      for (Throwable candidate : candidates) {
+        String message = candidate.getMessage();
+        for (String code : batchCodes) {
+          if (message != null && message.contains("=(" + code + ")")) {
+            return code;
+          }
+        }
+      }
+      if (t.getCause() == t) {
+        break;
+      }
+    }
+    return String.join(", ", batchCodes);
+  }
+
+  private static DbWarehouse toEntity(Warehouse warehouse) {
+    DbWarehouse entity = new DbWarehouse();
+    entity.businessUnitCode = warehouse.businessUnitCode;
+    entity.location = warehouse.location;
+    entity.capacity = warehouse.capacity;
+    entity.stock = warehouse.stock;
+    entity.createdAt = warehouse.createdAt;
+    entity.archivedAt = warehouse.archivedAt;
+    // null: Hibernate starts at 0; set: continues the version of a replaced warehouse
+    entity.version = warehouse.version;
+    return entity;
+  }
+
+  private int incrementOccupancy(String location, long warehouses, long capacity) {
+    return getEntityManager()
+        .createQuery(
+            "update DbLocationOccupancy o set o.activeWarehouses = o.activeWarehouses + ?2,"
+                + " o.totalCapacity = o.totalCapacity + ?3 where o.location = ?1")
+        .setParameter(1, location)
+        .setParameter(2, warehouses)
+        .setParameter(3, capacity)
+        .executeUpdate();
+  }
+
+  /** Creates the occupancy row of a location from the warehouse table, unless it exists. */
+  private void initOccupancy(String location) {
+    getEntityManager()
+        .createNativeQuery(
+            """
+            insert into location_occupancy (location, activeWarehouses, totalCapacity)
+            select ?1, count(*), coalesce(sum(w.capacity), 0)
+            from warehouse w where w.location = ?1 and w.archivedAt is null
+            on conflict (location) do nothing
+            """)
+        .unwrap(NativeQuery.class)
+        .addSynchronizedEntityClass(DbWarehouse.class)
+        .addSynchronizedEntityClass(DbLocationOccupancy.class)
+        .setParameter(1, location)
+        .executeUpdate();
+  }
 }
@@ -0,0 +1,167 @@
+package com.fulfilment.application.monolith.warehouses.adapters.restapi;
+
+import static com.fulfilment.application.monolith.warehouses.adapters.restapi.WarehouseResourceImpl.NEXT_CURSOR_HEADER;
+import static com.fulfilment.application.monolith.warehouses.adapters.restapi.WarehouseResourceImpl.nextCursor;
+import static com.fulfilment.application.monolith.warehouses.adapters.restapi.WarehouseResourceImpl.parseWarehouseId;
+import static com.fulfilment.application.monolith.warehouses.adapters.restapi.WarehouseResourceImpl.toDomainModel;
+import static com.fulfilment.application.monolith.warehouses.adapters.restapi.WarehouseResourceImpl.toFilter;
+import static com.fulfilment.application.monolith.warehouses.adapters.restapi.WarehouseResourceImpl.toWarehouseResponse;
+
+import com.fulfilment.application.monolith.concurrency.RetryOnConflict;
+import com.fulfilment.application.monolith.warehouses.domain.exceptions.WarehouseNotFoundException;
+import com.fulfilment.application.monolith.warehouses.domain.ports.CreateWarehouseOperation;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ReactiveArchiveWarehouseOperation;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ReactiveCreateWarehouseOperation;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ReactiveReplaceWarehouseOperation;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ReactiveWarehouseStore;
+import com.warehouse.api.beans.Warehouse;
+import com.warehouse.api.beans.WarehouseBulkResult;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.common.annotation.Blocking;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Response;
+import java.util.List;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * The /warehouse endpoints of {@code warehouse-openapi.yaml} on the non-blocking store, built
+ * instead of {@link WarehouseResourceImpl} with {@code warehouse.store=reactive}. The endpoints run
+ * on the I/O thread and return {@link Uni}; the generated interface cannot be implemented as its
+ * methods return plain values. Bulk create stays on the blocking store, in one ORM transaction.
+ */
+@Path("/warehouse")
+@IfBuildProperty(name = "warehouse.store", stringValue = "reactive")
+public class ReactiveWarehouseResource {
+
+  private static final Logger LOGGER = Logger.getLogger(ReactiveWarehouseResource.class.getName());
+
+  @Inject ReactiveWarehouseStore warehouseStore;
+
+  @Inject ReactiveCreateWarehouseOperation createWarehouseOperation;
+
+  @Inject ReactiveReplaceWarehouseOperation replaceWarehouseOperation;
+
+  @Inject ReactiveArchiveWarehouseOperation archiveWarehouseOperation;
+
+  @Inject CreateWarehouseOperation bulkCreateWarehouseOperation;
+
+  @ConfigProperty(name = "warehouse.bulk.max-size", defaultValue = "1000")
+  int maxBulkSize;
+
+  @GET
+  @Produces("application/json")
+  public Uni<Response> listAllWarehousesUnits(
+      @QueryParam("location") String location,
+      @QueryParam("businessUnitCodePrefix") String businessUnitCodePrefix,
+      @QueryParam("minCapacity") @Min(0) Integer minCapacity,
+      @QueryParam("maxCapacity") @Min(0) Integer maxCapacity,
+      @QueryParam("minStock") @Min(0) Integer minStock,
+      @QueryParam("maxStock") @Min(0) Integer maxStock,
+      @QueryParam("after") String after,
+      @QueryParam("limit") @Min(1) @Max(1000) Integer limit) {
+    var filter =
+        toFilter(
+            location, businessUnitCodePrefix, minCapacity, maxCapacity, minStock, maxStock, after);
+    var warehouses =
+        filter.isEmpty() && limit == null
+            ? warehouseStore.getAll()
+            : warehouseStore.findActive(filter, limit != null ? limit : Integer.MAX_VALUE);
+    return warehouses.map(
+        page -> {
+          var response =
+              Response.ok(page.stream().map(WarehouseResourceImpl::toWarehouseResponse).toList());
+          String nextCursor = nextCursor(page, limit);
+          if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+          }
+          return response.build();
+        });
+  }
+
+  @POST
+  @Produces("application/json")
+  @Consumes("application/json")
+  public Uni<Warehouse> createANewWarehouseUnit(@NotNull Warehouse data) {
+    LOGGER.infov(
+        "Creating warehouse unit: buCode={0}, location={1}",
+        data.getBusinessUnitCode(), data.getLocation());
+
+    var warehouse = toDomainModel(data);
+    return createWarehouseOperation
+        .create(warehouse)
+        .map(ignored -> toWarehouseResponse(warehouse));
+  }
+
+  @Path("/bulk")
+  @POST
+  @Produces("application/json")
+  @Consumes("application/json")
+  @Blocking
+  @Transactional
+  public WarehouseBulkResult createWarehouseUnitsInBulk(@NotNull List<Warehouse> data) {
+    return WarehouseResourceImpl.createInBulk(bulkCreateWarehouseOperation, maxBulkSize, data);
+  }
+
+  @Path("/{id}")
+  @GET
+  @Produces("application/json")
+  public Uni<Warehouse> getAWarehouseUnitByID(@PathParam("id") String id) {
+    Long warehouseId = parseWarehouseId(id);
+    return warehouseStore
+        .getById(warehouseId)
+        .map(
+            warehouse -> {
+              if (warehouse == null) {
+                throw new WarehouseNotFoundException(warehouseId);
+              }
+              return toWarehouseResponse(warehouse);
+            });
+  }
+
+  @Path("/{id}")
+  @DELETE
+  @RetryOnConflict
+  public Uni<Void> archiveAWarehouseUnitByID(@PathParam("id") String id) {
+    Long warehouseId = parseWarehouseId(id);
+    return warehouseStore
+        .getById(warehouseId)
+        .chain(
+            warehouse -> {
+              if (warehouse == null) {
+                throw new WarehouseNotFoundException(warehouseId);
+              }
+              return archiveWarehouseOperation.archive(warehouse);
+            });
+  }
+
+  @Path("/{businessUnitCode}/replacement")
+  @POST
+  @Produces("application/json")
+  @Consumes("application/json")
+  @RetryOnConflict
+  public Uni<Warehouse> replaceTheCurrentActiveWarehouse(
+      @PathParam("businessUnitCode") String businessUnitCode, @NotNull Warehouse data) {
+    LOGGER.infov(
+        "Replacing warehouse: buCode={0}, location={1}", businessUnitCode, data.getLocation());
+
+    var newWarehouse = toDomainModel(data);
+    newWarehouse.businessUnitCode = businessUnitCode;
+    return replaceWarehouseOperation
+        .replace(newWarehouse)
+        .map(ignored -> toWarehouseResponse(newWarehouse));
+  }
+}
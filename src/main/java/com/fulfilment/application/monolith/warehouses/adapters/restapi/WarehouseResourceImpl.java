@@ -1,24 +1,41 @@
 package com.fulfilment.application.monolith.warehouses.adapters.restapi;
 
+import com.fulfilment.application.monolith.concurrency.RetryOnConflict;
 import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseRepository;
+import com.fulfilment.application.monolith.warehouses.domain.exceptions.InvalidWarehouseException;
 import com.fulfilment.application.monolith.warehouses.domain.exceptions.WarehouseNotFoundException;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseFilter;
 import com.fulfilment.application.monolith.warehouses.domain.ports.ArchiveWarehouseOperation;
 import com.fulfilment.application.monolith.warehouses.domain.ports.CreateWarehouseOperation;
 import com.fulfilment.application.monolith.warehouses.domain.ports.ReplaceWarehouseOperation;
 import com.warehouse.api.WarehouseResource;
 import com.warehouse.api.beans.Warehouse;
+import com.warehouse.api.beans.WarehouseBulkItemResult;
+import com.warehouse.api.beans.WarehouseBulkResult;
+import io.quarkus.arc.properties.UnlessBuildProperty;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import io.vertx.core.http.HttpServerResponse;
 import jakarta.enterprise.context.RequestScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.validation.constraints.NotNull;
+import java.util.ArrayList;
 import java.util.List;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
+/**
+ * The /warehouse endpoints on the blocking store; replaced by {@link ReactiveWarehouseResource}.
+ */
 @RequestScoped
+@UnlessBuildProperty(name = "warehouse.store", stringValue = "reactive", enableIfMissing = true)
+@RunOnVirtualThread
 public class WarehouseResourceImpl implements WarehouseResource {
 
   private static final Logger LOGGER = Logger.getLogger(WarehouseResourceImpl.class.getName());
 
+  static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
   @Inject private WarehouseRepository warehouseRepository;
 
   @Inject private CreateWarehouseOperation createWarehouseOperation;
@@ -27,9 +44,69 @@ public class WarehouseResourceImpl implements WarehouseResource {
 
   @Inject private ArchiveWarehouseOperation archiveWarehouseOperation;
 
+  @Inject HttpServerResponse httpResponse;
+
+  @ConfigProperty(name = "warehouse.bulk.max-size", defaultValue = "1000")
+  int maxBulkSize;
+
+  /**
+   * Without parameters, every active warehouse. Otherwise the filtered warehouses in business unit
+   * code order; with {@code limit}, one keyset page, and the {@code X-Next-Cursor} header when it
+   * is full.
+   */
   @Override
-  public List<Warehouse> listAllWarehousesUnits() {
-    return warehouseRepository.getAll().stream().map(this::toWarehouseResponse).toList();
+  public List<Warehouse> listAllWarehousesUnits(
+      String location,
+      String businessUnitCodePrefix,
+      Integer minCapacity,
+      Integer maxCapacity,
+      Integer minStock,
+      Integer maxStock,
+      String after,
+      Integer limit) {
+    var filter =
+        toFilter(
+            location, businessUnitCodePrefix, minCapacity, maxCapacity, minStock, maxStock, after);
+    if (filter.isEmpty() && limit == null) {
+      return warehouseRepository.getAll().stream()
+          .map(WarehouseResourceImpl::toWarehouseResponse)
+          .toList();
+    }
+    var page = warehouseRepository.findActive(filter, limit != null ? limit : Integer.MAX_VALUE);
+    String nextCursor = nextCursor(page, limit);
+    if (nextCursor != null) {
+      httpResponse.putHeader(NEXT_CURSOR_HEADER, nextCursor);
+    }
+    return page.stream().map(WarehouseResourceImpl::toWarehouseResponse).toList();
+  }
+
+  static WarehouseFilter toFilter(
+      String location,
+      String businessUnitCodePrefix,
+      Integer minCapacity,
+      Integer maxCapacity,
+      Integer minStock,
+      Integer maxStock,
+      String after) {
+    var filter = new WarehouseFilter();
+    filter.location = location;
+    filter.businessUnitCodePrefix = businessUnitCodePrefix;
+    filter.minCapacity = minCapacity;
+    filter.maxCapacity = maxCapacity;
+    filter.minStock = minStock;
+    filter.maxStock = maxStock;
+    filter.after = after;
+    return filter;
+  }
+
+  /** The {@code after} value of the next page, or null when the page is not full. */
+  static String nextCursor(
+      List<com.fulfilment.application.monolith.warehouses.domain.models.Warehouse> page,
+      Integer limit) {
+    if (limit == null || page.size() < limit) {
+      return null;
+    }
+    return page.get(page.size() - 1).businessUnitCode;
   }
 
   @Override
@@ -45,6 +122,48 @@ public class WarehouseResourceImpl implements WarehouseResource {
     return toWarehouseResponse(warehouse);
   }
 
+  @Override
+  @Transactional
+  public WarehouseBulkResult createWarehouseUnitsInBulk(@NotNull List<Warehouse> data) {
+    return createInBulk(createWarehouseOperation, maxBulkSize, data);
+  }
+
+  /** Shared by {@link ReactiveWarehouseResource}, which keeps the bulk create blocking. */
+  static WarehouseBulkResult createInBulk(
+      CreateWarehouseOperation createWarehouseOperation, int maxBulkSize, List<Warehouse> data) {
+    if (data.size() > maxBulkSize) {
+      throw new InvalidWarehouseException(
+          "Bulk request can contain at most " + maxBulkSize + " warehouses");
+    }
+    LOGGER.infov("Creating warehouse units in bulk: count={0}", data.size());
+
+    var warehouses = data.stream().map(item -> item != null ? toDomainModel(item) : null).toList();
+    var results = createWarehouseOperation.createAll(warehouses);
+
+    var response = new WarehouseBulkResult();
+    var items = new ArrayList<WarehouseBulkItemResult>(results.size());
+    int created = 0;
+    for (int i = 0; i < results.size(); i++) {
+      var result = results.get(i);
+      var item = new WarehouseBulkItemResult();
+      item.setIndex(i);
+      item.setBusinessUnitCode(data.get(i) != null ? data.get(i).getBusinessUnitCode() : null);
+      if (result.isCreated()) {
+        item.setStatus(WarehouseBulkItemResult.Status.CREATED);
+        created++;
+      } else {
+        item.setStatus(WarehouseBulkItemResult.Status.REJECTED);
+        item.setErrorCode(result.errorCode);
+        item.setMessage(result.message);
+      }
+      items.add(item);
+    }
+    response.setCreated(created);
+    response.setRejected(results.size() - created);
+    response.setItems(items);
+    return response;
+  }
+
   @Override
   public Warehouse getAWarehouseUnitByID(String id) {
     Long warehouseId = parseWarehouseId(id);
@@ -56,6 +175,7 @@ public class WarehouseResourceImpl implements WarehouseResource {
   }
 
   @Override
+  @RetryOnConflict
   @Transactional
   public void archiveAWarehouseUnitByID(String id) {
     Long warehouseId = parseWarehouseId(id);
@@ -66,7 +186,7 @@ public class WarehouseResourceImpl implements WarehouseResource {
     archiveWarehouseOperation.archive(warehouse);
   }
 
-  private static Long parseWarehouseId(String id) {
+  static Long parseWarehouseId(String id) {
     try {
       return Long.parseLong(id);
     } catch (NumberFormatException e) {
@@ -75,6 +195,7 @@ public class WarehouseResourceImpl implements WarehouseResource {
   }
 
   @Override
+  @RetryOnConflict
   @Transactional
   public Warehouse replaceTheCurrentActiveWarehouse(
       String businessUnitCode, @NotNull Warehouse data) {
@@ -89,7 +210,7 @@ public class WarehouseResourceImpl implements WarehouseResource {
     return toWarehouseResponse(newWarehouse);
   }
 
-  private com.fulfilment.application.monolith.warehouses.domain.models.Warehouse toDomainModel(
+  static com.fulfilment.application.monolith.warehouses.domain.models.Warehouse toDomainModel(
       Warehouse data) {
     var warehouse = new com.fulfilment.application.monolith.warehouses.domain.models.Warehouse();
     warehouse.businessUnitCode = data.getBusinessUnitCode();
@@ -99,7 +220,7 @@ public class WarehouseResourceImpl implements WarehouseResource {
     return warehouse;
   }
 
-  private Warehouse toWarehouseResponse(
+  static Warehouse toWarehouseResponse(
       com.fulfilment.application.monolith.warehouses.domain.models.Warehouse warehouse) {
     var response = new Warehouse();
     response.setBusinessUnitCode(warehouse.businessUnitCode);
@@ -0,0 +1,17 @@
+package com.fulfilment.application.monolith.warehouses.domain.models;
+
+public class LocationOccupancy {
+  public String location;
+
+  // number of active (not archived) warehouses at this location
+  public long activeWarehouses;
+
+  // sum of the capacities of the active warehouses at this location
+  public int totalCapacity;
+
+  public LocationOccupancy(String location, long activeWarehouses, int totalCapacity) {
+    this.location = location;
+    this.activeWarehouses = activeWarehouses;
+    this.totalCapacity = totalCapacity;
+  }
+}
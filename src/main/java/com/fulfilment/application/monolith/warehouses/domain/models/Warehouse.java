@@ -16,4 +16,28 @@ public class Warehouse {
   public LocalDateTime createdAt;
 
   public LocalDateTime archivedAt;
+
+  // optimistic lock version as read from the store; null for warehouses not read from it. A
+  // replacement continues the version of the warehouse it archives.
+  public Long version;
+
+  public Warehouse() {}
+
+  // all fields; used by persistence adapters to project query results directly into the model
+  public Warehouse(
+      String businessUnitCode,
+      String location,
+      Integer capacity,
+      Integer stock,
+      LocalDateTime createdAt,
+      LocalDateTime archivedAt,
+      Long version) {
+    this.businessUnitCode = businessUnitCode;
+    this.location = location;
+    this.capacity = capacity;
+    this.stock = stock;
+    this.createdAt = createdAt;
+    this.archivedAt = archivedAt;
+    this.version = version;
+  }
 }
@@ -0,0 +1,30 @@
+package com.fulfilment.application.monolith.warehouses.domain.models;
+
+import com.fulfilment.application.monolith.exception.BusinessException;
+
+/** Outcome of one warehouse of a bulk create: created, or rejected with the violated rule. */
+public class WarehouseCreationResult {
+  public Warehouse warehouse;
+
+  // error code and message of the violated rule; null when the warehouse was created
+  public String errorCode;
+  public String message;
+
+  private WarehouseCreationResult(Warehouse warehouse, String errorCode, String message) {
+    this.warehouse = warehouse;
+    this.errorCode = errorCode;
+    this.message = message;
+  }
+
+  public static WarehouseCreationResult created(Warehouse warehouse) {
+    return new WarehouseCreationResult(warehouse, null, null);
+  }
+
+  public static WarehouseCreationResult rejected(Warehouse warehouse, BusinessException reason) {
+    return new WarehouseCreationResult(warehouse, reason.getErrorCode(), reason.getMessage());
+  }
+
+  public boolean isCreated() {
+    return errorCode == null;
+  }
+}
@@ -0,0 +1,27 @@
+package com.fulfilment.application.monolith.warehouses.domain.models;
+
+/** Criteria of an active-warehouse listing; null fields do not filter. */
+public class WarehouseFilter {
+  public String location;
+
+  public String businessUnitCodePrefix;
+
+  // inclusive ranges
+  public Integer minCapacity;
+  public Integer maxCapacity;
+  public Integer minStock;
+  public Integer maxStock;
+
+  // keyset cursor: business unit code of the last warehouse of the previous page
+  public String after;
+
+  public boolean isEmpty() {
+    return location == null
+        && businessUnitCodePrefix == null
+        && minCapacity == null
+        && maxCapacity == null
+        && minStock == null
+        && maxStock == null
+        && after == null;
+  }
+}
@@ -1,7 +1,17 @@
 package com.fulfilment.application.monolith.warehouses.domain.ports;
 
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseCreationResult;
+import java.util.List;
 
 public interface CreateWarehouseOperation {
   void create(Warehouse warehouse);
+
+  /**
+   * Creates the valid warehouses among {@code warehouses} and rejects the others, applying the same
+   * rules as {@link #create} in list order.
+   *
+   * @return one result per input warehouse, in the same order
+   */
+  List<WarehouseCreationResult> createAll(List<Warehouse> warehouses);
 }
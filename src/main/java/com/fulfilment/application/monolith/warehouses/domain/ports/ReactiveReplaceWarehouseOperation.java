@@ -0,0 +1,9 @@
+package com.fulfilment.application.monolith.warehouses.domain.ports;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import io.smallrye.mutiny.Uni;
+
+/** Non-blocking {@link ReplaceWarehouseOperation}: same rules, runs in its own transaction. */
+public interface ReactiveReplaceWarehouseOperation {
+  Uni<Void> replace(Warehouse warehouse);
+}
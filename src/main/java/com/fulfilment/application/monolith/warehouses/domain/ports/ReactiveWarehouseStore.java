@@ -0,0 +1,39 @@
+package com.fulfilment.application.monolith.warehouses.domain.ports;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.LocationOccupancy;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseFilter;
+import io.smallrye.mutiny.Uni;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Non-blocking counterpart of {@link WarehouseStore}, with the same semantics for each method. The
+ * operations of one use case run through {@link #withTransaction}.
+ */
+public interface ReactiveWarehouseStore {
+
+  Uni<List<Warehouse>> getAll();
+
+  Uni<List<Warehouse>> findActive(WarehouseFilter filter, int limit);
+
+  Uni<Void> create(Warehouse warehouse);
+
+  Uni<Void> update(Warehouse warehouse);
+
+  /** Emits {@code null} when there is no active warehouse with the code. */
+  Uni<Warehouse> findActiveByBusinessUnitCode(String buCode);
+
+  /** Emits {@code null} when there is no active warehouse with the id. */
+  Uni<Warehouse> getById(Long id);
+
+  /** Number of active warehouses and their summed capacity at the location, in one read. */
+  Uni<LocationOccupancy> occupancyOf(String location);
+
+  /**
+   * Runs {@code work} in one transaction, passing it a store bound to that transaction. Commits
+   * when the returned {@link Uni} succeeds and rolls back when it fails. Nested calls join the
+   * outer transaction.
+   */
+  <T> Uni<T> withTransaction(Function<ReactiveWarehouseStore, Uni<T>> work);
+}
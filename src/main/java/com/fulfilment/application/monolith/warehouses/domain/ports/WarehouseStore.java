@@ -1,23 +1,49 @@
 package com.fulfilment.application.monolith.warehouses.domain.ports;
 
+import com.fulfilment.application.monolith.warehouses.domain.models.LocationOccupancy;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseFilter;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public interface WarehouseStore {
 
   List<Warehouse> getAll();
 
+  /**
+   * Active warehouses matching {@code filter} with a business unit code after {@code filter.after},
+   * in business unit code order; at most {@code limit} of them.
+   */
+  List<Warehouse> findActive(WarehouseFilter filter, int limit);
+
+  /**
+   * Inserts the warehouse; fails with a {@code DuplicateBusinessUnitCodeException} when it is
+   * active and an active warehouse already has its business unit code.
+   */
   void create(Warehouse warehouse);
 
+  /**
+   * Creates all warehouses, inserting them in batches; fails with a {@code
+   * DuplicateBusinessUnitCodeException} when one of them is active and its code is already taken.
+   */
+  void createAll(List<Warehouse> warehouses);
+
   void update(Warehouse warehouse);
 
   void remove(Warehouse warehouse);
 
   Warehouse findActiveByBusinessUnitCode(String buCode);
 
+  /** Returns the codes among {@code buCodes} that belong to an active warehouse, in one read. */
+  Set<String> findActiveBusinessUnitCodes(Collection<String> buCodes);
+
   Warehouse getById(Long id);
 
-  long countActiveByLocation(String location);
+  /** Number of active warehouses and their summed capacity at the location, in one read. */
+  LocationOccupancy occupancyOf(String location);
 
-  int totalCapacityByLocation(String location);
+  /** Occupancy of each of the locations, keyed by location, in one read. */
+  Map<String, LocationOccupancy> occupancyByLocation(Collection<String> locations);
 }
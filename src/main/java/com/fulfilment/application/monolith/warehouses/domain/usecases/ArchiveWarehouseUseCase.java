@@ -4,6 +4,7 @@ import com.fulfilment.application.monolith.warehouses.domain.exceptions.Warehous
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
 import com.fulfilment.application.monolith.warehouses.domain.ports.ArchiveWarehouseOperation;
 import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
+import io.micrometer.core.annotation.Timed;
 import jakarta.enterprise.context.ApplicationScoped;
 import java.time.LocalDateTime;
 import org.jboss.logging.Logger;
@@ -20,6 +21,7 @@ public class ArchiveWarehouseUseCase implements ArchiveWarehouseOperation {
   }
 
   @Override
+  @Timed(value = "warehouse.archive", histogram = true, description = "Archive warehouse use case")
   public void archive(Warehouse warehouse) {
     // Caller must pass a non-null warehouse with businessUnitCode (e.g. loaded by id)
     if (warehouse.businessUnitCode == null || warehouse.businessUnitCode.isBlank()) {
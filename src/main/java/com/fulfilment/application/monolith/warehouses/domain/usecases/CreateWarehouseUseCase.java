@@ -1,16 +1,28 @@
 package com.fulfilment.application.monolith.warehouses.domain.usecases;
 
+import com.fulfilment.application.monolith.exception.BusinessException;
 import com.fulfilment.application.monolith.warehouses.domain.exceptions.CapacityExceededException;
 import com.fulfilment.application.monolith.warehouses.domain.exceptions.DuplicateBusinessUnitCodeException;
+import com.fulfilment.application.monolith.warehouses.domain.exceptions.InvalidWarehouseException;
 import com.fulfilment.application.monolith.warehouses.domain.exceptions.MaxWarehousesReachedException;
 import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.models.LocationOccupancy;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseCreationResult;
 import com.fulfilment.application.monolith.warehouses.domain.ports.CreateWarehouseOperation;
 import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
 import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
 import com.fulfilment.application.monolith.warehouses.domain.validators.WarehouseValidator;
+import io.micrometer.core.annotation.Timed;
 import jakarta.enterprise.context.ApplicationScoped;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.jboss.logging.Logger;
 
 @ApplicationScoped
@@ -32,6 +44,7 @@ public class CreateWarehouseUseCase implements CreateWarehouseOperation {
   }
 
   @Override
+  @Timed(value = "warehouse.create", histogram = true, description = "Create warehouse use case")
   public void create(Warehouse warehouse) {
     LOGGER.infov(
         "Creating warehouse: buCode={0}, location={1}, capacity={2}, stock={3}",
@@ -39,25 +52,127 @@ public class CreateWarehouseUseCase implements CreateWarehouseOperation {
 
     warehouseValidator.validateRequiredFields(warehouse);
 
-    // Business Unit Code Verification: must not already exist (assignment constraint)
-    Warehouse existing = warehouseStore.findActiveByBusinessUnitCode(warehouse.businessUnitCode);
-    if (existing != null) {
-      throw new DuplicateBusinessUnitCodeException(warehouse.businessUnitCode);
-    }
-
     // Location Validation: must be an existing valid location (assignment constraint)
     Location location = locationResolver.resolveByIdentifier(warehouse.location);
 
-    // Warehouse Creation Feasibility: max number of warehouses at location not reached (assignment
-    // constraint)
-    long activeCount = warehouseStore.countActiveByLocation(warehouse.location);
-    if (activeCount >= location.maxNumberOfWarehouses) {
-      throw new MaxWarehousesReachedException(warehouse.location);
+    // Location limits and stock (assignment constraints)
+    LocationOccupancy occupancy = warehouseStore.occupancyOf(warehouse.location);
+    checkLocationLimits(warehouse, location, occupancy);
+
+    // Set timestamps
+    warehouse.createdAt = LocalDateTime.now();
+    warehouse.archivedAt = null;
+
+    // If all validations pass, create the warehouse. Business Unit Code Verification (assignment
+    // constraint): the store rejects an active duplicate on insert with a
+    // DuplicateBusinessUnitCodeException, so there is no lookup first and no race between the two
+    warehouseStore.create(warehouse);
+    LOGGER.infov("Warehouse created successfully: {0}", warehouse.businessUnitCode);
+  }
+
+  /**
+   * Checks all warehouses against one read of the existing business unit codes and one read of the
+   * occupancy of their locations; each location is resolved once. Warehouses accepted earlier in
+   * the list count towards the limits of later ones, exactly as if created one by one. A code taken
+   * concurrently after the read is still rejected by the store on insert; the exception then fails
+   * the whole request, as its transaction cannot commit.
+   */
+  @Override
+  @Timed(
+      value = "warehouse.create.bulk",
+      histogram = true,
+      description = "Bulk create warehouses use case")
+  public List<WarehouseCreationResult> createAll(List<Warehouse> warehouses) {
+    LOGGER.infov("Creating warehouses in bulk: count={0}", warehouses.size());
+    WarehouseCreationResult[] results = new WarehouseCreationResult[warehouses.size()];
+
+    Set<String> businessUnitCodes = new HashSet<>();
+    Set<String> locationIdentifiers = new HashSet<>();
+    for (int i = 0; i < results.length; i++) {
+      Warehouse warehouse = warehouses.get(i);
+      try {
+        if (warehouse == null) {
+          throw new InvalidWarehouseException("Warehouse is required");
+        }
+        warehouseValidator.validateRequiredFields(warehouse);
+        businessUnitCodes.add(warehouse.businessUnitCode);
+        locationIdentifiers.add(warehouse.location);
+      } catch (BusinessException e) {
+        results[i] = WarehouseCreationResult.rejected(warehouse, e);
+      }
+    }
+
+    Set<String> existingCodes = warehouseStore.findActiveBusinessUnitCodes(businessUnitCodes);
+    Map<String, Location> locations = new HashMap<>();
+    Map<String, BusinessException> locationErrors = new HashMap<>();
+    for (String identifier : locationIdentifiers) {
+      try {
+        locations.put(identifier, locationResolver.resolveByIdentifier(identifier));
+      } catch (BusinessException e) {
+        locationErrors.put(identifier, e);
+      }
     }
+    // Running occupancy per location: starts from the stored one, grows with accepted warehouses
+    Map<String, LocationOccupancy> occupancy =
+        new HashMap<>(warehouseStore.occupancyByLocation(locations.keySet()));
 
-    // Capacity and Stock Validation: capacity must not exceed location max; warehouse must handle
-    // stock (assignment constraint)
-    int currentTotalCapacity = warehouseStore.totalCapacityByLocation(warehouse.location);
+    Set<String> acceptedCodes = new HashSet<>();
+    List<Warehouse> accepted = new ArrayList<>();
+    LocalDateTime now = LocalDateTime.now();
+    for (int i = 0; i < results.length; i++) {
+      if (results[i] != null) {
+        continue;
+      }
+      Warehouse warehouse = warehouses.get(i);
+      try {
+        if (existingCodes.contains(warehouse.businessUnitCode)
+            || acceptedCodes.contains(warehouse.businessUnitCode)) {
+          throw new DuplicateBusinessUnitCodeException(warehouse.businessUnitCode);
+        }
+        if (locationErrors.containsKey(warehouse.location)) {
+          throw locationErrors.get(warehouse.location);
+        }
+        LocationOccupancy current =
+            occupancy.getOrDefault(
+                warehouse.location, new LocationOccupancy(warehouse.location, 0, 0));
+        checkLocationLimits(warehouse, locations.get(warehouse.location), current);
+        occupancy.put(
+            warehouse.location,
+            new LocationOccupancy(
+                warehouse.location,
+                current.activeWarehouses + 1,
+                current.totalCapacity + warehouse.capacity));
+
+        warehouse.createdAt = now;
+        warehouse.archivedAt = null;
+        acceptedCodes.add(warehouse.businessUnitCode);
+        accepted.add(warehouse);
+        results[i] = WarehouseCreationResult.created(warehouse);
+      } catch (BusinessException e) {
+        results[i] = WarehouseCreationResult.rejected(warehouse, e);
+      }
+    }
+
+    if (!accepted.isEmpty()) {
+      warehouseStore.createAll(accepted);
+    }
+    LOGGER.infov(
+        "Warehouses created in bulk: created={0}, rejected={1}",
+        accepted.size(), results.length - accepted.size());
+    return Arrays.asList(results);
+  }
+
+  /**
+   * Warehouse Creation Feasibility and Capacity and Stock Validation (assignment constraints): the
+   * location must have room for one more warehouse and for its capacity, and the warehouse must be
+   * able to hold its stock. Shared with {@link ReactiveCreateWarehouseUseCase}.
+   */
+  static void checkLocationLimits(
+      Warehouse warehouse, Location location, LocationOccupancy occupancy) {
+    if (occupancy.activeWarehouses >= location.maxNumberOfWarehouses) {
+      throw new MaxWarehousesReachedException(warehouse.location);
+    }
+    int currentTotalCapacity = occupancy.totalCapacity;
     if (currentTotalCapacity + warehouse.capacity > location.maxCapacity) {
       throw new CapacityExceededException(
           currentTotalCapacity + warehouse.capacity, location.maxCapacity);
@@ -65,13 +180,5 @@ public class CreateWarehouseUseCase implements CreateWarehouseOperation {
     if (warehouse.stock > warehouse.capacity) {
       throw new CapacityExceededException(warehouse.stock, warehouse.capacity);
     }
-
-    // Set timestamps
-    warehouse.createdAt = LocalDateTime.now();
-    warehouse.archivedAt = null;
-
-    // If all validations pass, create the warehouse
-    warehouseStore.create(warehouse);
-    LOGGER.infov("Warehouse created successfully: {0}", warehouse.businessUnitCode);
   }
 }
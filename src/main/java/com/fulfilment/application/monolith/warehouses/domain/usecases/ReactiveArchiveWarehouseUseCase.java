@@ -0,0 +1,46 @@
+package com.fulfilment.application.monolith.warehouses.domain.usecases;
+
+import com.fulfilment.application.monolith.warehouses.domain.exceptions.WarehouseNotFoundException;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ReactiveArchiveWarehouseOperation;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ReactiveWarehouseStore;
+import io.micrometer.core.annotation.Timed;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.time.LocalDateTime;
+import org.jboss.logging.Logger;
+
+/** {@link ArchiveWarehouseUseCase} over a {@link ReactiveWarehouseStore}, same rules. */
+@ApplicationScoped
+public class ReactiveArchiveWarehouseUseCase implements ReactiveArchiveWarehouseOperation {
+
+  private static final Logger LOGGER =
+      Logger.getLogger(ReactiveArchiveWarehouseUseCase.class.getName());
+
+  private final ReactiveWarehouseStore warehouseStore;
+
+  public ReactiveArchiveWarehouseUseCase(ReactiveWarehouseStore warehouseStore) {
+    this.warehouseStore = warehouseStore;
+  }
+
+  @Override
+  @Timed(value = "warehouse.archive", histogram = true, description = "Archive warehouse use case")
+  public Uni<Void> archive(Warehouse warehouse) {
+    // Caller must pass a non-null warehouse with businessUnitCode (e.g. loaded by id)
+    if (warehouse.businessUnitCode == null || warehouse.businessUnitCode.isBlank()) {
+      return Uni.createFrom().failure(new WarehouseNotFoundException("unknown"));
+    }
+
+    // Idempotent: already archived → no-op
+    if (warehouse.archivedAt != null) {
+      LOGGER.infov("Warehouse already archived: {0}", warehouse.businessUnitCode);
+      return Uni.createFrom().voidItem();
+    }
+
+    warehouse.archivedAt = LocalDateTime.now();
+    return warehouseStore
+        .withTransaction(store -> store.update(warehouse))
+        .invoke(
+            () -> LOGGER.infov("Warehouse archived successfully: {0}", warehouse.businessUnitCode));
+  }
+}
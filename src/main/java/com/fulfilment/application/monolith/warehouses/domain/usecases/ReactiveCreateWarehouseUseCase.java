@@ -0,0 +1,74 @@
+package com.fulfilment.application.monolith.warehouses.domain.usecases;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ReactiveCreateWarehouseOperation;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ReactiveWarehouseStore;
+import com.fulfilment.application.monolith.warehouses.domain.validators.WarehouseValidator;
+import io.micrometer.core.annotation.Timed;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.time.LocalDateTime;
+import org.jboss.logging.Logger;
+
+/** {@link CreateWarehouseUseCase#create} over a {@link ReactiveWarehouseStore}, same rules. */
+@ApplicationScoped
+public class ReactiveCreateWarehouseUseCase implements ReactiveCreateWarehouseOperation {
+
+  private static final Logger LOGGER =
+      Logger.getLogger(ReactiveCreateWarehouseUseCase.class.getName());
+
+  private final ReactiveWarehouseStore warehouseStore;
+  private final LocationResolver locationResolver;
+  private final WarehouseValidator warehouseValidator;
+
+  public ReactiveCreateWarehouseUseCase(
+      ReactiveWarehouseStore warehouseStore,
+      LocationResolver locationResolver,
+      WarehouseValidator warehouseValidator) {
+    this.warehouseStore = warehouseStore;
+    this.locationResolver = locationResolver;
+    this.warehouseValidator = warehouseValidator;
+  }
+
+  @Override
+  @Timed(value = "warehouse.create", histogram = true, description = "Create warehouse use case")
+  public Uni<Void> create(Warehouse warehouse) {
+    return Uni.createFrom()
+        .voidItem()
+        .invoke(
+            () -> {
+              LOGGER.infov(
+                  "Creating warehouse: buCode={0}, location={1}, capacity={2}, stock={3}",
+                  warehouse.businessUnitCode,
+                  warehouse.location,
+                  warehouse.capacity,
+                  warehouse.stock);
+              warehouseValidator.validateRequiredFields(warehouse);
+            })
+        .chain(() -> warehouseStore.withTransaction(store -> create(store, warehouse)))
+        .invoke(
+            () -> LOGGER.infov("Warehouse created successfully: {0}", warehouse.businessUnitCode));
+  }
+
+  /** The store rejects an active duplicate business unit code on insert, as in the blocking one. */
+  private Uni<Void> create(ReactiveWarehouseStore store, Warehouse warehouse) {
+    return Uni.createFrom()
+        .item(() -> locationResolver.resolveByIdentifier(warehouse.location))
+        .chain(
+            (Location location) ->
+                store
+                    .occupancyOf(warehouse.location)
+                    .invoke(
+                        occupancy ->
+                            CreateWarehouseUseCase.checkLocationLimits(
+                                warehouse, location, occupancy)))
+        .chain(
+            () -> {
+              warehouse.createdAt = LocalDateTime.now();
+              warehouse.archivedAt = null;
+              return store.create(warehouse);
+            });
+  }
+}
@@ -0,0 +1,81 @@
+package com.fulfilment.application.monolith.warehouses.domain.usecases;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ReactiveReplaceWarehouseOperation;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ReactiveWarehouseStore;
+import com.fulfilment.application.monolith.warehouses.domain.validators.WarehouseValidator;
+import io.micrometer.core.annotation.Timed;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.time.LocalDateTime;
+import org.jboss.logging.Logger;
+
+/** {@link ReplaceWarehouseUseCase} over a {@link ReactiveWarehouseStore}, same rules. */
+@ApplicationScoped
+public class ReactiveReplaceWarehouseUseCase implements ReactiveReplaceWarehouseOperation {
+
+  private static final Logger LOGGER =
+      Logger.getLogger(ReactiveReplaceWarehouseUseCase.class.getName());
+
+  private final ReactiveWarehouseStore warehouseStore;
+  private final LocationResolver locationResolver;
+  private final WarehouseValidator warehouseValidator;
+
+  public ReactiveReplaceWarehouseUseCase(
+      ReactiveWarehouseStore warehouseStore,
+      LocationResolver locationResolver,
+      WarehouseValidator warehouseValidator) {
+    this.warehouseStore = warehouseStore;
+    this.locationResolver = locationResolver;
+    this.warehouseValidator = warehouseValidator;
+  }
+
+  @Override
+  @Timed(value = "warehouse.replace", histogram = true, description = "Replace warehouse use case")
+  public Uni<Void> replace(Warehouse newWarehouse) {
+    return Uni.createFrom()
+        .voidItem()
+        .invoke(
+            () -> {
+              LOGGER.infov(
+                  "Replacing warehouse: buCode={0}, new location={1}, capacity={2}, stock={3}",
+                  newWarehouse.businessUnitCode,
+                  newWarehouse.location,
+                  newWarehouse.capacity,
+                  newWarehouse.stock);
+              warehouseValidator.validateRequiredFields(newWarehouse);
+            })
+        .chain(() -> warehouseStore.withTransaction(store -> replace(store, newWarehouse)))
+        .invoke(
+            () ->
+                LOGGER.infov(
+                    "Warehouse replaced successfully: {0}", newWarehouse.businessUnitCode));
+  }
+
+  private Uni<Void> replace(ReactiveWarehouseStore store, Warehouse newWarehouse) {
+    return store
+        .findActiveByBusinessUnitCode(newWarehouse.businessUnitCode)
+        .chain(
+            current -> {
+              ReplaceWarehouseUseCase.checkAgainstCurrent(newWarehouse, current);
+              var location = locationResolver.resolveByIdentifier(newWarehouse.location);
+              return store
+                  .occupancyOf(newWarehouse.location)
+                  .chain(
+                      occupancy -> {
+                        ReplaceWarehouseUseCase.checkLocationLimits(
+                            newWarehouse, current, location, occupancy);
+                        current.archivedAt = LocalDateTime.now();
+                        return store.update(current);
+                      })
+                  .chain(
+                      () -> {
+                        newWarehouse.createdAt = LocalDateTime.now();
+                        newWarehouse.archivedAt = null;
+                        newWarehouse.version = ReplaceWarehouseUseCase.nextVersion(current);
+                        return store.create(newWarehouse);
+                      });
+            });
+  }
+}
@@ -6,11 +6,13 @@ import com.fulfilment.application.monolith.warehouses.domain.exceptions.MaxWareh
 import com.fulfilment.application.monolith.warehouses.domain.exceptions.StockMismatchException;
 import com.fulfilment.application.monolith.warehouses.domain.exceptions.WarehouseNotFoundException;
 import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.models.LocationOccupancy;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
 import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
 import com.fulfilment.application.monolith.warehouses.domain.ports.ReplaceWarehouseOperation;
 import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
 import com.fulfilment.application.monolith.warehouses.domain.validators.WarehouseValidator;
+import io.micrometer.core.annotation.Timed;
 import jakarta.enterprise.context.ApplicationScoped;
 import java.time.LocalDateTime;
 import org.jboss.logging.Logger;
@@ -34,6 +36,7 @@ public class ReplaceWarehouseUseCase implements ReplaceWarehouseOperation {
   }
 
   @Override
+  @Timed(value = "warehouse.replace", histogram = true, description = "Replace warehouse use case")
   public void replace(Warehouse newWarehouse) {
     LOGGER.infov(
         "Replacing warehouse: buCode={0}, new location={1}, capacity={2}, stock={3}",
@@ -46,6 +49,41 @@ public class ReplaceWarehouseUseCase implements ReplaceWarehouseOperation {
 
     // Find current active warehouse by business unit code (must exist to replace)
     Warehouse current = warehouseStore.findActiveByBusinessUnitCode(newWarehouse.businessUnitCode);
+    checkAgainstCurrent(newWarehouse, current);
+
+    // Location Validation: new warehouse location must be valid
+    Location location = locationResolver.resolveByIdentifier(newWarehouse.location);
+
+    LocationOccupancy occupancy = warehouseStore.occupancyOf(newWarehouse.location);
+    checkLocationLimits(newWarehouse, current, location, occupancy);
+
+    // Archive current warehouse
+    current.archivedAt = LocalDateTime.now();
+    warehouseStore.update(current);
+
+    // Create new warehouse with same business unit code
+    newWarehouse.createdAt = LocalDateTime.now();
+    newWarehouse.archivedAt = null;
+    newWarehouse.version = nextVersion(current);
+    warehouseStore.create(newWarehouse);
+
+    LOGGER.infov("Warehouse replaced successfully: {0}", newWarehouse.businessUnitCode);
+  }
+
+  /**
+   * Version of the replacement: continues after the archived warehouse, so a concurrent replace
+   * that read the archived one cannot mistake the replacement for it. Shared with {@link
+   * ReactiveReplaceWarehouseUseCase}.
+   */
+  static Long nextVersion(Warehouse current) {
+    return current.version != null ? current.version + 1 : null;
+  }
+
+  /**
+   * The current active warehouse must exist, and the new warehouse must accommodate and match its
+   * stock (assignment constraints). Shared with {@link ReactiveReplaceWarehouseUseCase}.
+   */
+  static void checkAgainstCurrent(Warehouse newWarehouse, Warehouse current) {
     if (current == null) {
       throw new WarehouseNotFoundException(newWarehouse.businessUnitCode);
     }
@@ -59,12 +97,17 @@ public class ReplaceWarehouseUseCase implements ReplaceWarehouseOperation {
     if (!newWarehouse.stock.equals(current.stock)) {
       throw new StockMismatchException(newWarehouse.stock, current.stock);
     }
+  }
 
-    // Location Validation: new warehouse location must be valid
-    Location location = locationResolver.resolveByIdentifier(newWarehouse.location);
-
+  /**
+   * Warehouse Creation Feasibility and Capacity and Stock Validation at the new location; the
+   * current warehouse is archived by the replacement, so at the same location it frees its slot and
+   * capacity. Shared with {@link ReactiveReplaceWarehouseUseCase}.
+   */
+  static void checkLocationLimits(
+      Warehouse newWarehouse, Warehouse current, Location location, LocationOccupancy occupancy) {
     // Warehouse Creation Feasibility at new location
-    long activeCountAtNewLocation = warehouseStore.countActiveByLocation(newWarehouse.location);
+    long activeCountAtNewLocation = occupancy.activeWarehouses;
     boolean sameLocation = newWarehouse.location.equals(current.location);
     if (sameLocation) {
       // Replacing in place: count stays same (we archive one, create one)
@@ -79,7 +122,7 @@ public class ReplaceWarehouseUseCase implements ReplaceWarehouseOperation {
     }
 
     // Capacity and Stock Validation: total capacity at location and stock <= capacity
-    int totalCapacityAtNewLocation = warehouseStore.totalCapacityByLocation(newWarehouse.location);
+    int totalCapacityAtNewLocation = occupancy.totalCapacity;
     if (sameLocation) {
       int capacityAfterReplace =
           totalCapacityAtNewLocation - current.capacity + newWarehouse.capacity;
@@ -95,16 +138,5 @@ public class ReplaceWarehouseUseCase implements ReplaceWarehouseOperation {
     if (newWarehouse.stock > newWarehouse.capacity) {
       throw new CapacityExceededException(newWarehouse.stock, newWarehouse.capacity);
     }
-
-    // Archive current warehouse
-    current.archivedAt = LocalDateTime.now();
-    warehouseStore.update(current);
-
-    // Create new warehouse with same business unit code
-    newWarehouse.createdAt = LocalDateTime.now();
-    newWarehouse.archivedAt = null;
-    warehouseStore.create(newWarehouse);
-
-    LOGGER.infov("Warehouse replaced successfully: {0}", newWarehouse.businessUnitCode);
   }
 }
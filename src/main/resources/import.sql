@@ -1,3 +1,6 @@
+-- Seeded rows take ids 1-3; each id sequence then restarts at 4. Ids are generated with the
+-- pooled-lo optimizer, which uses the nextval result as the first id of its block, so the first
+-- block starts at 4 whatever id.allocation-size.<sequence> is.
 INSERT INTO store(id, name, quantityProductsInStock) VALUES (1, 'TONSTAD', 10);
 INSERT INTO store(id, name, quantityProductsInStock) VALUES (2, 'KALLAX', 5);
 INSERT INTO store(id, name, quantityProductsInStock) VALUES (3, 'BESTÅ', 3);
@@ -14,4 +17,17 @@ INSERT INTO warehouse(id, businessUnitCode, location, capacity, stock, createdAt
 VALUES (2, 'MWH.012', 'AMSTERDAM-001', 50, 5, '2023-07-01', null);
 INSERT INTO warehouse(id, businessUnitCode, location, capacity, stock, createdAt, archivedAt)
 VALUES (3, 'MWH.023', 'TILBURG-001', 30, 27, '2021-02-01', null);
-ALTER SEQUENCE warehouse_seq RESTART WITH 4;
\ No newline at end of file
+ALTER SEQUENCE warehouse_seq RESTART WITH 4;
+
+-- Listing filters and keyset pages (GET /warehouse) only read active warehouses; partial indexes
+-- cannot be declared with @Index. varchar_pattern_ops serves the business unit code prefix (LIKE).
+-- The business unit code index is unique: at most one active warehouse per code, enforced on insert.
+-- Stock has its own index for stock-only filters; with a capacity range the capacity index serves.
+CREATE UNIQUE INDEX uq_warehouse_active_bu_code ON warehouse (businessUnitCode) WHERE archivedAt IS NULL;
+CREATE INDEX idx_warehouse_active_bu_code_prefix ON warehouse (businessUnitCode varchar_pattern_ops) WHERE archivedAt IS NULL;
+CREATE INDEX idx_warehouse_active_location ON warehouse (location, businessUnitCode) WHERE archivedAt IS NULL;
+CREATE INDEX idx_warehouse_active_capacity ON warehouse (capacity, stock) WHERE archivedAt IS NULL;
+CREATE INDEX idx_warehouse_active_stock ON warehouse (stock) WHERE archivedAt IS NULL;
+
+INSERT INTO location_occupancy(location, activeWarehouses, totalCapacity)
+SELECT location, count(*), sum(capacity) FROM warehouse WHERE archivedAt IS NULL GROUP BY location;
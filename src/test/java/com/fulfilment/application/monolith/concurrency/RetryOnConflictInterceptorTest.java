@@ -0,0 +1,52 @@
+package com.fulfilment.application.monolith.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.RollbackException;
+import java.time.Duration;
+import org.hibernate.StaleObjectStateException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Plain JUnit: conflict detection and backoff of the interceptor, without a container. */
+class RetryOnConflictInterceptorTest {
+
+  private RetryOnConflictInterceptor interceptor;
+
+  @BeforeEach
+  void setUp() {
+    interceptor = new RetryOnConflictInterceptor();
+    interceptor.maxAttempts = 3;
+    interceptor.initialBackoff = Duration.ofMillis(10);
+    interceptor.maxBackoff = Duration.ofMillis(200);
+  }
+
+  @Test
+  void conflicts_areFoundAnywhereInTheCauseChain() {
+    assertTrue(RetryOnConflictInterceptor.isConflict(new OptimisticLockException("stale")));
+    assertTrue(
+        RetryOnConflictInterceptor.isConflict(
+            new RollbackException(
+                "commit failed", new StaleObjectStateException("DbWarehouse", 1L))));
+    assertFalse(RetryOnConflictInterceptor.isConflict(new IllegalStateException("other")));
+    assertFalse(RetryOnConflictInterceptor.isConflict(new ConcurrentUpdateException("stale")));
+  }
+
+  @Test
+  void backoff_doublesPerAttemptWithJitterAndIsCapped() {
+    for (int i = 0; i < 100; i++) {
+      assertBetween(Duration.ofMillis(5), Duration.ofMillis(10), interceptor.backoff(1));
+      assertBetween(Duration.ofMillis(10), Duration.ofMillis(20), interceptor.backoff(2));
+      assertBetween(Duration.ofMillis(100), Duration.ofMillis(200), interceptor.backoff(10));
+      assertBetween(Duration.ofMillis(100), Duration.ofMillis(200), interceptor.backoff(100));
+    }
+  }
+
+  private static void assertBetween(Duration min, Duration max, Duration actual) {
+    assertTrue(
+        actual.compareTo(min) >= 0 && actual.compareTo(max) <= 0,
+        actual + " not in [" + min + ", " + max + "]");
+  }
+}
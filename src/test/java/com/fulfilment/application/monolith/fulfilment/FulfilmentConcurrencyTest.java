@@ -0,0 +1,108 @@
+package com.fulfilment.application.monolith.fulfilment;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Hammers the fulfilment limits from many threads over a small set of fresh stores, products and
+ * warehouses, then checks the persisted rows: no limit may ever be exceeded.
+ */
+@QuarkusTest
+class FulfilmentConcurrencyTest {
+
+  private static final int THREADS = 16;
+  private static final int ASSIGNS_PER_THREAD = 60;
+
+  @Inject FulfilmentService fulfilmentService;
+  @Inject StoreProductFulfilmentRepository fulfilmentRepository;
+  @Inject FulfilmentTestDataHelper testData;
+
+  @Test
+  void concurrentAssigns_neverExceedLimits() throws Exception {
+    List<Long> stores = new ArrayList<>();
+    List<Long> products = new ArrayList<>();
+    List<Long> warehouses = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      stores.add(testData.createStore("STRESS-STORE-" + i));
+    }
+    for (int i = 0; i < 8; i++) {
+      products.add(testData.createProduct("STRESS-PRODUCT-" + i));
+    }
+    for (int i = 0; i < 6; i++) {
+      warehouses.add(testData.createWarehouse("MWH.STRESS." + i));
+    }
+
+    AtomicInteger assigned = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < THREADS; t++) {
+        Random random = new Random(t);
+        futures.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  for (int i = 0; i < ASSIGNS_PER_THREAD; i++) {
+                    try {
+                      fulfilmentService.assign(
+                          stores.get(random.nextInt(stores.size())),
+                          products.get(random.nextInt(products.size())),
+                          warehouses.get(random.nextInt(warehouses.size())));
+                      assigned.incrementAndGet();
+                    } catch (FulfilmentConstraintException expected) {
+                      // limit reached: the point of the test is that this is always detected
+                    }
+                  }
+                  return null;
+                }));
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get(2, TimeUnit.MINUTES);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertTrue(assigned.get() > 0, "No assignment succeeded");
+    QuarkusTransaction.requiringNew()
+        .run(
+            () -> {
+              for (Long storeId : stores) {
+                List<StoreProductFulfilment> ofStore = fulfilmentRepository.listByStore(storeId);
+                long warehousesForStore =
+                    ofStore.stream().map(f -> f.warehouseId).distinct().count();
+                assertTrue(warehousesForStore <= 3, "Store " + storeId + ": " + warehousesForStore);
+                for (Long productId : products) {
+                  long warehousesForProduct =
+                      ofStore.stream().filter(f -> f.productId.equals(productId)).count();
+                  assertTrue(
+                      warehousesForProduct <= 2,
+                      "Store " + storeId + ", product " + productId + ": " + warehousesForProduct);
+                }
+              }
+              for (Long warehouseId : warehouses) {
+                long productTypes =
+                    fulfilmentRepository.listByWarehouse(warehouseId).stream()
+                        .map(f -> f.productId)
+                        .distinct()
+                        .count();
+                assertTrue(productTypes <= 5, "Warehouse " + warehouseId + ": " + productTypes);
+              }
+            });
+  }
+}
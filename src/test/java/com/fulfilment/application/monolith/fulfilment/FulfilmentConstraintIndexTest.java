@@ -0,0 +1,82 @@
+package com.fulfilment.application.monolith.fulfilment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+class FulfilmentConstraintIndexTest {
+
+  private static final FulfilmentConstraintSnapshot REFERENCES =
+      new FulfilmentConstraintSnapshot(true, true, true, false, 0, 0, false, 0);
+
+  @Inject FulfilmentService fulfilmentService;
+  @Inject FulfilmentConstraintIndex constraintIndex;
+  @Inject StoreProductFulfilmentRepository fulfilmentRepository;
+  @Inject FulfilmentTestDataHelper testData;
+
+  @Test
+  void loadedAtStartup() {
+    assertTrue(constraintIndex.isWarm());
+  }
+
+  @Test
+  void assignAndUnassign_updateCountersAfterCommit() {
+    Long storeId = testData.createStore("INDEX-STORE");
+
+    fulfilmentService.assign(storeId, 2L, 2L);
+    var afterAssign = constraintIndex.withLimits(REFERENCES, storeId, 2L, 2L);
+    assertEquals(1, afterAssign.warehousesForProductAtStore());
+    assertEquals(1, afterAssign.warehousesForStore());
+    assertTrue(afterAssign.warehouseUsedForStore());
+
+    fulfilmentService.unassign(storeId, 2L, 2L);
+    var afterUnassign = constraintIndex.withLimits(REFERENCES, storeId, 2L, 2L);
+    assertEquals(0, afterUnassign.warehousesForProductAtStore());
+    assertEquals(0, afterUnassign.warehousesForStore());
+    assertFalse(afterUnassign.warehouseUsedForStore());
+  }
+
+  @Test
+  void rolledBackAssign_isNotCounted() {
+    Long storeId = testData.createStore("INDEX-ROLLBACK");
+
+    QuarkusTransaction.requiringNew()
+        .run(
+            () -> {
+              fulfilmentService.assign(storeId, 2L, 2L);
+              QuarkusTransaction.setRollbackOnly();
+            });
+
+    assertEquals(0, constraintIndex.withLimits(REFERENCES, storeId, 2L, 2L).warehousesForStore());
+  }
+
+  @Test
+  void countersMatchRepository() {
+    fulfilmentService.assign(1L, 1L, 1L);
+
+    var indexed =
+        constraintIndex.withLimits(fulfilmentRepository.evaluateReferences(1L, 1L, 2L), 1L, 1L, 2L);
+
+    assertEquals(fulfilmentRepository.evaluateConstraints(1L, 1L, 2L), indexed);
+  }
+
+  @Test
+  void coldIndex_fallsBackToRepositoryCounts() {
+    constraintIndex.invalidate();
+    try {
+      assertFalse(constraintIndex.isWarm());
+      fulfilmentService.assign(1L, 1L, 1L);
+      fulfilmentService.assign(1L, 1L, 2L);
+      assertThrows(FulfilmentConstraintException.class, () -> fulfilmentService.assign(1L, 1L, 3L));
+    } finally {
+      assertTrue(constraintIndex.reload());
+    }
+  }
+}
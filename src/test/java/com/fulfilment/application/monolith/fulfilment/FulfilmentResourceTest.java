@@ -1,8 +1,17 @@
 package com.fulfilment.application.monolith.fulfilment;
 
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
 import jakarta.ws.rs.core.MediaType;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -15,6 +24,8 @@ import org.junit.jupiter.api.Test;
 @QuarkusTest
 class FulfilmentResourceTest {
 
+  @Inject FulfilmentTestDataHelper testData;
+
   @Nested
   @DisplayName("Assign")
   class Assign {
@@ -30,6 +41,84 @@ class FulfilmentResourceTest {
     }
   }
 
+  @Nested
+  @DisplayName("Batch assign")
+  class BatchAssign {
+
+    @Test
+    void bestEffort_persistsValidItemsAndReportsRejected() {
+      Long storeId = testData.createStore("BATCH-BEST-EFFORT");
+      String body =
+          """
+          [
+            {"storeId": %1$d, "productId": 1, "warehouseId": 1},
+            {"storeId": %1$d, "productId": 1, "warehouseId": 2},
+            {"storeId": %1$d, "productId": 1, "warehouseId": 3},
+            {"storeId": %1$d, "productId": 1, "warehouseId": 1},
+            {"storeId": %1$d, "productId": 999, "warehouseId": 1}
+          ]
+          """
+              .formatted(storeId);
+
+      given()
+          .contentType(MediaType.APPLICATION_JSON)
+          .queryParam("mode", "BEST_EFFORT")
+          .body(body)
+          .when()
+          .post("fulfilment/batch")
+          .then()
+          .statusCode(200)
+          .body("applied", equalTo(true))
+          .body("items[0].status", equalTo("ASSIGNED"))
+          .body("items[1].status", equalTo("ASSIGNED"))
+          // third warehouse for the same product: limit counts earlier items of the batch
+          .body("items[2].status", equalTo("REJECTED"))
+          .body("items[2].errorCode", equalTo("FULFILMENT_CONSTRAINT"))
+          .body("items[3].status", equalTo("ALREADY_ASSIGNED"))
+          .body("items[4].status", equalTo("REJECTED"));
+
+      given()
+          .queryParam("storeId", storeId)
+          .when()
+          .get("fulfilment")
+          .then()
+          .statusCode(200)
+          .body("size()", equalTo(2));
+    }
+
+    @Test
+    void atomic_rejectsWholeBatchWhenAnyItemInvalid() {
+      Long storeId = testData.createStore("BATCH-ATOMIC");
+      String body =
+          """
+          [
+            {"storeId": %1$d, "productId": 2, "warehouseId": 1},
+            {"storeId": %1$d, "productId": 2, "warehouseId": 999}
+          ]
+          """
+              .formatted(storeId);
+
+      given()
+          .contentType(MediaType.APPLICATION_JSON)
+          .body(body)
+          .when()
+          .post("fulfilment/batch")
+          .then()
+          .statusCode(400)
+          .body("applied", equalTo(false))
+          .body("items[0].status", equalTo("SKIPPED"))
+          .body("items[1].status", equalTo("REJECTED"));
+
+      given()
+          .queryParam("storeId", storeId)
+          .when()
+          .get("fulfilment")
+          .then()
+          .statusCode(200)
+          .body("$", empty());
+    }
+  }
+
   @Nested
   @DisplayName("Unassign")
   class Unassign {
@@ -53,5 +142,80 @@ class FulfilmentResourceTest {
     void listByWarehouseId_returns200() {
       given().queryParam("warehouseId", 1).when().get("fulfilment").then().statusCode(200);
     }
+
+    @Test
+    void keysetPages_followNextCursorUntilLastPage() {
+      Long storeId = assignThreeProducts("LIST-PAGED");
+
+      String cursor =
+          given()
+              .queryParam("storeId", storeId)
+              .queryParam("limit", 2)
+              .when()
+              .get("fulfilment")
+              .then()
+              .statusCode(200)
+              .body("size()", equalTo(2))
+              .header(FulfilmentResource.NEXT_CURSOR_HEADER, notNullValue())
+              .extract()
+              .header(FulfilmentResource.NEXT_CURSOR_HEADER);
+
+      given()
+          .queryParam("storeId", storeId)
+          .queryParam("after", cursor)
+          .queryParam("limit", 2)
+          .when()
+          .get("fulfilment")
+          .then()
+          .statusCode(200)
+          .body("size()", equalTo(1))
+          .body("[0].id", greaterThan(Integer.parseInt(cursor)))
+          .header(FulfilmentResource.NEXT_CURSOR_HEADER, nullValue());
+    }
+
+    @Test
+    void limitOutOfRange_returns400() {
+      given()
+          .queryParam("storeId", 1)
+          .queryParam("limit", 0)
+          .when()
+          .get("fulfilment")
+          .then()
+          .statusCode(400);
+    }
+
+    @Test
+    void stream_writesOneJsonObjectPerLine() {
+      Long storeId = assignThreeProducts("LIST-STREAM");
+
+      String body =
+          given()
+              .queryParam("storeId", storeId)
+              .when()
+              .get("fulfilment/stream")
+              .then()
+              .statusCode(200)
+              .contentType(startsWith("application/x-ndjson"))
+              .extract()
+              .asString();
+
+      String[] lines = body.split("\n");
+      assertEquals(3, lines.length);
+      for (String line : lines) {
+        assertTrue(line.startsWith("{") && line.contains("\"storeId\":" + storeId), line);
+      }
+    }
+
+    private Long assignThreeProducts(String storeName) {
+      Long storeId = testData.createStore(storeName);
+      for (long productId = 1; productId <= 3; productId++) {
+        given()
+            .when()
+            .post("fulfilment/store/" + storeId + "/product/" + productId + "/warehouse/1")
+            .then()
+            .statusCode(204);
+      }
+      return storeId;
+    }
   }
 }
@@ -6,6 +6,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -15,6 +17,7 @@ class FulfilmentServiceTest {
 
   @Inject FulfilmentService fulfilmentService;
   @Inject FulfilmentTestDataHelper testData;
+  @Inject SessionFactory sessionFactory;
 
   @Nested
   @DisplayName("Assign and list")
@@ -152,4 +155,50 @@ class FulfilmentServiceTest {
       assertTrue(ex.getMessage().contains("at most 5"));
     }
   }
+
+  @Nested
+  @DisplayName("Round trips per assign")
+  class RoundTripsPerAssign {
+
+    @Test
+    void repeatedAssign_runsSingleStatement() {
+      fulfilmentService.assign(1L, 1L, 1L);
+      Statistics statistics = sessionFactory.getStatistics();
+      statistics.clear();
+
+      fulfilmentService.assign(1L, 1L, 1L);
+
+      assertEquals(1, statistics.getPrepareStatementCount());
+      assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void rejectedAssign_runsSingleStatement() {
+      fulfilmentService.assign(1L, 1L, 1L);
+      fulfilmentService.assign(1L, 1L, 2L);
+      Statistics statistics = sessionFactory.getStatistics();
+      statistics.clear();
+
+      assertThrows(FulfilmentConstraintException.class, () -> fulfilmentService.assign(1L, 1L, 3L));
+
+      assertEquals(1, statistics.getPrepareStatementCount());
+      assertEquals(0, statistics.getEntityInsertCount());
+    }
+
+    @Test
+    void newAssign_runsConstraintReadAndInsertOnly() {
+      Long storeId = testData.createStore("ROUNDTRIP-STORE");
+      Statistics statistics = sessionFactory.getStatistics();
+      statistics.clear();
+
+      fulfilmentService.assign(storeId, 2L, 2L);
+
+      assertEquals(1, statistics.getEntityInsertCount());
+      assertEquals(0, statistics.getEntityLoadCount());
+      // constraint read + insert, plus at most one sequence fetch for a new id block
+      assertTrue(
+          statistics.getPrepareStatementCount() <= 3,
+          "Statements: " + statistics.getPrepareStatementCount());
+    }
+  }
 }
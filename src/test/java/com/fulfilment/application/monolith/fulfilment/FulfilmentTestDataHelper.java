@@ -2,6 +2,7 @@ package com.fulfilment.application.monolith.fulfilment;
 
 import com.fulfilment.application.monolith.products.Product;
 import com.fulfilment.application.monolith.products.ProductRepository;
+import com.fulfilment.application.monolith.stores.Store;
 import com.fulfilment.application.monolith.warehouses.adapters.database.DbWarehouse;
 import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseRepository;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -43,6 +44,34 @@ public class FulfilmentTestDataHelper {
     return w.id;
   }
 
+  /** Creates an active warehouse directly, bypassing location rules, for fulfilment tests. */
+  @Transactional
+  public Long createWarehouse(String businessUnitCode) {
+    DbWarehouse w = new DbWarehouse();
+    w.businessUnitCode = businessUnitCode;
+    w.location = "AMSTERDAM-001";
+    w.capacity = 10;
+    w.stock = 0;
+    w.createdAt = LocalDateTime.of(2024, 1, 1, 0, 0);
+    warehouseRepository.persist(w);
+    return w.id;
+  }
+
+  @Transactional
+  public Long createProduct(String name) {
+    Product product = new Product(name);
+    product.stock = 1;
+    productRepository.persist(product);
+    return product.id;
+  }
+
+  @Transactional
+  public Long createStore(String name) {
+    Store store = new Store(name);
+    store.persist();
+    return store.id;
+  }
+
   @Transactional
   public long[] createProducts4_5_6() {
     Product p4 = new Product("PROD4");
@@ -0,0 +1,50 @@
+package com.fulfilment.application.monolith.fulfilment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class LongCounterMapTest {
+
+  @Test
+  void addAndRemove_tracksCountsAndDropsZeroes() {
+    LongCounterMap map = new LongCounterMap();
+
+    assertEquals(1, map.add(42L, 1));
+    assertEquals(2, map.add(42L, 1));
+    assertEquals(1, map.add(0L, 1));
+    assertEquals(2, map.size());
+
+    assertEquals(1, map.add(42L, -1));
+    assertEquals(0, map.add(42L, -1));
+    assertEquals(0, map.get(42L));
+    assertEquals(0, map.add(42L, -1));
+    assertEquals(1, map.size());
+  }
+
+  @Test
+  void randomOperations_matchReferenceMap() {
+    LongCounterMap map = new LongCounterMap();
+    Map<Long, Long> reference = new HashMap<>();
+    Random random = new Random(7);
+
+    for (int i = 0; i < 200_000; i++) {
+      // small key space forces collisions, growth and backward-shift deletes
+      long key = (long) random.nextInt(5_000) << 32 | random.nextInt(4);
+      long delta = random.nextBoolean() ? 1 : -1;
+      long expected = Math.max(0, reference.getOrDefault(key, 0L) + delta);
+      if (expected == 0) {
+        reference.remove(key);
+      } else {
+        reference.put(key, expected);
+      }
+      assertEquals(expected, map.add(key, delta));
+    }
+
+    assertEquals(reference.size(), map.size());
+    reference.forEach((key, count) -> assertEquals(count, map.get(key)));
+  }
+}
@@ -0,0 +1,216 @@
+package com.fulfilment.application.monolith.fulfilment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.hibernate.Cache;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Checks the PostgreSQL plans of the {@link StoreProductFulfilmentRepository} lookups against a
+ * seeded table large enough that the planner prefers an index whenever a usable one exists. Each
+ * repository method is called, the SQL it sends is recorded, and the generic plan of that SQL (the
+ * one a server-side prepared statement settles on, whatever the bound ids) must use the indexes
+ * expected for it by name and never scan store_product_fulfilment sequentially.
+ *
+ * <p>Seeded rows use ids far above the test data and are removed afterwards. Not part of {@code
+ * mvn test}; run with {@code mvn test -Dtest=StoreProductFulfilmentQueryPlanIT}.
+ */
+@QuarkusTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StoreProductFulfilmentQueryPlanIT {
+
+  /** Records the SQL the current thread sends while {@link #RECORDED} is set. */
+  @PersistenceUnitExtension
+  public static class SqlRecorder implements StatementInspector {
+
+    static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+      List<String> recorded = RECORDED.get();
+      if (recorded != null) {
+        recorded.add(sql);
+      }
+      return sql;
+    }
+  }
+
+  private static final long BASE = 1_000_000_000L;
+  private static final int ROWS = 200_000;
+
+  // One store has 40 products; each (store, product) goes to one of 997 warehouses.
+  private static final long STORE = BASE + 1_234;
+  private static final long PRODUCT = BASE + 7;
+  private static final long WAREHOUSE = BASE + 501;
+
+  private static final String BY_ASSIGNMENT = StoreProductFulfilment.ASSIGNMENT_CONSTRAINT;
+  private static final String BY_STORE = "idx_fulfilment_store_warehouse";
+  private static final String BY_WAREHOUSE = "idx_fulfilment_warehouse_product";
+
+  @Inject EntityManager entityManager;
+  @Inject StoreProductFulfilmentRepository repository;
+
+  @BeforeAll
+  void seed() {
+    QuarkusTransaction.requiringNew()
+        .run(
+            () -> {
+              entityManager
+                  .createNativeQuery(
+                      """
+                      insert into store_product_fulfilment (id, store_id, product_id, warehouse_id)
+                      select ?1 + g, ?1 + g / 40, ?1 + g % 40, ?1 + g % 997
+                      from generate_series(0, ?2 - 1) g
+                      """)
+                  .setParameter(1, BASE)
+                  .setParameter(2, ROWS)
+                  .executeUpdate();
+              entityManager.createNativeQuery("analyze store_product_fulfilment").executeUpdate();
+            });
+  }
+
+  @AfterAll
+  void cleanUp() {
+    QuarkusTransaction.requiringNew()
+        .run(
+            () ->
+                entityManager
+                    .createNativeQuery("delete from store_product_fulfilment where id >= ?1")
+                    .setParameter(1, BASE)
+                    .executeUpdate());
+    evictCaches();
+  }
+
+  static Stream<Arguments> repositoryQueries() {
+    return Stream.of(
+        query(
+            "findByStoreAndProductAndWarehouse",
+            r -> r.findByStoreAndProductAndWarehouse(STORE, PRODUCT, WAREHOUSE),
+            BY_ASSIGNMENT),
+        query("listByStore", r -> r.listByStore(STORE), BY_STORE),
+        query("listByWarehouse", r -> r.listByWarehouse(WAREHOUSE), BY_WAREHOUSE),
+        query("listByStore, keyset page", r -> r.listByStore(STORE, 0, 50), BY_STORE),
+        query(
+            "listByWarehouse, keyset page",
+            r -> r.listByWarehouse(WAREHOUSE, 0, 50),
+            BY_WAREHOUSE),
+        query("streamByStore", r -> r.streamByStore(STORE).close(), BY_STORE),
+        query("streamByWarehouse", r -> r.streamByWarehouse(WAREHOUSE).close(), BY_WAREHOUSE),
+        query(
+            "evaluateConstraints",
+            r -> r.evaluateConstraints(STORE, PRODUCT, WAREHOUSE),
+            BY_STORE,
+            BY_WAREHOUSE),
+        query(
+            "evaluateReferences",
+            r -> r.evaluateReferences(STORE, PRODUCT, WAREHOUSE),
+            BY_ASSIGNMENT),
+        query(
+            "listAssignmentIds",
+            r -> r.listAssignmentIds(Set.of(STORE, STORE + 1), Set.of(WAREHOUSE, WAREHOUSE + 1)),
+            BY_STORE,
+            BY_WAREHOUSE));
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("repositoryQueries")
+  void repositoryQuery_usesItsIndexes(
+      String name, Consumer<StoreProductFulfilmentRepository> call, List<String> indexes) {
+    String sql = recordFulfilmentQuery(call);
+
+    String plan = genericPlanOf(sql);
+
+    assertFalse(plan.contains("Seq Scan on store_product_fulfilment"), () -> sql + "\n" + plan);
+    for (String index : indexes) {
+      assertTrue(plan.contains(index), () -> index + " not used by\n" + sql + "\n" + plan);
+    }
+  }
+
+  private static Arguments query(
+      String name, Consumer<StoreProductFulfilmentRepository> call, String... indexes) {
+    return Arguments.of(name, call, List.of(indexes));
+  }
+
+  /** Calls the repository and returns the one statement it sent to store_product_fulfilment. */
+  private String recordFulfilmentQuery(Consumer<StoreProductFulfilmentRepository> call) {
+    // a cached entity would answer without any SQL
+    evictCaches();
+    List<String> recorded = new ArrayList<>();
+    SqlRecorder.RECORDED.set(recorded);
+    try {
+      QuarkusTransaction.requiringNew().run(() -> call.accept(repository));
+    } finally {
+      SqlRecorder.RECORDED.remove();
+    }
+    List<String> fulfilmentQueries =
+        recorded.stream().filter(sql -> sql.contains("store_product_fulfilment")).toList();
+    assertEquals(1, fulfilmentQueries.size(), () -> "expected one query, got " + recorded);
+    return fulfilmentQueries.get(0);
+  }
+
+  /**
+   * EXPLAIN of the statement prepared with its JDBC placeholders as parameters, planned generically
+   * so that the plan does not depend on the values bound for it.
+   */
+  private String genericPlanOf(String sql) {
+    StringBuilder prepared = new StringBuilder("prepare plan_check as ");
+    List<String> arguments = new ArrayList<>();
+    for (char c : sql.toCharArray()) {
+      if (c == '?') {
+        arguments.add("1");
+        prepared.append('$').append(arguments.size());
+      } else {
+        prepared.append(c);
+      }
+    }
+    String execute =
+        "explain execute plan_check"
+            + (arguments.isEmpty() ? "" : "(" + String.join(", ", arguments) + ")");
+    return QuarkusTransaction.requiringNew()
+        .call(
+            () -> {
+              List<String> lines = new ArrayList<>();
+              entityManager
+                  .unwrap(Session.class)
+                  .doWork(
+                      connection -> {
+                        try (Statement statement = connection.createStatement()) {
+                          statement.execute("set local plan_cache_mode = force_generic_plan");
+                          statement.execute(prepared.toString());
+                          try (ResultSet plan = statement.executeQuery(execute)) {
+                            while (plan.next()) {
+                              lines.add(plan.getString(1));
+                            }
+                          }
+                          statement.execute("deallocate plan_check");
+                        }
+                      });
+              return String.join("\n", lines);
+            });
+  }
+
+  private void evictCaches() {
+    entityManager.getEntityManagerFactory().getCache().unwrap(Cache.class).evictAllRegions();
+  }
+}
@@ -3,17 +3,24 @@ package com.fulfilment.application.monolith.location;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fulfilment.application.monolith.warehouses.domain.exceptions.LocationIdentifierInvalidException;
 import com.fulfilment.application.monolith.warehouses.domain.exceptions.LocationNotFoundException;
 import com.fulfilment.application.monolith.warehouses.domain.models.Location;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 @QuarkusTest
 public class LocationGatewayTest {
 
   @Inject LocationGateway locationGateway;
+  @Inject ObjectMapper objectMapper;
 
   @Test
   public void testWhenResolveExistingLocationShouldReturn() {
@@ -50,4 +57,77 @@ public class LocationGatewayTest {
     assertThrows(
         LocationIdentifierInvalidException.class, () -> locationGateway.resolveByIdentifier("  "));
   }
+
+  @Test
+  public void testWhenReloadFromCsvShouldResolveLoadedLocations(@TempDir Path dir)
+      throws IOException {
+    Path csv = dir.resolve("locations.csv");
+    Files.writeString(
+        csv,
+        """
+        identification,maxNumberOfWarehouses,maxCapacity
+        # comment lines are skipped
+        UTRECHT-001, 2, 60
+        UTRECHT-002,1,30
+        """);
+    LocationGateway gateway = gatewayFor(csv);
+
+    assertEquals(2, gateway.reload());
+
+    Location location = gateway.resolveByIdentifier("UTRECHT-001");
+    assertEquals(2, location.maxNumberOfWarehouses);
+    assertEquals(60, location.maxCapacity);
+    assertThrows(LocationNotFoundException.class, () -> gateway.resolveByIdentifier("ZWOLLE-001"));
+  }
+
+  @Test
+  public void testWhenReloadFromJsonShouldResolveLoadedLocations(@TempDir Path dir)
+      throws IOException {
+    Path json = dir.resolve("locations.json");
+    Files.writeString(
+        json,
+        """
+        [{"identification": "UTRECHT-001", "maxNumberOfWarehouses": 2, "maxCapacity": 60}]
+        """);
+    LocationGateway gateway = gatewayFor(json);
+
+    assertEquals(1, gateway.reload());
+    assertEquals(60, gateway.resolveByIdentifier("UTRECHT-001").maxCapacity);
+  }
+
+  @Test
+  public void testWhenReloadFromInvalidSourceShouldKeepCurrentLocations(@TempDir Path dir)
+      throws IOException {
+    Path csv = dir.resolve("locations.csv");
+    Files.writeString(csv, "UTRECHT-001,2,60\nUTRECHT-001,1,30\n");
+    LocationGateway gateway = gatewayFor(csv);
+
+    assertThrows(LocationSourceException.class, gateway::reload);
+
+    assertEquals("ZWOLLE-001", gateway.resolveByIdentifier("ZWOLLE-001").identification);
+    assertEquals(0, gateway.stats().reloads());
+  }
+
+  @Test
+  public void testStatsShouldCountHitsMissesAndInvalidLookups() {
+    LocationGateway gateway = new LocationGateway();
+
+    gateway.resolveByIdentifier("ZWOLLE-001");
+    assertThrows(LocationNotFoundException.class, () -> gateway.resolveByIdentifier("NOPE"));
+    assertThrows(LocationIdentifierInvalidException.class, () -> gateway.resolveByIdentifier(""));
+
+    LocationStats stats = gateway.stats();
+    assertEquals(LocationGateway.DEFAULT_LOCATIONS.size(), stats.locations());
+    assertEquals("built-in", stats.source());
+    assertEquals(1, stats.hits());
+    assertEquals(1, stats.misses());
+    assertEquals(1, stats.invalid());
+  }
+
+  private LocationGateway gatewayFor(Path source) {
+    LocationGateway gateway = new LocationGateway();
+    gateway.source = Optional.of(source.toString());
+    gateway.objectMapper = objectMapper;
+    return gateway;
+  }
 }
@@ -0,0 +1,92 @@
+package com.fulfilment.application.monolith.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import org.jboss.logmanager.ExtLogRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Plain JUnit: the filter on hand-made records with a controlled clock. */
+class CategoryRateLimitFilterTest {
+
+  private static final String REPOSITORY = "com.example.database.WarehouseRepository";
+  private static final String GATEWAY = "com.example.location.LocationGateway";
+
+  private long now;
+  private CategoryRateLimitFilter filter;
+
+  @BeforeEach
+  void setUp() {
+    filter = new CategoryRateLimitFilter("com.example.database, " + GATEWAY, 2);
+    filter.nanoTime = () -> now;
+  }
+
+  @Test
+  void recordsOverTheLimit_areDroppedUntilTheNextWindow() {
+    assertTrue(filter.isLoggable(record(Level.INFO, REPOSITORY, "first")));
+    assertTrue(filter.isLoggable(record(Level.INFO, REPOSITORY, "second")));
+    assertFalse(filter.isLoggable(record(Level.INFO, REPOSITORY, "third")));
+    assertFalse(filter.isLoggable(record(Level.WARNING, REPOSITORY, "fourth")));
+
+    now += TimeUnit.SECONDS.toNanos(1);
+    LogRecord next = record(Level.INFO, REPOSITORY, "fifth");
+
+    assertTrue(filter.isLoggable(next));
+    assertEquals("fifth [2 records dropped by rate limit]", next.getMessage());
+  }
+
+  @Test
+  void categories_haveSeparateWindows() {
+    assertTrue(filter.isLoggable(record(Level.INFO, REPOSITORY, "a")));
+    assertTrue(filter.isLoggable(record(Level.INFO, REPOSITORY, "b")));
+    assertFalse(filter.isLoggable(record(Level.INFO, REPOSITORY, "c")));
+
+    assertTrue(filter.isLoggable(record(Level.INFO, GATEWAY, "d")));
+  }
+
+  @Test
+  void errorsAndOtherCategories_alwaysPass() {
+    for (int i = 0; i < 10; i++) {
+      assertTrue(filter.isLoggable(record(Level.SEVERE, REPOSITORY, "error")));
+      assertTrue(filter.isLoggable(record(Level.INFO, "com.example.usecases.Create", "info")));
+      // a shared prefix is not a sub-category
+      assertTrue(filter.isLoggable(record(Level.INFO, "com.example.databases.Other", "info")));
+    }
+  }
+
+  @Test
+  void zeroPerSecond_disablesTheLimit() {
+    filter = new CategoryRateLimitFilter(REPOSITORY, 0);
+    for (int i = 0; i < 10; i++) {
+      assertTrue(filter.isLoggable(record(Level.INFO, REPOSITORY, "info")));
+    }
+  }
+
+  @Test
+  void droppedNote_keepsTheFormatStyle() {
+    filter = new CategoryRateLimitFilter(REPOSITORY, 1);
+    filter.nanoTime = () -> now;
+    filter.isLoggable(record(Level.INFO, REPOSITORY, "first"));
+    filter.isLoggable(record(Level.INFO, REPOSITORY, "dropped"));
+    now += TimeUnit.SECONDS.toNanos(1);
+
+    var printf = new ExtLogRecord(Level.INFO, "Found %s", ExtLogRecord.FormatStyle.PRINTF, "x");
+    printf.setLoggerName(REPOSITORY);
+    printf.setParameters(new Object[] {"MWH.001"});
+    assertTrue(filter.isLoggable(printf));
+
+    assertEquals(ExtLogRecord.FormatStyle.PRINTF, printf.getFormatStyle());
+    assertEquals("Found MWH.001 [1 records dropped by rate limit]", printf.getFormattedMessage());
+  }
+
+  private static LogRecord record(Level level, String loggerName, String message) {
+    LogRecord record = new LogRecord(level, message);
+    record.setLoggerName(loggerName);
+    return record;
+  }
+}
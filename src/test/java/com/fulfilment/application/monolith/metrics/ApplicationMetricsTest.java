@@ -0,0 +1,49 @@
+package com.fulfilment.application.monolith.metrics;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fulfilment.application.monolith.fulfilment.FulfilmentConstraintException;
+import com.fulfilment.application.monolith.fulfilment.FulfilmentService;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.MediaType;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+class ApplicationMetricsTest {
+
+  @Inject FulfilmentService fulfilmentService;
+
+  @Test
+  void metricsEndpoint_reportsUseCaseLatencyRepositoryCallsAndErrorCodes() {
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(
+            "{\"businessUnitCode\":\"MWH.METRICS\",\"location\":\"NOWHERE-001\","
+                + "\"capacity\":10,\"stock\":1}")
+        .when()
+        .post("warehouse")
+        .then()
+        .body("errorCode", equalTo("LOCATION_NOT_FOUND"));
+    assertThrows(FulfilmentConstraintException.class, () -> fulfilmentService.assign(999L, 1L, 1L));
+
+    given()
+        .when()
+        .get("/q/metrics")
+        .then()
+        .statusCode(200)
+        .body(
+            containsString("warehouse_create_seconds_bucket{"),
+            containsString(
+                "fulfilment_assign_seconds_count{class=\"com.fulfilment.application.monolith"
+                    + ".fulfilment.FulfilmentService\",exception=\"FulfilmentConstraintException\""),
+            containsString(
+                "repository_query_seconds_count{class=\"com.fulfilment.application.monolith"
+                    + ".warehouses.adapters.database.WarehouseRepository\",exception=\"none\","
+                    + "method=\"findActiveByBusinessUnitCode\""),
+            containsString("business_errors_total{errorCode=\"LOCATION_NOT_FOUND\""));
+  }
+}
@@ -0,0 +1,58 @@
+package com.fulfilment.application.monolith.metrics;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fulfilment.application.monolith.products.Product;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+class SecondLevelCacheMetricsTest {
+
+  private static final String PRODUCT_REGION = Product.class.getName();
+
+  @Inject EntityManager entityManager;
+
+  @Test
+  void metricsEndpoint_reportsEachRegion() {
+    Long productId =
+        QuarkusTransaction.requiringNew()
+            .call(
+                () -> {
+                  Product product = new Product("CACHE-METRICS");
+                  entityManager.persist(product);
+                  return product.id;
+                });
+    for (int i = 0; i < 2; i++) {
+      QuarkusTransaction.requiringNew().run(() -> entityManager.find(Product.class, productId));
+    }
+
+    String metrics = given().when().get("/q/metrics").then().statusCode(200).extract().asString();
+
+    assertTrue(
+        value(metrics, "hibernate_second_level_cache_requests_total", PRODUCT_REGION, "hit") >= 1,
+        metrics);
+    assertTrue(
+        value(metrics, "hibernate_second_level_cache_puts_total", PRODUCT_REGION, null) >= 1,
+        metrics);
+  }
+
+  /**
+   * Value of the first sample of {@code name} for the region (and result), or -1 if absent. Labels
+   * are matched wherever they appear, as the built-in metrics add their own.
+   */
+  private static double value(String metrics, String name, String region, String result) {
+    return metrics
+        .lines()
+        .filter(line -> line.startsWith(name + "{"))
+        .filter(line -> line.contains("region=\"" + region + "\""))
+        .filter(line -> result == null || line.contains("result=\"" + result + "\""))
+        .mapToDouble(line -> Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1)))
+        .findFirst()
+        .orElse(-1);
+  }
+}
@@ -0,0 +1,139 @@
+package com.fulfilment.application.monolith.persistence;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fulfilment.application.monolith.products.Product;
+import com.fulfilment.application.monolith.stores.Store;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The {@code perf} config profile: JDBC batching with inserts and updates ordered by entity. A
+ * transaction that writes several entity types alternately still prepares one statement per entity
+ * type (Hibernate statistics count each batch as one prepared statement), and writes that rely on
+ * the database rejecting them behave as without batching.
+ */
+@QuarkusTest
+@TestProfile(JdbcBatchingProfileTest.PerfProfile.class)
+class JdbcBatchingProfileTest {
+
+  public static class PerfProfile implements QuarkusTestProfile {
+    @Override
+    public String getConfigProfile() {
+      return "test,perf";
+    }
+  }
+
+  private static final int ROWS = 3;
+
+  @Inject EntityManager entityManager;
+  @Inject SessionFactory sessionFactory;
+
+  @Test
+  void interleavedInserts_goOutAsOneBatchPerEntity() {
+    // takes the first id block of each sequence, so no nextval falls into the measured flush
+    insertInterleaved("BATCH-WARMUP-");
+    Statistics statistics = sessionFactory.getStatistics();
+    statistics.clear();
+
+    insertInterleaved("BATCH-INSERT-");
+
+    assertEquals(2 * ROWS, statistics.getEntityInsertCount());
+    assertEquals(2, statistics.getPrepareStatementCount());
+  }
+
+  @Test
+  void interleavedUpdates_goOutAsOneBatchPerEntity() {
+    List<Object> entities = insertInterleaved("BATCH-UPDATE-");
+    Statistics statistics = sessionFactory.getStatistics();
+
+    QuarkusTransaction.requiringNew()
+        .run(
+            () -> {
+              // loaded alternately, so the persistence context holds them in that order
+              List<Object> loaded = new ArrayList<>();
+              for (Object entity : entities) {
+                loaded.add(
+                    entity instanceof Product product
+                        ? entityManager.find(Product.class, product.id)
+                        : entityManager.find(Store.class, ((Store) entity).id));
+              }
+              statistics.clear();
+              for (Object entity : loaded) {
+                if (entity instanceof Product product) {
+                  product.stock++;
+                } else {
+                  ((Store) entity).quantityProductsInStock++;
+                }
+              }
+              entityManager.flush();
+
+              assertEquals(2 * ROWS, statistics.getEntityUpdateCount());
+              assertEquals(2, statistics.getPrepareStatementCount());
+            });
+  }
+
+  @Test
+  void createWithTakenName_stillReturns409() {
+    given()
+        .contentType("application/json")
+        .body("{\"name\": \"TONSTAD\", \"quantityProductsInStock\": 1}")
+        .when()
+        .post("store")
+        .then()
+        .statusCode(409);
+  }
+
+  @Test
+  void replace_archivesAndCreatesWithBatchingEnabled() {
+    Statistics statistics = sessionFactory.getStatistics();
+    statistics.clear();
+
+    given()
+        .contentType("application/json")
+        .body(
+            """
+            {
+              "businessUnitCode": "MWH.023",
+              "location": "TILBURG-001",
+              "capacity": 35,
+              "stock": 27
+            }
+            """)
+        .when()
+        .put("warehouse/MWH.023")
+        .then()
+        .statusCode(200);
+
+    assertEquals(1, statistics.getEntityUpdateCount());
+    assertEquals(1, statistics.getEntityInsertCount());
+  }
+
+  /** Persists {@link #ROWS} products and stores, alternating, in one transaction. */
+  private List<Object> insertInterleaved(String prefix) {
+    return QuarkusTransaction.requiringNew()
+        .call(
+            () -> {
+              List<Object> entities = new ArrayList<>();
+              for (int i = 0; i < ROWS; i++) {
+                Product product = new Product(prefix + "P" + i);
+                entityManager.persist(product);
+                entities.add(product);
+                Store store = new Store(prefix + "S" + i);
+                entityManager.persist(store);
+                entities.add(store);
+              }
+              return entities;
+            });
+  }
+}
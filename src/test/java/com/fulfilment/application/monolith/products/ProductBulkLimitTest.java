@@ -0,0 +1,80 @@
+package com.fulfilment.application.monolith.products;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.hasItems;
+import static org.hamcrest.CoreMatchers.not;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@code product.bulk.max-size} caps JSON lists and NDJSON lines alike, since the response holds a
+ * result per product. With chunks of 2 (test profile), an NDJSON request over the limit keeps the
+ * chunks written before the line that exceeded it.
+ */
+@QuarkusTest
+@TestProfile(ProductBulkLimitTest.SmallBulkProfile.class)
+class ProductBulkLimitTest {
+
+  public static class SmallBulkProfile implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      return Map.of("product.bulk.max-size", "3");
+    }
+  }
+
+  @Test
+  void jsonListOverTheLimit_returns422() {
+    given()
+        .contentType("application/json")
+        .body(
+            "[{\"name\": \"LIMIT_JSON_1\"}, {\"name\": \"LIMIT_JSON_2\"},"
+                + " {\"name\": \"LIMIT_JSON_3\"}, {\"name\": \"LIMIT_JSON_4\"}]")
+        .when()
+        .post("product/bulk")
+        .then()
+        .statusCode(422)
+        .body(containsString("at most 3 products"));
+  }
+
+  @Test
+  void ndjsonAtTheLimit_isUpserted() {
+    given()
+        .contentType("application/x-ndjson")
+        .body("{\"name\": \"LIMIT_NDJSON_1\"}\n\n{\"name\": \"LIMIT_NDJSON_2\"}\nnot json\n")
+        .when()
+        .post("product/bulk")
+        .then()
+        .statusCode(200)
+        .body("created", equalTo(2))
+        .body("rejected", equalTo(1));
+  }
+
+  @Test
+  void ndjsonOverTheLimit_returns422AfterTheCommittedChunks() {
+    given()
+        .contentType("application/x-ndjson")
+        .body(
+            "{\"name\": \"LIMIT_OVER_1\"}\n{\"name\": \"LIMIT_OVER_2\"}\n"
+                + "{\"name\": \"LIMIT_OVER_3\"}\n{\"name\": \"LIMIT_OVER_4\"}\n")
+        .when()
+        .post("product/bulk")
+        .then()
+        .statusCode(422)
+        .body(containsString("at most 3 products"));
+
+    given()
+        .when()
+        .get("product")
+        .then()
+        .statusCode(200)
+        .body("name", hasItems("LIMIT_OVER_1", "LIMIT_OVER_2"))
+        .body("name", not(hasItem("LIMIT_OVER_3")));
+  }
+}
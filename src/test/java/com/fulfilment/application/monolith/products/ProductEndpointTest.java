@@ -2,10 +2,19 @@ package com.fulfilment.application.monolith.products;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.core.IsNot.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.response.ValidatableResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 
 @QuarkusTest
@@ -24,6 +33,108 @@ public class ProductEndpointTest {
         .body(containsString("KALLAX"), containsString("BESTÅ"));
   }
 
+  @Test
+  public void get_withLimit_pagesInNameOrderUntilLastPage() {
+    List<String> all = given().when().get(PATH).then().statusCode(200).extract().path("name");
+
+    List<String> paged = new ArrayList<>();
+    String cursor = null;
+    do {
+      var request = given().queryParam("limit", 2);
+      if (cursor != null) {
+        request.queryParam("after", cursor);
+      }
+      ValidatableResponse page = request.when().get(PATH).then().statusCode(200);
+      List<String> names = page.extract().path("name");
+      assertTrue(names.size() <= 2);
+      paged.addAll(names);
+      cursor = page.extract().header(ProductResource.NEXT_CURSOR_HEADER);
+    } while (cursor != null);
+
+    assertEquals(all, paged);
+  }
+
+  @Test
+  public void get_withMalformedCursor_returns400() {
+    given()
+        .queryParam("limit", 2)
+        .queryParam("after", "%%%")
+        .when()
+        .get(PATH)
+        .then()
+        .statusCode(400);
+  }
+
+  @Test
+  public void stream_writesOneJsonObjectPerLineInNameOrder() {
+    List<String> all = given().when().get(PATH).then().statusCode(200).extract().path("name");
+
+    // ndjson has no charset parameter; the body is UTF-8 (BESTÅ)
+    String body =
+        new String(
+            given()
+                .when()
+                .get(PATH + "/stream")
+                .then()
+                .statusCode(200)
+                .contentType(startsWith("application/x-ndjson"))
+                .extract()
+                .asByteArray(),
+            StandardCharsets.UTF_8);
+
+    String[] lines = body.split("\n");
+    assertEquals(all.size(), lines.length);
+    for (int i = 0; i < lines.length; i++) {
+      assertTrue(lines[i].contains("\"name\":\"" + all.get(i) + "\""), lines[i]);
+    }
+  }
+
+  // --- POST bulk ---
+  @Test
+  public void bulk_createsUpdatesAndRejectsPerItem() {
+    given()
+        .contentType("application/json")
+        .body(
+            "[{\"name\": \"BULK_NEW_1\", \"stock\": 4},"
+                + " {\"name\": \"BESTÅ\", \"description\": \"bulk\", \"stock\": 8},"
+                + " {\"name\": \"BULK_NEW_1\", \"stock\": 5},"
+                + " {\"name\": \" \"},"
+                + " {\"name\": \"BULK_NEW_2\", \"stock\": 1}]")
+        .when()
+        .post(PATH + "/bulk")
+        .then()
+        .statusCode(200)
+        .body("created", equalTo(2))
+        .body("updated", equalTo(1))
+        .body("rejected", equalTo(2))
+        .body("items.status", contains("CREATED", "UPDATED", "REJECTED", "REJECTED", "CREATED"))
+        .body(
+            "items.errorCode",
+            contains(null, null, "DUPLICATE_IN_REQUEST", "INVALID_PRODUCT", null))
+        .body("items[0].id", notNullValue());
+
+    given()
+        .when()
+        .get(PATH + "/3")
+        .then()
+        .statusCode(200)
+        .body("description", equalTo("bulk"))
+        .body("stock", equalTo(8));
+  }
+
+  @Test
+  public void bulk_ndjson_upsertsLineByLineAndRejectsUnreadableLines() {
+    given()
+        .contentType("application/x-ndjson")
+        .body("{\"name\": \"BULK_NDJSON_1\"}\n\nnot json\n{\"name\": \"BULK_NDJSON_2\"}\n")
+        .when()
+        .post(PATH + "/bulk")
+        .then()
+        .statusCode(200)
+        .body("items.status", contains("CREATED", "REJECTED", "CREATED"))
+        .body("items.index", contains(0, 1, 2));
+  }
+
   // --- GET single ---
   @Test
   public void getSingle_whenExists_returnsProduct() {
@@ -72,6 +183,38 @@ public class ProductEndpointTest {
         .body(containsString("CREATED_PRODUCT"));
   }
 
+  @Test
+  public void create_whenVersionSet_startsAtVersion0() {
+    int id =
+        given()
+            .contentType("application/json")
+            .body("{\"name\": \"VERSIONED_PRODUCT\", \"stock\": 1, \"version\": 7}")
+            .when()
+            .post(PATH)
+            .then()
+            .statusCode(201)
+            .body("version", equalTo(0))
+            .extract()
+            .path("id");
+
+    given().when().get(PATH + "/" + id).then().statusCode(200).body("version", equalTo(0));
+  }
+
+  @Test
+  public void create_whenNameTaken_returns409FromUniqueConstraint() {
+    String body = "{\"name\": \"DUPLICATE_PRODUCT\", \"stock\": 1}";
+    given().contentType("application/json").body(body).when().post(PATH).then().statusCode(201);
+
+    given()
+        .contentType("application/json")
+        .body(body)
+        .when()
+        .post(PATH)
+        .then()
+        .statusCode(409)
+        .body(containsString("already exists"));
+  }
+
   // --- PUT update ---
   @Test
   public void update_whenExists_returns200() {
@@ -0,0 +1,104 @@
+package com.fulfilment.application.monolith.products;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fulfilment.application.monolith.persistence.PooledLoSequenceGenerator;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import org.hibernate.Session;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/**
+ * Product inserts per second through ORM at the configured {@code id.allocation-size.product_seq},
+ * in transactions of 500 with JDBC batches of 50 as the bulk upsert writes them. The rate is logged
+ * together with the allocation size; the ids must be unique and above the seeded rows, and the
+ * sequence must step by the allocation size.
+ *
+ * <p>Not part of {@code mvn test}; run with {@code mvn test -Dtest=ProductInsertThroughputIT}, or
+ * {@code scripts/load/compare-id-allocation.sh} for a run per allocation size.
+ */
+@QuarkusTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProductInsertThroughputIT {
+
+  private static final Logger LOGGER = Logger.getLogger(ProductInsertThroughputIT.class.getName());
+
+  private static final String PREFIX = "THROUGHPUT-IT-";
+  private static final int WARMUP_ROWS = 2_000;
+  private static final int MEASURED_ROWS = 20_000;
+  private static final int ROWS_PER_TRANSACTION = 500;
+  private static final int JDBC_BATCH_SIZE = 50;
+
+  @Inject ProductRepository productRepository;
+
+  @AfterAll
+  void cleanUp() {
+    QuarkusTransaction.requiringNew()
+        .run(() -> productRepository.delete("name like ?1", PREFIX + "%"));
+    productRepository.getEntityManager().getEntityManagerFactory().getCache().evict(Product.class);
+  }
+
+  @Test
+  void inserts_drawIdsInBlocksOfTheAllocationSize() {
+    int allocationSize = PooledLoSequenceGenerator.allocationSize(Product.SEQUENCE);
+    Number increment =
+        QuarkusTransaction.requiringNew()
+            .call(
+                () ->
+                    (Number)
+                        productRepository
+                            .getEntityManager()
+                            .createNativeQuery(
+                                "select increment_by from pg_sequences where sequencename = ?1")
+                            .setParameter(1, Product.SEQUENCE)
+                            .getSingleResult());
+    assertEquals(allocationSize, increment.intValue());
+
+    insert(0, WARMUP_ROWS);
+    long start = System.nanoTime();
+    List<Long> ids = insert(WARMUP_ROWS, MEASURED_ROWS);
+    double seconds = (System.nanoTime() - start) / 1e9;
+
+    LOGGER.infov(
+        "Inserted products: allocationSize={0}, rows={1}, {2,number,#} rows/s",
+        allocationSize,
+        MEASURED_ROWS,
+        MEASURED_ROWS / seconds);
+    assertEquals(MEASURED_ROWS, new HashSet<>(ids).size());
+    assertTrue(ids.stream().allMatch(id -> id > 3), "ids must stay above the seeded rows");
+  }
+
+  private List<Long> insert(int from, int rows) {
+    List<Long> ids = new ArrayList<>(rows);
+    for (int offset = 0; offset < rows; offset += ROWS_PER_TRANSACTION) {
+      int first = from + offset;
+      int count = Math.min(ROWS_PER_TRANSACTION, rows - offset);
+      ids.addAll(
+          QuarkusTransaction.requiringNew()
+              .call(
+                  () -> {
+                    productRepository
+                        .getEntityManager()
+                        .unwrap(Session.class)
+                        .setJdbcBatchSize(JDBC_BATCH_SIZE);
+                    List<Product> products = new ArrayList<>(count);
+                    for (int i = first; i < first + count; i++) {
+                      Product product = new Product(PREFIX + i);
+                      productRepository.persist(product);
+                      products.add(product);
+                    }
+                    productRepository.flush();
+                    return products.stream().map(p -> p.id).toList();
+                  }));
+    }
+    return ids;
+  }
+}
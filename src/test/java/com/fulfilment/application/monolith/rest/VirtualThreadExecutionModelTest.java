@@ -0,0 +1,79 @@
+package com.fulfilment.application.monolith.rest;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+
+import com.fulfilment.application.monolith.fulfilment.FulfilmentService;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.quarkus.test.junit.mockito.InjectSpy;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The {@code @RunOnVirtualThread} resources with {@code quarkus.virtual-threads.enabled=true}: a
+ * request runs on a virtual thread, and reads, transactional writes and error mapping behave as on
+ * the worker pool.
+ */
+@QuarkusTest
+@TestProfile(VirtualThreadExecutionModelTest.VirtualThreadsProfile.class)
+class VirtualThreadExecutionModelTest {
+
+  public static class VirtualThreadsProfile implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      return Map.of("quarkus.virtual-threads.enabled", "true");
+    }
+  }
+
+  @InjectSpy FulfilmentService fulfilmentService;
+
+  @Test
+  void blockingEndpoint_runsOnVirtualThread() {
+    AtomicBoolean virtual = new AtomicBoolean();
+    doAnswer(
+            invocation -> {
+              virtual.set(Thread.currentThread().isVirtual());
+              return invocation.callRealMethod();
+            })
+        .when(fulfilmentService)
+        .listByStore(anyLong());
+
+    given().queryParam("storeId", 1).when().get("fulfilment").then().statusCode(200);
+
+    assertTrue(virtual.get());
+  }
+
+  @Test
+  void read_returns200() {
+    given().when().get("store").then().statusCode(200).body(containsString("TONSTAD"));
+  }
+
+  @Test
+  void transactionalWrite_returns201() {
+    given()
+        .contentType("application/json")
+        .body("{\"name\": \"VIRTUAL_THREAD_STORE\", \"quantityProductsInStock\": 1}")
+        .when()
+        .post("store")
+        .then()
+        .statusCode(201)
+        .body("name", equalTo("VIRTUAL_THREAD_STORE"));
+  }
+
+  @Test
+  void businessException_isMapped() {
+    given()
+        .when()
+        .get("warehouse/99999")
+        .then()
+        .statusCode(404)
+        .body("errorCode", equalTo("WAREHOUSE_NOT_FOUND"));
+  }
+}
@@ -0,0 +1,119 @@
+package com.fulfilment.application.monolith.stores;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LegacySegmentWriterTest {
+
+  @TempDir Path directory;
+
+  @Test
+  void append_writesRecordsToOneOpenSegment() throws IOException {
+    try (LegacySegmentWriter writer =
+        new LegacySegmentWriter(directory, 64, Duration.ofHours(1), 1 << 20, Duration.ofHours(1))) {
+      writer.append("first");
+      writer.append("second");
+
+      assertEquals(List.of(), files(LegacySegmentWriter.READY_SUFFIX));
+      List<Path> open = files(LegacySegmentWriter.OPEN_SUFFIX);
+      assertEquals(1, open.size());
+      assertEquals(List.of("first", "second"), Files.readAllLines(open.get(0)));
+    }
+  }
+
+  @Test
+  void close_handsOffTheOpenSegment() throws IOException {
+    LegacySegmentWriter writer =
+        new LegacySegmentWriter(directory, 64, Duration.ofHours(1), 1 << 20, Duration.ofHours(1));
+    writer.append("record");
+    writer.close();
+
+    assertEquals(List.of(), files(LegacySegmentWriter.OPEN_SUFFIX));
+    List<Path> ready = files(LegacySegmentWriter.READY_SUFFIX);
+    assertEquals(1, ready.size());
+    assertEquals(List.of("record"), Files.readAllLines(ready.get(0)));
+  }
+
+  @Test
+  void append_rotatesWhenTheSegmentIsFull() throws IOException {
+    try (LegacySegmentWriter writer =
+        new LegacySegmentWriter(directory, 64, Duration.ofHours(1), 20, Duration.ofHours(1))) {
+      for (int i = 0; i < 10; i++) {
+        writer.append("record-" + i);
+      }
+
+      // 9 bytes per record: every third append fills a segment
+      List<Path> ready = files(LegacySegmentWriter.READY_SUFFIX);
+      assertEquals(3, ready.size());
+      List<String> records = new ArrayList<>();
+      for (Path segment : ready) {
+        records.addAll(Files.readAllLines(segment));
+      }
+      assertEquals(9, records.size());
+      assertEquals("record-0", records.get(0));
+      assertEquals("record-8", records.get(8));
+    }
+  }
+
+  @Test
+  void syncIfDue_rotatesAnExpiredSegment() throws Exception {
+    try (LegacySegmentWriter writer =
+        new LegacySegmentWriter(directory, 64, Duration.ZERO, 1 << 20, Duration.ofMillis(50))) {
+      writer.append("record");
+      assertEquals(1, files(LegacySegmentWriter.OPEN_SUFFIX).size());
+
+      Thread.sleep(100);
+      writer.syncIfDue();
+
+      assertEquals(List.of(), files(LegacySegmentWriter.OPEN_SUFFIX));
+      assertEquals(1, files(LegacySegmentWriter.READY_SUFFIX).size());
+    }
+  }
+
+  @Test
+  void rotate_withoutOpenSegment_doesNothing() throws IOException {
+    try (LegacySegmentWriter writer =
+        new LegacySegmentWriter(directory, 1, Duration.ZERO, 1 << 20, Duration.ofHours(1))) {
+      writer.rotate();
+      writer.sync();
+
+      assertTrue(files("").isEmpty());
+    }
+  }
+
+  @Test
+  void recover_handsOffSegmentsLeftOpenByACrash() throws IOException {
+    Path leftover = directory.resolve("stores-1-000000" + LegacySegmentWriter.OPEN_SUFFIX);
+    // the last record was cut off before it was synced
+    Files.writeString(leftover, "synced-1\nsynced-2\ncut-o");
+
+    try (LegacySegmentWriter writer =
+        new LegacySegmentWriter(directory, 64, Duration.ofHours(1), 1 << 20, Duration.ofHours(1))) {
+      assertEquals(1, writer.recover());
+      writer.append("after-restart");
+
+      List<Path> ready = files(LegacySegmentWriter.READY_SUFFIX);
+      assertEquals(1, ready.size());
+      assertEquals(List.of("synced-1", "synced-2"), Files.readAllLines(ready.get(0)));
+      // the writer's own open segment is not touched
+      assertEquals(0, writer.recover());
+      assertEquals(1, files(LegacySegmentWriter.OPEN_SUFFIX).size());
+    }
+  }
+
+  private List<Path> files(String suffix) throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.filter(f -> f.toString().endsWith(suffix)).sorted().toList();
+    }
+  }
+}
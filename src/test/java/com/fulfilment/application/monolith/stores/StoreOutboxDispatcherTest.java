@@ -0,0 +1,242 @@
+package com.fulfilment.application.monolith.stores;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+@QuarkusTest
+class StoreOutboxDispatcherTest {
+
+  @InjectMock LegacyStoreManagerGateway legacyStoreManagerGateway;
+  @Inject StoreOutboxDispatcher dispatcher;
+  @Inject Event<StoreEvent> storeEvent;
+
+  @BeforeEach
+  void setup() {
+    // Start from an empty outbox so each test only sees its own entries
+    dispatcher.dispatchPending();
+    QuarkusTransaction.requiringNew().run(() -> StoreOutboxEntry.deleteAll());
+    Mockito.reset(legacyStoreManagerGateway);
+  }
+
+  @Test
+  void storeChange_isQueuedInItsTransaction_andDeliveredByDispatcher() {
+    Long id = createStore("OUTBOX_CREATE");
+
+    Mockito.verifyNoInteractions(legacyStoreManagerGateway);
+    assertEquals(1, outboxSize());
+
+    assertEquals(1, dispatcher.dispatchPending());
+    Mockito.verify(legacyStoreManagerGateway)
+        .createStoreOnLegacySystem(Mockito.argThat(s -> s.id.equals(id)));
+    assertEquals(0, outboxSize());
+  }
+
+  @Test
+  void rolledBackChange_isNotQueued() {
+    QuarkusTransaction.requiringNew()
+        .run(
+            () -> {
+              Store store = new Store("OUTBOX_ROLLBACK");
+              store.persist();
+              storeEvent.fire(new StoreEvent(store, StoreEvent.ActionType.CREATED));
+              QuarkusTransaction.setRollbackOnly();
+            });
+
+    assertEquals(0, outboxSize());
+    assertEquals(0, dispatcher.dispatchPending());
+    Mockito.verifyNoInteractions(legacyStoreManagerGateway);
+  }
+
+  @Test
+  void repeatedUpdates_areCoalescedIntoOneCallWithLatestState() {
+    Long id = createStore("OUTBOX_COALESCE");
+    dispatcher.dispatchPending();
+    Mockito.reset(legacyStoreManagerGateway);
+
+    for (int quantity = 1; quantity <= 3; quantity++) {
+      updateStore(id, quantity);
+    }
+
+    assertEquals(3, dispatcher.dispatchPending());
+    Mockito.verify(legacyStoreManagerGateway, Mockito.times(1))
+        .updateStoreOnLegacySystem(
+            Mockito.argThat(s -> s.id.equals(id) && s.quantityProductsInStock == 3));
+    Mockito.verify(legacyStoreManagerGateway).flush();
+    Mockito.verifyNoMoreInteractions(legacyStoreManagerGateway);
+  }
+
+  @Test
+  void createFollowedByUpdate_isDeliveredAsOneCreate() {
+    Long id = createStore("OUTBOX_CREATE_UPDATE");
+    updateStore(id, 9);
+
+    dispatcher.dispatchPending();
+
+    Mockito.verify(legacyStoreManagerGateway)
+        .createStoreOnLegacySystem(
+            Mockito.argThat(s -> s.id.equals(id) && s.quantityProductsInStock == 9));
+    Mockito.verify(legacyStoreManagerGateway).flush();
+    Mockito.verifyNoMoreInteractions(legacyStoreManagerGateway);
+  }
+
+  @Test
+  void failedDelivery_isRetriedAfterBackoff() {
+    Long id = createStore("OUTBOX_RETRY");
+    Mockito.doThrow(new UncheckedIOException(new IOException("legacy down")))
+        .doNothing()
+        .when(legacyStoreManagerGateway)
+        .createStoreOnLegacySystem(Mockito.any());
+
+    assertEquals(0, dispatcher.dispatchPending());
+    StoreOutboxEntry entry = onlyEntry();
+    assertEquals(1, entry.attempts);
+    assertTrue(entry.nextAttemptAt.isAfter(LocalDateTime.now()));
+    assertTrue(entry.lastError.contains("legacy down"));
+
+    // Not due yet
+    assertEquals(0, dispatcher.dispatchPending());
+    Mockito.verify(legacyStoreManagerGateway, Mockito.times(1))
+        .createStoreOnLegacySystem(Mockito.any());
+
+    makeDue();
+    assertEquals(1, dispatcher.dispatchPending());
+    Mockito.verify(legacyStoreManagerGateway, Mockito.times(2))
+        .createStoreOnLegacySystem(Mockito.argThat(s -> s.id.equals(id)));
+    assertEquals(0, outboxSize());
+  }
+
+  @Test
+  void updateAfterAFailedCreate_waitsForTheCreate() {
+    Long id = createStore("OUTBOX_CREATE_FAILED");
+    Mockito.doThrow(new UncheckedIOException(new IOException("legacy down")))
+        .doNothing()
+        .when(legacyStoreManagerGateway)
+        .createStoreOnLegacySystem(Mockito.any());
+    assertEquals(0, dispatcher.dispatchPending());
+
+    updateStore(id, 4);
+
+    // the create is in backoff, so the update is held back rather than sent on its own
+    assertEquals(0, dispatcher.dispatchPending());
+    Mockito.verify(legacyStoreManagerGateway, Mockito.never())
+        .updateStoreOnLegacySystem(Mockito.any());
+    assertEquals(2, outboxSize());
+
+    makeDue();
+    assertEquals(2, dispatcher.dispatchPending());
+    Mockito.verify(legacyStoreManagerGateway, Mockito.times(2))
+        .createStoreOnLegacySystem(Mockito.argThat(s -> s.id.equals(id)));
+    Mockito.verify(legacyStoreManagerGateway)
+        .createStoreOnLegacySystem(Mockito.argThat(s -> s.quantityProductsInStock == 4));
+    Mockito.verify(legacyStoreManagerGateway, Mockito.never())
+        .updateStoreOnLegacySystem(Mockito.any());
+    assertEquals(0, outboxSize());
+  }
+
+  @Test
+  void failedFlush_keepsTheBatchForRetry() {
+    createStore("OUTBOX_FLUSH");
+    Mockito.doThrow(new UncheckedIOException(new IOException("sync failed")))
+        .when(legacyStoreManagerGateway)
+        .flush();
+
+    assertEquals(0, dispatcher.dispatchPending());
+
+    StoreOutboxEntry entry = onlyEntry();
+    assertEquals(1, entry.attempts);
+    assertTrue(entry.lastError.contains("sync failed"));
+  }
+
+  @Test
+  void deliveryFailingOnEveryAttempt_isParked() {
+    createStore("OUTBOX_PARKED");
+    Mockito.doThrow(new UncheckedIOException(new IOException("legacy down")))
+        .when(legacyStoreManagerGateway)
+        .createStoreOnLegacySystem(Mockito.any());
+
+    for (int attempt = 0; attempt < dispatcher.maxAttempts; attempt++) {
+      makeDue();
+      dispatcher.dispatchPending();
+    }
+
+    StoreOutboxEntry entry = onlyEntry();
+    assertEquals(dispatcher.maxAttempts, entry.attempts);
+    assertNull(entry.nextAttemptAt);
+    assertNotNull(entry.lastError);
+  }
+
+  @Test
+  void entriesOfDeletedStore_areDropped() {
+    Long id = createStore("OUTBOX_DELETED");
+    QuarkusTransaction.requiringNew().run(() -> Store.deleteById(id));
+
+    assertEquals(0, dispatcher.dispatchPending());
+    assertEquals(0, outboxSize());
+    Mockito.verifyNoInteractions(legacyStoreManagerGateway);
+  }
+
+  @Test
+  void backoff_doublesUpToTheMaximum() {
+    assertEquals(dispatcher.initialBackoff, dispatcher.backoff(1));
+    assertEquals(dispatcher.initialBackoff.multipliedBy(4), dispatcher.backoff(3));
+    assertEquals(dispatcher.maxBackoff, dispatcher.backoff(1_000));
+    assertTrue(dispatcher.backoff(1_000).compareTo(Duration.ZERO) > 0);
+  }
+
+  private Long createStore(String name) {
+    return QuarkusTransaction.requiringNew()
+        .call(
+            () -> {
+              Store store = new Store(name);
+              store.persist();
+              storeEvent.fire(new StoreEvent(store, StoreEvent.ActionType.CREATED));
+              return store.id;
+            });
+  }
+
+  private void updateStore(Long id, int quantity) {
+    QuarkusTransaction.requiringNew()
+        .run(
+            () -> {
+              Store store = Store.findById(id);
+              store.quantityProductsInStock = quantity;
+              storeEvent.fire(new StoreEvent(store, StoreEvent.ActionType.UPDATED));
+            });
+  }
+
+  private long outboxSize() {
+    return QuarkusTransaction.requiringNew().call(() -> StoreOutboxEntry.count());
+  }
+
+  private StoreOutboxEntry onlyEntry() {
+    List<StoreOutboxEntry> entries =
+        QuarkusTransaction.requiringNew().call(() -> StoreOutboxEntry.listAll());
+    assertEquals(1, entries.size());
+    return entries.get(0);
+  }
+
+  private void makeDue() {
+    QuarkusTransaction.requiringNew()
+        .run(
+            () ->
+                StoreOutboxEntry.update(
+                    "nextAttemptAt = ?1 where nextAttemptAt is not null",
+                    LocalDateTime.now().minusSeconds(1)));
+  }
+}
@@ -2,10 +2,19 @@ package com.fulfilment.application.monolith.stores;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.response.ValidatableResponse;
+import jakarta.inject.Inject;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -14,6 +23,7 @@ import org.mockito.Mockito;
 public class StoreResourceTest {
 
   @InjectMock LegacyStoreManagerGateway legacyStoreManagerGateway;
+  @Inject StoreOutboxDispatcher storeOutboxDispatcher;
 
   @BeforeEach
   public void setup() {
@@ -31,6 +41,62 @@ public class StoreResourceTest {
         .body(containsString("TONSTAD"), containsString("KALLAX"), containsString("BESTÅ"));
   }
 
+  @Test
+  public void get_withLimit_pagesInNameOrderUntilLastPage() {
+    List<String> all = given().when().get("store").then().statusCode(200).extract().path("name");
+
+    List<String> paged = new ArrayList<>();
+    String cursor = null;
+    do {
+      var request = given().queryParam("limit", 2);
+      if (cursor != null) {
+        request.queryParam("after", cursor);
+      }
+      ValidatableResponse page = request.when().get("store").then().statusCode(200);
+      List<String> names = page.extract().path("name");
+      assertTrue(names.size() <= 2);
+      paged.addAll(names);
+      cursor = page.extract().header(StoreResource.NEXT_CURSOR_HEADER);
+    } while (cursor != null);
+
+    assertEquals(all, paged);
+  }
+
+  @Test
+  public void get_withMalformedCursor_returns400() {
+    given()
+        .queryParam("limit", 2)
+        .queryParam("after", "%%%")
+        .when()
+        .get("store")
+        .then()
+        .statusCode(400);
+  }
+
+  @Test
+  public void stream_writesOneJsonObjectPerLineInNameOrder() {
+    List<String> all = given().when().get("store").then().statusCode(200).extract().path("name");
+
+    // ndjson has no charset parameter; the body is UTF-8 (BESTÅ)
+    String body =
+        new String(
+            given()
+                .when()
+                .get("store/stream")
+                .then()
+                .statusCode(200)
+                .contentType(startsWith("application/x-ndjson"))
+                .extract()
+                .asByteArray(),
+            StandardCharsets.UTF_8);
+
+    String[] lines = body.split("\n");
+    assertEquals(all.size(), lines.length);
+    for (int i = 0; i < lines.length; i++) {
+      assertTrue(lines[i].contains("\"name\":\"" + all.get(i) + "\""), lines[i]);
+    }
+  }
+
   // --- GET single ---
   @Test
   public void getSingle_whenExists_returnsStore() {
@@ -86,6 +152,23 @@ public class StoreResourceTest {
         .body(containsString("Store name is required"));
   }
 
+  @Test
+  public void create_whenVersionSet_startsAtVersion0() {
+    int id =
+        given()
+            .contentType("application/json")
+            .body("{\"name\": \"VERSIONED_STORE\", \"quantityProductsInStock\": 1, \"version\": 7}")
+            .when()
+            .post("store")
+            .then()
+            .statusCode(201)
+            .body("version", equalTo(0))
+            .extract()
+            .path("id");
+
+    given().when().get("store/" + id).then().statusCode(200).body("version", equalTo(0));
+  }
+
   @Test
   public void testLegacyGatewayCalledOnSuccessfulCreate() {
     given()
@@ -97,12 +180,29 @@ public class StoreResourceTest {
         .statusCode(201)
         .body(containsString("NEW_UNIQUE_STORE"));
 
-    Mockito.verify(legacyStoreManagerGateway).createStoreOnLegacySystem(Mockito.any());
+    storeOutboxDispatcher.dispatchPending();
+    Mockito.verify(legacyStoreManagerGateway)
+        .createStoreOnLegacySystem(Mockito.argThat(s -> "NEW_UNIQUE_STORE".equals(s.name)));
+  }
+
+  @Test
+  public void create_whenNameTaken_returns409FromUniqueConstraint() {
+    String body = "{\"name\": \"DUPLICATE_STORE\", \"quantityProductsInStock\": 1}";
+    given().contentType("application/json").body(body).when().post("store").then().statusCode(201);
+
+    given()
+        .contentType("application/json")
+        .body(body)
+        .when()
+        .post("store")
+        .then()
+        .statusCode(409)
+        .body(containsString("already exists"));
   }
 
   @Test
   public void testLegacyGatewayNotCalledOnRollback() {
-    // "TONSTAD" already exists in import.sql → duplicate name → 409 (or 500 if constraint fires).
+    // "TONSTAD" already exists in import.sql → duplicate name → 409 from the unique constraint.
     // No commit → legacy not called.
     given()
         .contentType("application/json")
@@ -110,9 +210,10 @@ public class StoreResourceTest {
         .when()
         .post("store");
 
-    // AFTER_SUCCESS observer runs only after commit; duplicate must not trigger legacy sync
+    // The outbox entry is written in the store transaction, so it rolls back with it
+    storeOutboxDispatcher.dispatchPending();
     Mockito.verify(legacyStoreManagerGateway, Mockito.never())
-        .createStoreOnLegacySystem(Mockito.any());
+        .createStoreOnLegacySystem(Mockito.argThat(s -> "TONSTAD".equals(s.name)));
   }
 
   @Test
@@ -126,7 +227,9 @@ public class StoreResourceTest {
         .statusCode(200)
         .body(containsString("TONSTAD_UPDATED"));
 
-    Mockito.verify(legacyStoreManagerGateway).updateStoreOnLegacySystem(Mockito.any());
+    storeOutboxDispatcher.dispatchPending();
+    Mockito.verify(legacyStoreManagerGateway)
+        .updateStoreOnLegacySystem(Mockito.argThat(s -> s.id == 1L));
   }
 
   // --- PUT update ---
@@ -154,6 +257,18 @@ public class StoreResourceTest {
         .body(containsString("Store Name was not set"));
   }
 
+  @Test
+  public void update_whenVersionStale_returns409() {
+    given()
+        .contentType("application/json")
+        .body("{\"name\": \"STALE\", \"quantityProductsInStock\": 1, \"version\": 999}")
+        .when()
+        .put("store/3")
+        .then()
+        .statusCode(409)
+        .body(containsString("CONCURRENT_UPDATE"));
+  }
+
   // --- PATCH ---
   @Test
   public void patch_whenExists_updatesAndReturns200() {
@@ -0,0 +1,143 @@
+package com.fulfilment.application.monolith.warehouses.adapters.database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fulfilment.application.monolith.warehouses.domain.exceptions.DuplicateBusinessUnitCodeException;
+import com.fulfilment.application.monolith.warehouses.domain.models.LocationOccupancy;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The reactive adapter on the same tables as {@link WarehouseRepository}. Its transactions commit,
+ * so each test archives what it creates; the occupancy is checked against the table through ORM.
+ */
+@QuarkusTest
+public class ReactiveWarehouseRepositoryTest {
+
+  @Inject ReactiveWarehouseRepository reactiveRepository;
+
+  @Inject WarehouseRepository warehouseRepository;
+
+  @Test
+  public void testReadsMatchSeedData() {
+    List<Warehouse> warehouses = reactiveRepository.getAll().await().indefinitely();
+    assertTrue(warehouses.stream().anyMatch(w -> "MWH.001".equals(w.businessUnitCode)));
+
+    Warehouse warehouse =
+        reactiveRepository.findActiveByBusinessUnitCode("MWH.001").await().indefinitely();
+    assertNotNull(warehouse);
+    assertEquals("ZWOLLE-001", warehouse.location);
+    assertEquals(100, warehouse.capacity);
+    assertEquals(10, warehouse.stock);
+
+    // import.sql: id 1 = MWH.001
+    assertEquals("MWH.001", reactiveRepository.getById(1L).await().indefinitely().businessUnitCode);
+    assertNull(reactiveRepository.getById(99999L).await().indefinitely());
+    assertNull(
+        reactiveRepository.findActiveByBusinessUnitCode("NON_EXISTENT").await().indefinitely());
+  }
+
+  @Test
+  public void testCreateUpdateAndArchiveKeepOccupancyInStep() {
+    LocationOccupancy before = occupancyOf("AMSTERDAM-001");
+
+    Warehouse warehouse = new Warehouse();
+    warehouse.businessUnitCode = "MWH.TEST.REACTIVE";
+    warehouse.location = "AMSTERDAM-001";
+    warehouse.capacity = 20;
+    warehouse.stock = 5;
+    warehouse.createdAt = LocalDateTime.now();
+    reactiveRepository.create(warehouse).await().indefinitely();
+
+    assertNotNull(warehouseRepository.findActiveByBusinessUnitCode("MWH.TEST.REACTIVE"));
+    LocationOccupancy created = assertOccupancyMatchesTable("AMSTERDAM-001");
+    assertEquals(before.activeWarehouses + 1, created.activeWarehouses);
+    assertEquals(before.totalCapacity + 20, created.totalCapacity);
+
+    warehouse.capacity = 25;
+    reactiveRepository.update(warehouse).await().indefinitely();
+    assertEquals(
+        25, warehouseRepository.findActiveByBusinessUnitCode("MWH.TEST.REACTIVE").capacity);
+    assertEquals(
+        before.totalCapacity + 25, assertOccupancyMatchesTable("AMSTERDAM-001").totalCapacity);
+
+    warehouse.archivedAt = LocalDateTime.now();
+    reactiveRepository.update(warehouse).await().indefinitely();
+    assertNull(
+        reactiveRepository
+            .findActiveByBusinessUnitCode("MWH.TEST.REACTIVE")
+            .await()
+            .indefinitely());
+    LocationOccupancy archived = assertOccupancyMatchesTable("AMSTERDAM-001");
+    assertEquals(before.activeWarehouses, archived.activeWarehouses);
+    assertEquals(before.totalCapacity, archived.totalCapacity);
+  }
+
+  @Test
+  public void testFailedTransactionRollsBack() {
+    LocationOccupancy before = occupancyOf("AMSTERDAM-002");
+
+    Warehouse warehouse = new Warehouse();
+    warehouse.businessUnitCode = "MWH.TEST.REACTIVE.ROLLBACK";
+    warehouse.location = "AMSTERDAM-002";
+    warehouse.capacity = 10;
+    warehouse.stock = 1;
+    warehouse.createdAt = LocalDateTime.now();
+
+    Uni<Void> failing =
+        reactiveRepository.withTransaction(
+            store ->
+                store
+                    .create(warehouse)
+                    .chain(() -> Uni.createFrom().failure(new IllegalStateException("rollback"))));
+    assertThrows(IllegalStateException.class, () -> failing.await().indefinitely());
+
+    assertNull(warehouseRepository.findActiveByBusinessUnitCode("MWH.TEST.REACTIVE.ROLLBACK"));
+    LocationOccupancy after = assertOccupancyMatchesTable("AMSTERDAM-002");
+    assertEquals(before.activeWarehouses, after.activeWarehouses);
+    assertEquals(before.totalCapacity, after.totalCapacity);
+  }
+
+  @Test
+  public void testCreateActiveDuplicateIsRejectedAndRolledBack() {
+    Warehouse warehouse = new Warehouse();
+    warehouse.businessUnitCode = "MWH.TEST.REACTIVE.DUPLICATE";
+    warehouse.location = "AMSTERDAM-002";
+    warehouse.capacity = 10;
+    warehouse.stock = 1;
+    warehouse.createdAt = LocalDateTime.now();
+    reactiveRepository.create(warehouse).await().indefinitely();
+    LocationOccupancy before = occupancyOf("AMSTERDAM-002");
+
+    assertThrows(
+        DuplicateBusinessUnitCodeException.class,
+        () -> reactiveRepository.create(warehouse).await().indefinitely());
+
+    LocationOccupancy after = assertOccupancyMatchesTable("AMSTERDAM-002");
+    assertEquals(before.activeWarehouses, after.activeWarehouses);
+    assertEquals(before.totalCapacity, after.totalCapacity);
+
+    warehouse.archivedAt = LocalDateTime.now();
+    reactiveRepository.update(warehouse).await().indefinitely();
+  }
+
+  private LocationOccupancy occupancyOf(String location) {
+    return reactiveRepository.occupancyOf(location).await().indefinitely();
+  }
+
+  private LocationOccupancy assertOccupancyMatchesTable(String location) {
+    LocationOccupancy occupancy = occupancyOf(location);
+    assertEquals(warehouseRepository.countActiveByLocation(location), occupancy.activeWarehouses);
+    assertEquals(warehouseRepository.totalCapacityByLocation(location), occupancy.totalCapacity);
+    return occupancy;
+  }
+}
@@ -0,0 +1,108 @@
+package com.fulfilment.application.monolith.warehouses.adapters.database;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.sun.management.ThreadMXBean;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Supplier;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/**
+ * Bytes allocated per listed warehouse by {@link WarehouseRepository#getAll()}, which projects rows
+ * straight into the domain model, against the entity read path it replaced: managed {@link
+ * DbWarehouse} entities copied with {@link DbWarehouse#toWarehouse()}. Each listing runs in its own
+ * transaction over a seeded table and is measured with the thread allocation counter after a
+ * warm-up; the figures are logged.
+ *
+ * <p>Seeded rows use ids far above the test data and are removed afterwards. Not part of {@code mvn
+ * test}; run with {@code mvn test -Dtest=WarehouseListingAllocationIT}.
+ */
+@QuarkusTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class WarehouseListingAllocationIT {
+
+  private static final Logger LOGGER =
+      Logger.getLogger(WarehouseListingAllocationIT.class.getName());
+
+  private static final long BASE = 1_000_000_000L;
+  private static final int ROWS = 5_000;
+  private static final int WARMUP_LISTINGS = 20;
+  private static final int MEASURED_LISTINGS = 20;
+
+  @Inject WarehouseRepository warehouseRepository;
+
+  @Inject EntityManager entityManager;
+
+  @BeforeAll
+  void seed() {
+    QuarkusTransaction.requiringNew()
+        .run(
+            () ->
+                entityManager
+                    .createNativeQuery(
+                        """
+                        insert into warehouse
+                          (id, businessUnitCode, location, capacity, stock, createdAt)
+                        select ?1 + g, 'MWH.ALLOCATION.' || g, 'ALLOCATION-IT', 10, 1, now()
+                        from generate_series(0, ?2 - 1) g
+                        """)
+                    .setParameter(1, BASE)
+                    .setParameter(2, ROWS)
+                    .executeUpdate());
+  }
+
+  @AfterAll
+  void cleanUp() {
+    QuarkusTransaction.requiringNew()
+        .run(
+            () ->
+                entityManager
+                    .createNativeQuery("delete from warehouse where id >= ?1")
+                    .setParameter(1, BASE)
+                    .executeUpdate());
+    entityManager.getEntityManagerFactory().getCache().evict(DbWarehouse.class);
+  }
+
+  @Test
+  void projection_allocatesLessPerListedWarehouseThanEntities() {
+    double entities =
+        bytesPerListedWarehouse(
+            () ->
+                warehouseRepository.find("archivedAt is null").stream()
+                    .map(DbWarehouse::toWarehouse)
+                    .toList());
+    double projection = bytesPerListedWarehouse(warehouseRepository::getAll);
+
+    LOGGER.infov(
+        "Allocated per listed warehouse: entities={0,number,#} B, projection={1,number,#} B",
+        entities,
+        projection);
+    assertTrue(
+        projection < entities,
+        () -> "projection " + projection + " B >= entities " + entities + " B per warehouse");
+  }
+
+  private static double bytesPerListedWarehouse(Supplier<List<Warehouse>> listing) {
+    ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    for (int i = 0; i < WARMUP_LISTINGS; i++) {
+      QuarkusTransaction.requiringNew().call(listing::get);
+    }
+    long listed = 0;
+    long before = threads.getCurrentThreadAllocatedBytes();
+    for (int i = 0; i < MEASURED_LISTINGS; i++) {
+      listed += QuarkusTransaction.requiringNew().call(() -> listing.get().size());
+    }
+    long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+    return (double) allocated / listed;
+  }
+}
@@ -0,0 +1,145 @@
+package com.fulfilment.application.monolith.warehouses.adapters.database;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseFilter;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Checks the PostgreSQL plans of the filtered warehouse listing ({@link
+ * WarehouseRepository#findActive}) against a seeded table in which most warehouses are archived.
+ * Each page must use the partial index meant for its filter, and none may scan the warehouse table
+ * sequentially.
+ *
+ * <p>The WHERE and ORDER BY are the ones {@link WarehouseListingCriteria} builds, explained with
+ * their parameters bound. Seeded rows use ids far above the test data and are removed afterwards.
+ * Not part of {@code mvn test}; run with {@code mvn test -Dtest=WarehouseListingQueryPlanIT}.
+ */
+@QuarkusTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class WarehouseListingQueryPlanIT {
+
+  private static final long BASE = 1_000_000_000L;
+  private static final int ROWS = 200_000;
+  private static final String ACTIVE_BU_CODE = DbWarehouse.ACTIVE_BU_CODE_CONSTRAINT;
+
+  @Inject EntityManager entityManager;
+
+  @BeforeAll
+  void seed() {
+    // One in ten warehouses is active, spread over 500 locations; active ones take every capacity
+    // in steps of 10 and every stock value.
+    QuarkusTransaction.requiringNew()
+        .run(
+            () -> {
+              entityManager
+                  .createNativeQuery(
+                      """
+                      insert into warehouse
+                        (id, businessUnitCode, location, capacity, stock, createdAt, archivedAt)
+                      select ?1 + g, 'MWH.PLAN.' || lpad(g::text, 6, '0'), 'PLAN-IT-' || g % 500,
+                        g % 1000, g / 10 % 100, now(), case when g % 10 <> 0 then now() end
+                      from generate_series(0, ?2 - 1) g
+                      """)
+                  .setParameter(1, BASE)
+                  .setParameter(2, ROWS)
+                  .executeUpdate();
+              entityManager.createNativeQuery("analyze warehouse").executeUpdate();
+            });
+  }
+
+  @AfterAll
+  void cleanUp() {
+    QuarkusTransaction.requiringNew()
+        .run(
+            () ->
+                entityManager
+                    .createNativeQuery("delete from warehouse where id >= ?1")
+                    .setParameter(1, BASE)
+                    .executeUpdate());
+    entityManager.getEntityManagerFactory().getCache().evict(DbWarehouse.class);
+  }
+
+  static Stream<Arguments> listingPages() {
+    return Stream.of(
+        Arguments.of("first page", filter(f -> {}), ACTIVE_BU_CODE),
+        Arguments.of("next page", filter(f -> f.after = "MWH.PLAN.100000"), ACTIVE_BU_CODE),
+        Arguments.of(
+            "location", filter(f -> f.location = "PLAN-IT-120"), "idx_warehouse_active_location"),
+        Arguments.of(
+            "business unit code prefix",
+            filter(f -> f.businessUnitCodePrefix = "MWH.PLAN.0123"),
+            "idx_warehouse_active_bu_code_prefix"),
+        Arguments.of(
+            "capacity range",
+            filter(
+                f -> {
+                  f.minCapacity = 900;
+                  f.maxCapacity = 910;
+                }),
+            "idx_warehouse_active_capacity"),
+        Arguments.of(
+            "capacity and stock ranges",
+            filter(
+                f -> {
+                  f.minCapacity = 900;
+                  f.maxCapacity = 910;
+                  f.minStock = 10;
+                  f.maxStock = 20;
+                }),
+            "idx_warehouse_active_capacity"),
+        Arguments.of("stock range", filter(f -> f.maxStock = 0), "idx_warehouse_active_stock"));
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("listingPages")
+  void listingPage_usesItsIndex(String name, WarehouseFilter filter, String index) {
+    // the WHERE and ORDER BY findActive runs; field names match the column names
+    WarehouseListingCriteria criteria = WarehouseListingCriteria.jpql(filter);
+    int limit = criteria.parameters.size() + 1;
+    String sql =
+        "explain select w.businessUnitCode, w.location, w.capacity, w.stock, w.createdAt,"
+            + " w.archivedAt, w.version from warehouse w"
+            + criteria.whereAndOrder
+            + " limit ?"
+            + limit;
+
+    String plan =
+        QuarkusTransaction.requiringNew()
+            .call(
+                () -> {
+                  Query explain = entityManager.createNativeQuery(sql);
+                  for (int i = 0; i < criteria.parameters.size(); i++) {
+                    explain.setParameter(i + 1, criteria.parameters.get(i));
+                  }
+                  explain.setParameter(limit, 50);
+                  @SuppressWarnings("unchecked")
+                  List<Object> lines = explain.getResultList();
+                  return lines.stream().map(String::valueOf).collect(Collectors.joining("\n"));
+                });
+
+    assertFalse(plan.contains("Seq Scan on warehouse"), () -> sql + "\n" + plan);
+    assertTrue(plan.contains(index), () -> sql + "\n" + plan);
+  }
+
+  private static WarehouseFilter filter(Consumer<WarehouseFilter> criteria) {
+    WarehouseFilter filter = new WarehouseFilter();
+    criteria.accept(filter);
+    return filter;
+  }
+}
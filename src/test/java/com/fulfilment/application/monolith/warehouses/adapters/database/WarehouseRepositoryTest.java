@@ -3,20 +3,31 @@ package com.fulfilment.application.monolith.warehouses.adapters.database;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.fulfilment.application.monolith.warehouses.domain.exceptions.DuplicateBusinessUnitCodeException;
+import com.fulfilment.application.monolith.warehouses.domain.models.LocationOccupancy;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseFilter;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.test.TestTransaction;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.OptimisticLockException;
 import java.time.LocalDateTime;
 import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
 import org.junit.jupiter.api.Test;
 
 @QuarkusTest
 public class WarehouseRepositoryTest {
 
   @Inject WarehouseRepository warehouseRepository;
+  @Inject EntityManager entityManager;
+  @Inject SessionFactory sessionFactory;
 
   @Test
   public void testGetAllReturnsSeedData() {
@@ -68,6 +79,42 @@ public class WarehouseRepositoryTest {
     assertNull(found.archivedAt);
   }
 
+  @Test
+  @TestTransaction
+  public void testCreateActiveDuplicateIsRejectedByUniqueIndex() {
+    // MWH.001 is active in import.sql; no lookup happens before the insert
+    assertThrows(
+        DuplicateBusinessUnitCodeException.class,
+        () -> warehouseRepository.create(warehouse("MWH.001", "AMSTERDAM-001", 10, 1)));
+  }
+
+  @Test
+  @TestTransaction
+  public void testCreateAllWithActiveDuplicateIsRejectedByUniqueIndex() {
+    // as when MWH.001 is created concurrently after the use case read the active codes
+    var e =
+        assertThrows(
+            DuplicateBusinessUnitCodeException.class,
+            () ->
+                warehouseRepository.createAll(
+                    List.of(
+                        warehouse("MWH.BULK.NEW", "AMSTERDAM-001", 10, 1),
+                        warehouse("MWH.001", "AMSTERDAM-001", 10, 1))));
+    assertTrue(e.getMessage().contains("MWH.001"), e.getMessage());
+  }
+
+  @Test
+  @TestTransaction
+  public void testCreateArchivedWithActiveCodeIsAllowed() {
+    Warehouse archived = warehouse("MWH.001", "AMSTERDAM-001", 10, 1);
+    archived.archivedAt = LocalDateTime.now();
+
+    warehouseRepository.create(archived);
+
+    assertEquals(
+        "ZWOLLE-001", warehouseRepository.findActiveByBusinessUnitCode("MWH.001").location);
+  }
+
   @Test
   @TestTransaction
   public void testUpdateWarehouse() {
@@ -85,6 +132,35 @@ public class WarehouseRepositoryTest {
     assertEquals(15, updated.stock);
   }
 
+  @Test
+  @TestTransaction
+  public void testUpdateWithStaleVersionThrowsOptimisticLockException() {
+    Warehouse first = warehouseRepository.findActiveByBusinessUnitCode("MWH.023");
+    Warehouse second = warehouseRepository.findActiveByBusinessUnitCode("MWH.023");
+    assertNotNull(first.version);
+
+    first.stock = 6;
+    warehouseRepository.update(first);
+    assertEquals(
+        first.version + 1, warehouseRepository.findActiveByBusinessUnitCode("MWH.023").version);
+
+    second.stock = 7;
+    assertThrows(OptimisticLockException.class, () -> warehouseRepository.update(second));
+  }
+
+  @Test
+  @TestTransaction
+  public void testUpdateOfArchivedReadThrowsOptimisticLockException() {
+    Warehouse read = warehouseRepository.findActiveByBusinessUnitCode("MWH.023");
+    Warehouse archive = warehouseRepository.findActiveByBusinessUnitCode("MWH.023");
+    archive.archivedAt = LocalDateTime.now();
+    warehouseRepository.update(archive);
+
+    // a second archive/replace of the same read must not succeed
+    read.archivedAt = LocalDateTime.now();
+    assertThrows(OptimisticLockException.class, () -> warehouseRepository.update(read));
+  }
+
   @Test
   @TestTransaction
   public void testRemoveWarehouse() {
@@ -140,6 +216,23 @@ public class WarehouseRepositoryTest {
     assertNull(warehouseRepository.getById(1L), "getById must return null for archived warehouse");
   }
 
+  @Test
+  public void testGetByIdIsServedFromTheSecondLevelCache() {
+    // import.sql: id 2 = MWH.012
+    entityManager.getEntityManagerFactory().getCache().evict(DbWarehouse.class, 2L);
+    CacheRegionStatistics region =
+        sessionFactory.getStatistics().getDomainDataRegionStatistics(DbWarehouse.class.getName());
+    long hits = region.getHitCount();
+
+    for (int i = 0; i < 2; i++) {
+      Warehouse warehouse =
+          QuarkusTransaction.requiringNew().call(() -> warehouseRepository.getById(2L));
+      assertEquals("MWH.012", warehouse.businessUnitCode);
+    }
+
+    assertEquals(hits + 1, region.getHitCount());
+  }
+
   @Test
   @TestTransaction
   public void testFindByBusinessUnitCodeReturnsNullWhenArchived() {
@@ -153,4 +246,116 @@ public class WarehouseRepositoryTest {
         warehouseRepository.findActiveByBusinessUnitCode("MWH.001"),
         "findActiveByBusinessUnitCode must return null when warehouse is archived");
   }
+
+  @Test
+  @TestTransaction
+  public void testFindActiveAppliesFiltersAndKeysetInBusinessUnitCodeOrder() {
+    warehouseRepository.create(warehouse("MWH.TEST.LIST.A", "AMSTERDAM-001", 40, 4));
+    warehouseRepository.create(warehouse("MWH.TEST.LIST.B", "AMSTERDAM-001", 45, 20));
+    Warehouse archived = warehouse("MWH.TEST.LIST.C", "AMSTERDAM-001", 42, 4);
+    archived.archivedAt = LocalDateTime.now();
+    warehouseRepository.create(archived);
+
+    var byPrefix = new WarehouseFilter();
+    byPrefix.businessUnitCodePrefix = "MWH.TEST.LIST.";
+    assertEquals(
+        List.of("MWH.TEST.LIST.A", "MWH.TEST.LIST.B"),
+        businessUnitCodes(warehouseRepository.findActive(byPrefix, 10)));
+
+    byPrefix.after = "MWH.TEST.LIST.A";
+    assertEquals(
+        List.of("MWH.TEST.LIST.B"),
+        businessUnitCodes(warehouseRepository.findActive(byPrefix, 10)));
+
+    var byRanges = new WarehouseFilter();
+    byRanges.location = "AMSTERDAM-001";
+    byRanges.minCapacity = 40;
+    byRanges.maxCapacity = 45;
+    byRanges.maxStock = 10;
+    assertEquals(
+        List.of("MWH.TEST.LIST.A"),
+        businessUnitCodes(warehouseRepository.findActive(byRanges, 10)));
+
+    // '_' and '%' in the prefix match literally
+    var wildcard = new WarehouseFilter();
+    wildcard.businessUnitCodePrefix = "MWH_";
+    assertTrue(warehouseRepository.findActive(wildcard, 10).isEmpty());
+
+    List<Warehouse> firstPage = warehouseRepository.findActive(new WarehouseFilter(), 1);
+    assertEquals(1, firstPage.size());
+    var next = new WarehouseFilter();
+    next.after = firstPage.get(0).businessUnitCode;
+    assertTrue(
+        warehouseRepository.findActive(next, 1).get(0).businessUnitCode.compareTo(next.after) > 0);
+  }
+
+  private static Warehouse warehouse(String buCode, String location, int capacity, int stock) {
+    Warehouse warehouse = new Warehouse();
+    warehouse.businessUnitCode = buCode;
+    warehouse.location = location;
+    warehouse.capacity = capacity;
+    warehouse.stock = stock;
+    warehouse.createdAt = LocalDateTime.now();
+    return warehouse;
+  }
+
+  private static List<String> businessUnitCodes(List<Warehouse> warehouses) {
+    return warehouses.stream().map(w -> w.businessUnitCode).toList();
+  }
+
+  @Test
+  @TestTransaction
+  public void testOccupancyFollowsCreateUpdateArchiveAndRemove() {
+    assertOccupancyMatchesTable("EINDHOVEN-001");
+    LocationOccupancy before = warehouseRepository.occupancyOf("EINDHOVEN-001");
+
+    Warehouse warehouse = new Warehouse();
+    warehouse.businessUnitCode = "MWH.TEST.OCCUPANCY";
+    warehouse.location = "EINDHOVEN-001";
+    warehouse.capacity = 30;
+    warehouse.stock = 5;
+    warehouse.createdAt = LocalDateTime.now();
+    warehouseRepository.create(warehouse);
+    LocationOccupancy created = assertOccupancyMatchesTable("EINDHOVEN-001");
+    assertEquals(before.activeWarehouses + 1, created.activeWarehouses);
+    assertEquals(before.totalCapacity + 30, created.totalCapacity);
+
+    warehouse.capacity = 45;
+    warehouseRepository.update(warehouse);
+    assertEquals(
+        before.totalCapacity + 45, assertOccupancyMatchesTable("EINDHOVEN-001").totalCapacity);
+
+    warehouse.location = "HELMOND-001";
+    warehouseRepository.update(warehouse);
+    assertOccupancyMatchesTable("EINDHOVEN-001");
+    assertOccupancyMatchesTable("HELMOND-001");
+
+    warehouse.archivedAt = LocalDateTime.now();
+    warehouseRepository.update(warehouse);
+    assertOccupancyMatchesTable("HELMOND-001");
+
+    warehouse.archivedAt = null;
+    warehouseRepository.update(warehouse);
+    warehouseRepository.remove(warehouse);
+    assertOccupancyMatchesTable("HELMOND-001");
+  }
+
+  @Test
+  @TestTransaction
+  public void testOccupancyIsInitialisedFromTableWhenMissing() {
+    warehouseRepository
+        .getEntityManager()
+        .createQuery("delete from DbLocationOccupancy o where o.location = ?1")
+        .setParameter(1, "AMSTERDAM-001")
+        .executeUpdate();
+
+    assertOccupancyMatchesTable("AMSTERDAM-001");
+  }
+
+  private LocationOccupancy assertOccupancyMatchesTable(String location) {
+    LocationOccupancy occupancy = warehouseRepository.occupancyOf(location);
+    assertEquals(warehouseRepository.countActiveByLocation(location), occupancy.activeWarehouses);
+    assertEquals(warehouseRepository.totalCapacityByLocation(location), occupancy.totalCapacity);
+    return occupancy;
+  }
 }
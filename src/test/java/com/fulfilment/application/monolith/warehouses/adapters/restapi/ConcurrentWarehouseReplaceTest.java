@@ -0,0 +1,157 @@
+package com.fulfilment.application.monolith.warehouses.adapters.restapi;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseRepository;
+import com.fulfilment.application.monolith.warehouses.domain.models.LocationOccupancy;
+import com.fulfilment.application.monolith.warehouses.domain.usecases.ReplaceWarehouseUseCase;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.mockito.InjectSpy;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import jakarta.persistence.OptimisticLockException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@code POST /warehouse/{code}/replacement} under contention: concurrent replaces of one business
+ * unit code leave exactly one active warehouse and a matching location occupancy, a conflicting
+ * attempt runs again in a new transaction, and a conflict on every attempt answers 409
+ * CONCURRENT_UPDATE.
+ *
+ * <p>Each test creates its own warehouse at VETSBY-001 and archives it afterwards.
+ */
+@QuarkusTest
+class ConcurrentWarehouseReplaceTest {
+
+  private static final String LOCATION = "VETSBY-001";
+
+  @InjectSpy ReplaceWarehouseUseCase replaceWarehouseUseCase;
+
+  @Inject WarehouseRepository warehouseRepository;
+
+  @Test
+  void parallelReplaces_leaveOneActiveWarehouseAndConsistentOccupancy() throws Exception {
+    String code = createWarehouse("MWH.CONCURRENT.PARALLEL");
+    ExecutorService clients = Executors.newFixedThreadPool(2);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<Integer>> statuses =
+          List.of(
+              clients.submit(() -> replace(start, code, 50)),
+              clients.submit(() -> replace(start, code, 60)));
+      start.countDown();
+
+      // the loser of the race conflicts on archiving and succeeds on its retry
+      for (Future<Integer> status : statuses) {
+        assertEquals(200, status.get());
+      }
+    } finally {
+      clients.shutdownNow();
+    }
+
+    assertEquals(1, count(code, true));
+    assertEquals(3, count(code, false));
+    var active = warehouseRepository.findActiveByBusinessUnitCode(code);
+    LocationOccupancy occupancy = warehouseRepository.occupancyOf(LOCATION);
+    assertEquals(1, occupancy.activeWarehouses);
+    assertEquals(active.capacity.intValue(), occupancy.totalCapacity);
+    archive(code);
+  }
+
+  @Test
+  void conflictingAttempt_runsAgainInANewTransaction() {
+    String code = createWarehouse("MWH.CONCURRENT.RETRY");
+    doThrow(new OptimisticLockException("forced"))
+        .doCallRealMethod()
+        .when(replaceWarehouseUseCase)
+        .replace(any());
+
+    replaceRequest(code, 50).then().statusCode(200).body("capacity", equalTo(50));
+
+    verify(replaceWarehouseUseCase, times(2)).replace(any());
+    assertEquals(1, count(code, true));
+    archive(code);
+  }
+
+  @Test
+  void conflictOnEveryAttempt_returns409() {
+    String code = createWarehouse("MWH.CONCURRENT.EXHAUSTED");
+    doThrow(new OptimisticLockException("forced")).when(replaceWarehouseUseCase).replace(any());
+
+    replaceRequest(code, 50)
+        .then()
+        .statusCode(409)
+        .body("errorCode", equalTo("CONCURRENT_UPDATE"));
+
+    // conflict.retry.max-attempts
+    verify(replaceWarehouseUseCase, times(3)).replace(any());
+    assertEquals(1, count(code, true));
+    archive(code);
+  }
+
+  private static String createWarehouse(String code) {
+    given()
+        .contentType("application/json")
+        .body(body(code, 40))
+        .when()
+        .post("warehouse")
+        .then()
+        .statusCode(201);
+    return code;
+  }
+
+  private static int replace(CountDownLatch start, String code, int capacity)
+      throws InterruptedException {
+    start.await();
+    return replaceRequest(code, capacity).statusCode();
+  }
+
+  private static Response replaceRequest(String code, int capacity) {
+    return given()
+        .contentType("application/json")
+        .body(body(code, capacity))
+        .when()
+        .post("warehouse/" + code + "/replacement");
+  }
+
+  private static String body(String code, int capacity) {
+    return """
+        {"businessUnitCode": "%s", "location": "%s", "capacity": %d, "stock": 5}
+        """
+        .formatted(code, LOCATION, capacity);
+  }
+
+  private void archive(String code) {
+    Long id =
+        QuarkusTransaction.requiringNew()
+            .call(
+                () ->
+                    warehouseRepository
+                        .find("businessUnitCode = ?1 and archivedAt is null", code)
+                        .firstResult()
+                        .id);
+    given().when().delete("warehouse/" + id).then().statusCode(204);
+  }
+
+  private long count(String code, boolean activeOnly) {
+    return QuarkusTransaction.requiringNew()
+        .call(
+            () ->
+                activeOnly
+                    ? warehouseRepository.count(
+                        "businessUnitCode = ?1 and archivedAt is null", code)
+                    : warehouseRepository.count("businessUnitCode = ?1", code));
+  }
+}
@@ -0,0 +1,204 @@
+package com.fulfilment.application.monolith.warehouses.adapters.restapi;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseRepository;
+import io.quarkus.arc.Arc;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The /warehouse endpoints built with {@code warehouse.store=reactive}: {@link
+ * ReactiveWarehouseResource} over the Vert.x PostgreSQL client instead of {@link
+ * WarehouseResourceImpl}. Covers the {@code Uni} endpoints, the mapping of their failures to the
+ * same error responses, and bulk create, which must run on a worker thread as it uses ORM.
+ */
+@QuarkusTest
+@TestProfile(ReactiveWarehouseResourceTest.ReactiveStoreProfile.class)
+class ReactiveWarehouseResourceTest {
+
+  public static class ReactiveStoreProfile implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      return Map.of("warehouse.store", "reactive", "warehouse.bulk.max-size", "2");
+    }
+  }
+
+  private static final String LOCATION = "AMSTERDAM-001";
+
+  @Inject WarehouseRepository warehouseRepository;
+
+  @Test
+  void reactiveResource_replacesTheOrmResource() {
+    assertTrue(Arc.container().instance(ReactiveWarehouseResource.class).isAvailable());
+    assertFalse(Arc.container().instance(WarehouseResourceImpl.class).isAvailable());
+  }
+
+  @Test
+  void list_andGetById() {
+    given()
+        .when()
+        .get("warehouse")
+        .then()
+        .statusCode(200)
+        .body("businessUnitCode", hasItem("MWH.001"));
+    given()
+        .queryParam("location", "TILBURG-001")
+        .when()
+        .get("warehouse")
+        .then()
+        .statusCode(200)
+        .body("businessUnitCode", hasItem("MWH.023"))
+        .body("businessUnitCode", not(hasItem("MWH.001")));
+    given()
+        .queryParam("limit", 1)
+        .when()
+        .get("warehouse")
+        .then()
+        .statusCode(200)
+        .body("size()", equalTo(1))
+        .header(WarehouseResourceImpl.NEXT_CURSOR_HEADER, notNullValue());
+
+    given()
+        .when()
+        .get("warehouse/1")
+        .then()
+        .statusCode(200)
+        .body("businessUnitCode", equalTo("MWH.001"));
+  }
+
+  @Test
+  void createReplaceAndArchive() {
+    String code = "MWH.REACTIVE.1";
+    given()
+        .contentType("application/json")
+        .body(body(code, LOCATION, 20))
+        .when()
+        .post("warehouse")
+        .then()
+        .statusCode(201)
+        .body("businessUnitCode", equalTo(code));
+
+    given()
+        .contentType("application/json")
+        .body(body(code, LOCATION, 30))
+        .when()
+        .post("warehouse/" + code + "/replacement")
+        .then()
+        .statusCode(200)
+        .body("capacity", equalTo(30));
+
+    Long id = activeId(code);
+    given().when().get("warehouse/" + id).then().statusCode(200).body("capacity", equalTo(30));
+    given().when().delete("warehouse/" + id).then().statusCode(204);
+    given().when().get("warehouse/" + id).then().statusCode(404);
+  }
+
+  @Test
+  void failures_mapToTheirErrorResponses() {
+    given()
+        .when()
+        .get("warehouse/999999")
+        .then()
+        .statusCode(404)
+        .body("errorCode", equalTo("WAREHOUSE_NOT_FOUND"));
+    given().when().get("warehouse/not-a-number").then().statusCode(404);
+    given().when().delete("warehouse/999999").then().statusCode(404);
+    given().queryParam("minStock", -1).when().get("warehouse").then().statusCode(400);
+
+    given()
+        .contentType("application/json")
+        .body(body("MWH.001", LOCATION, 20))
+        .when()
+        .post("warehouse")
+        .then()
+        .statusCode(400)
+        .body("errorCode", equalTo("DUPLICATE_BUSINESS_UNIT_CODE"));
+    given()
+        .contentType("application/json")
+        .body(body("MWH.REACTIVE.NOWHERE", "NOWHERE-001", 20))
+        .when()
+        .post("warehouse")
+        .then()
+        .statusCode(400)
+        .body("errorCode", equalTo("LOCATION_NOT_FOUND"));
+    given()
+        .contentType("application/json")
+        .body(body("MWH.REACTIVE.MISSING", LOCATION, 20))
+        .when()
+        .post("warehouse/MWH.REACTIVE.MISSING/replacement")
+        .then()
+        .statusCode(404)
+        .body("errorCode", equalTo("WAREHOUSE_NOT_FOUND"));
+  }
+
+  @Test
+  void bulkCreate_runsOnTheBlockingStore() {
+    // ORM on the I/O thread would fail the request: a 200 means @Blocking moved it off
+    given()
+        .contentType("application/json")
+        .body(
+            "["
+                + body("MWH.REACTIVE.BULK", LOCATION, 10)
+                + ","
+                + body("MWH.001", LOCATION, 10)
+                + "]")
+        .when()
+        .post("warehouse/bulk")
+        .then()
+        .statusCode(200)
+        .body("created", equalTo(1))
+        .body("rejected", equalTo(1))
+        .body("items[0].status", equalTo("CREATED"))
+        .body("items[1].errorCode", equalTo("DUPLICATE_BUSINESS_UNIT_CODE"));
+
+    Long id = activeId("MWH.REACTIVE.BULK");
+    given().when().get("warehouse/" + id).then().statusCode(200);
+    given().when().delete("warehouse/" + id).then().statusCode(204);
+
+    // warehouse.bulk.max-size of this profile
+    given()
+        .contentType("application/json")
+        .body(
+            "["
+                + body("MWH.REACTIVE.B1", LOCATION, 10)
+                + ","
+                + body("MWH.REACTIVE.B2", LOCATION, 10)
+                + ","
+                + body("MWH.REACTIVE.B3", LOCATION, 10)
+                + "]")
+        .when()
+        .post("warehouse/bulk")
+        .then()
+        .statusCode(400)
+        .body("errorCode", equalTo("INVALID_WAREHOUSE"));
+  }
+
+  private static String body(String code, String location, int capacity) {
+    return """
+        {"businessUnitCode": "%s", "location": "%s", "capacity": %d, "stock": 5}
+        """
+        .formatted(code, location, capacity);
+  }
+
+  private Long activeId(String code) {
+    return QuarkusTransaction.requiringNew()
+        .call(
+            () ->
+                warehouseRepository
+                    .find("businessUnitCode = ?1 and archivedAt is null", code)
+                    .firstResult()
+                    .id);
+  }
+}
@@ -3,6 +3,9 @@ package com.fulfilment.application.monolith.warehouses.adapters.restapi;
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.CoreMatchers.anyOf;
 import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
 
 import io.quarkus.test.junit.QuarkusTest;
 import org.junit.jupiter.api.Test;
@@ -34,6 +37,53 @@ public class WarehouseEndpointIT {
                 containsString("MWH.034")));
   }
 
+  @Test
+  public void testFilteredListWarehouses() {
+    given()
+        .queryParam("location", "TILBURG-001")
+        .when()
+        .get("warehouse")
+        .then()
+        .statusCode(200)
+        .body(not(containsString("ZWOLLE-001")), not(containsString("AMSTERDAM-001")));
+
+    given()
+        .queryParam("minCapacity", 60)
+        .when()
+        .get("warehouse")
+        .then()
+        .statusCode(200)
+        .body(not(containsString("MWH.012")), not(containsString("MWH.023")));
+
+    given().queryParam("minStock", -1).when().get("warehouse").then().statusCode(400);
+  }
+
+  @Test
+  public void testKeysetPagesFollowTheNextCursor() {
+    String cursor =
+        given()
+            .queryParam("limit", 1)
+            .when()
+            .get("warehouse")
+            .then()
+            .statusCode(200)
+            .body("size()", is(1))
+            .header(WarehouseResourceImpl.NEXT_CURSOR_HEADER, notNullValue())
+            .extract()
+            .header(WarehouseResourceImpl.NEXT_CURSOR_HEADER);
+
+    given()
+        .queryParam("limit", 1)
+        .queryParam("after", cursor)
+        .when()
+        .get("warehouse")
+        .then()
+        .statusCode(200)
+        .body("[0].businessUnitCode", not(cursor));
+
+    given().queryParam("limit", 0).when().get("warehouse").then().statusCode(400);
+  }
+
   @Test
   public void testSimpleCheckingArchivingWarehouses() {
 
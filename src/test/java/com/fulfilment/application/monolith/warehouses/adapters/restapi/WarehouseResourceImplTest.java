@@ -2,8 +2,11 @@ package com.fulfilment.application.monolith.warehouses.adapters.restapi;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -12,10 +15,13 @@ import static org.mockito.Mockito.when;
 import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseRepository;
 import com.fulfilment.application.monolith.warehouses.domain.exceptions.DuplicateBusinessUnitCodeException;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseCreationResult;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseFilter;
 import com.fulfilment.application.monolith.warehouses.domain.ports.ArchiveWarehouseOperation;
 import com.fulfilment.application.monolith.warehouses.domain.ports.CreateWarehouseOperation;
 import com.fulfilment.application.monolith.warehouses.domain.ports.ReplaceWarehouseOperation;
 import com.warehouse.api.WarehouseResource;
+import com.warehouse.api.beans.WarehouseBulkItemResult;
 import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
@@ -62,7 +68,8 @@ public class WarehouseResourceImplTest {
     var d2 = domainWarehouse("MWH.012", "AMSTERDAM-001", 50, 5);
     when(warehouseRepository.getAll()).thenReturn(List.of(d1, d2));
 
-    List<com.warehouse.api.beans.Warehouse> result = warehouseResource.listAllWarehousesUnits();
+    List<com.warehouse.api.beans.Warehouse> result =
+        warehouseResource.listAllWarehousesUnits(null, null, null, null, null, null, null, null);
 
     assertNotNull(result);
     assertEquals(2, result.size());
@@ -79,13 +86,38 @@ public class WarehouseResourceImplTest {
   public void listAllWarehousesUnits_returnsEmptyListWhenRepositoryReturnsEmpty() {
     when(warehouseRepository.getAll()).thenReturn(List.of());
 
-    List<com.warehouse.api.beans.Warehouse> result = warehouseResource.listAllWarehousesUnits();
+    List<com.warehouse.api.beans.Warehouse> result =
+        warehouseResource.listAllWarehousesUnits(null, null, null, null, null, null, null, null);
 
     assertNotNull(result);
     assertEquals(0, result.size());
     verify(warehouseRepository).getAll();
   }
 
+  @Test
+  public void listAllWarehousesUnits_passesFiltersToRepository() {
+    when(warehouseRepository.findActive(any(WarehouseFilter.class), anyInt()))
+        .thenReturn(List.of(domainWarehouse("MWH.012", "AMSTERDAM-001", 50, 5)));
+
+    List<com.warehouse.api.beans.Warehouse> result =
+        warehouseResource.listAllWarehousesUnits(
+            "AMSTERDAM-001", "MWH.0", 10, 60, null, 8, "MWH.001", null);
+
+    assertEquals(1, result.size());
+    assertEquals("MWH.012", result.get(0).getBusinessUnitCode());
+    ArgumentCaptor<WarehouseFilter> captor = ArgumentCaptor.forClass(WarehouseFilter.class);
+    verify(warehouseRepository).findActive(captor.capture(), eq(Integer.MAX_VALUE));
+    var filter = captor.getValue();
+    assertEquals("AMSTERDAM-001", filter.location);
+    assertEquals("MWH.0", filter.businessUnitCodePrefix);
+    assertEquals(10, filter.minCapacity);
+    assertEquals(60, filter.maxCapacity);
+    assertNull(filter.minStock);
+    assertEquals(8, filter.maxStock);
+    assertEquals("MWH.001", filter.after);
+    verify(warehouseRepository, never()).getAll();
+  }
+
   @Test
   public void createANewWarehouseUnit_callsUseCaseWithMappedDomainAndReturnsMappedResponse() {
     var request = apiWarehouse("MWH.NEW", "AMSTERDAM-001", 30, 5);
@@ -121,6 +153,32 @@ public class WarehouseResourceImplTest {
     verify(createWarehouseOperation).create(any(Warehouse.class));
   }
 
+  @Test
+  public void createWarehouseUnitsInBulk_mapsPerItemResultsInRequestOrder() {
+    var first = apiWarehouse("MWH.BULK.1", "AMSTERDAM-001", 30, 5);
+    var second = apiWarehouse("MWH.001", "AMSTERDAM-001", 30, 5);
+    when(createWarehouseOperation.createAll(any()))
+        .thenAnswer(
+            invocation -> {
+              List<Warehouse> warehouses = invocation.getArgument(0);
+              return List.of(
+                  WarehouseCreationResult.created(warehouses.get(0)),
+                  WarehouseCreationResult.rejected(
+                      warehouses.get(1), new DuplicateBusinessUnitCodeException("MWH.001")));
+            });
+
+    var response = warehouseResource.createWarehouseUnitsInBulk(List.of(first, second));
+
+    assertEquals(1, response.getCreated());
+    assertEquals(1, response.getRejected());
+    assertEquals(0, response.getItems().get(0).getIndex());
+    assertEquals(WarehouseBulkItemResult.Status.CREATED, response.getItems().get(0).getStatus());
+    assertEquals("MWH.001", response.getItems().get(1).getBusinessUnitCode());
+    assertEquals(WarehouseBulkItemResult.Status.REJECTED, response.getItems().get(1).getStatus());
+    assertEquals(
+        DuplicateBusinessUnitCodeException.ERROR_CODE, response.getItems().get(1).getErrorCode());
+  }
+
   @Test
   public void createANewWarehouseUnit_whenUseCaseThrowsDuplicateBuCode_exceptionPropagates() {
     var request = apiWarehouse("MWH.001", "AMSTERDAM-001", 30, 5);
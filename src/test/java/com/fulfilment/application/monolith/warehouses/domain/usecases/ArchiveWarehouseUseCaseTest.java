@@ -23,6 +23,11 @@ public class ArchiveWarehouseUseCaseTest {
 
   @Inject ArchiveWarehouseUseCase useCase;
 
+  /** Runs an archive; {@link ReactiveArchiveWarehouseUseCaseTest} runs the reactive one. */
+  protected void archive(Warehouse warehouse) {
+    useCase.archive(warehouse);
+  }
+
   private static Warehouse warehouse(String buCode, String location, int capacity, int stock) {
     var w = new Warehouse();
     w.businessUnitCode = buCode;
@@ -36,7 +41,7 @@ public class ArchiveWarehouseUseCaseTest {
   void archive_whenWarehouseHasNoBusinessUnitCode_throws() {
     var w = warehouse("  ", "ZWOLLE-001", 100, 10);
 
-    assertThrows(WarehouseNotFoundException.class, () -> useCase.archive(w));
+    assertThrows(WarehouseNotFoundException.class, () -> archive(w));
     verify(warehouseStore, never()).update(any());
   }
 
@@ -45,7 +50,7 @@ public class ArchiveWarehouseUseCaseTest {
     var w = warehouse("MWH.001", "ZWOLLE-001", 100, 10);
     assertNull(w.archivedAt);
 
-    useCase.archive(w);
+    archive(w);
 
     verify(warehouseStore).update(w);
     assertNotNull(w.archivedAt);
@@ -56,7 +61,7 @@ public class ArchiveWarehouseUseCaseTest {
     var w = warehouse("MWH.001", "ZWOLLE-001", 100, 10);
     w.archivedAt = LocalDateTime.now().minusDays(1);
 
-    useCase.archive(w);
+    archive(w);
 
     verify(warehouseStore, never()).update(any());
   }
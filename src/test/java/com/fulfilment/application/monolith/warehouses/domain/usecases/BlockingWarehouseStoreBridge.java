@@ -0,0 +1,63 @@
+package com.fulfilment.application.monolith.warehouses.domain.usecases;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.LocationOccupancy;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseFilter;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ReactiveWarehouseStore;
+import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
+import io.smallrye.mutiny.Uni;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Presents a (mocked) {@link WarehouseStore} as a {@link ReactiveWarehouseStore}, so the reactive
+ * use cases run against the stubs and verifications of the blocking use-case tests.
+ */
+class BlockingWarehouseStoreBridge implements ReactiveWarehouseStore {
+
+  private final WarehouseStore warehouseStore;
+
+  BlockingWarehouseStoreBridge(WarehouseStore warehouseStore) {
+    this.warehouseStore = warehouseStore;
+  }
+
+  @Override
+  public Uni<List<Warehouse>> getAll() {
+    return Uni.createFrom().item(warehouseStore::getAll);
+  }
+
+  @Override
+  public Uni<List<Warehouse>> findActive(WarehouseFilter filter, int limit) {
+    return Uni.createFrom().item(() -> warehouseStore.findActive(filter, limit));
+  }
+
+  @Override
+  public Uni<Void> create(Warehouse warehouse) {
+    return Uni.createFrom().voidItem().invoke(() -> warehouseStore.create(warehouse));
+  }
+
+  @Override
+  public Uni<Void> update(Warehouse warehouse) {
+    return Uni.createFrom().voidItem().invoke(() -> warehouseStore.update(warehouse));
+  }
+
+  @Override
+  public Uni<Warehouse> findActiveByBusinessUnitCode(String buCode) {
+    return Uni.createFrom().item(() -> warehouseStore.findActiveByBusinessUnitCode(buCode));
+  }
+
+  @Override
+  public Uni<Warehouse> getById(Long id) {
+    return Uni.createFrom().item(() -> warehouseStore.getById(id));
+  }
+
+  @Override
+  public Uni<LocationOccupancy> occupancyOf(String location) {
+    return Uni.createFrom().item(() -> warehouseStore.occupancyOf(location));
+  }
+
+  @Override
+  public <T> Uni<T> withTransaction(Function<ReactiveWarehouseStore, Uni<T>> work) {
+    return work.apply(this);
+  }
+}
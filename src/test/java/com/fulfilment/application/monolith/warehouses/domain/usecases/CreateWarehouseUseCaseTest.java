@@ -1,8 +1,10 @@
 package com.fulfilment.application.monolith.warehouses.domain.usecases;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -13,12 +15,18 @@ import com.fulfilment.application.monolith.warehouses.domain.exceptions.InvalidW
 import com.fulfilment.application.monolith.warehouses.domain.exceptions.LocationNotFoundException;
 import com.fulfilment.application.monolith.warehouses.domain.exceptions.MaxWarehousesReachedException;
 import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.models.LocationOccupancy;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseCreationResult;
 import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
 import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
 import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
@@ -31,6 +39,11 @@ public class CreateWarehouseUseCaseTest {
 
   @Inject CreateWarehouseUseCase useCase;
 
+  /** Runs a single create; {@link ReactiveCreateWarehouseUseCaseTest} runs the reactive one. */
+  protected void create(Warehouse warehouse) {
+    useCase.create(warehouse);
+  }
+
   private Warehouse buildWarehouse(String buCode, String location, int capacity, int stock) {
     Warehouse warehouse = new Warehouse();
     warehouse.businessUnitCode = buCode;
@@ -44,13 +57,12 @@ public class CreateWarehouseUseCaseTest {
   public void testCreateWarehouseSuccessfully() {
     Warehouse warehouse = buildWarehouse("MWH.NEW", "AMSTERDAM-001", 30, 5);
 
-    when(warehouseStore.findActiveByBusinessUnitCode("MWH.NEW")).thenReturn(null);
     when(locationResolver.resolveByIdentifier("AMSTERDAM-001"))
         .thenReturn(new Location("AMSTERDAM-001", 5, 100));
-    when(warehouseStore.countActiveByLocation("AMSTERDAM-001")).thenReturn(1L);
-    when(warehouseStore.totalCapacityByLocation("AMSTERDAM-001")).thenReturn(50);
+    when(warehouseStore.occupancyOf("AMSTERDAM-001"))
+        .thenReturn(new LocationOccupancy("AMSTERDAM-001", 1, 50));
 
-    useCase.create(warehouse);
+    create(warehouse);
 
     verify(warehouseStore).create(warehouse);
     assertNotNull(warehouse.createdAt);
@@ -60,23 +72,28 @@ public class CreateWarehouseUseCaseTest {
   @Test
   public void testCreateWarehouseThrowsDuplicateBusinessUnitCode() {
     Warehouse warehouse = buildWarehouse("MWH.001", "AMSTERDAM-001", 30, 5);
-    Warehouse existing = buildWarehouse("MWH.001", "ZWOLLE-001", 100, 10);
-
-    when(warehouseStore.findActiveByBusinessUnitCode("MWH.001")).thenReturn(existing);
 
-    assertThrows(DuplicateBusinessUnitCodeException.class, () -> useCase.create(warehouse));
-    verify(warehouseStore, never()).create(Mockito.any());
+    when(locationResolver.resolveByIdentifier("AMSTERDAM-001"))
+        .thenReturn(new Location("AMSTERDAM-001", 5, 100));
+    when(warehouseStore.occupancyOf("AMSTERDAM-001"))
+        .thenReturn(new LocationOccupancy("AMSTERDAM-001", 1, 50));
+    // the store's unique index rejects the insert; there is no lookup by code first
+    doThrow(new DuplicateBusinessUnitCodeException("MWH.001"))
+        .when(warehouseStore)
+        .create(warehouse);
+
+    assertThrows(DuplicateBusinessUnitCodeException.class, () -> create(warehouse));
+    verify(warehouseStore, never()).findActiveByBusinessUnitCode(Mockito.any());
   }
 
   @Test
   public void testCreateWarehouseThrowsLocationNotFound() {
     Warehouse warehouse = buildWarehouse("MWH.NEW", "INVALID-LOC", 30, 5);
 
-    when(warehouseStore.findActiveByBusinessUnitCode("MWH.NEW")).thenReturn(null);
     when(locationResolver.resolveByIdentifier("INVALID-LOC"))
         .thenThrow(new LocationNotFoundException("INVALID-LOC"));
 
-    assertThrows(LocationNotFoundException.class, () -> useCase.create(warehouse));
+    assertThrows(LocationNotFoundException.class, () -> create(warehouse));
     verify(warehouseStore, never()).create(Mockito.any());
   }
 
@@ -84,13 +101,13 @@ public class CreateWarehouseUseCaseTest {
   public void testCreateWarehouseThrowsMaxWarehousesReached() {
     Warehouse warehouse = buildWarehouse("MWH.NEW", "ZWOLLE-001", 30, 5);
 
-    when(warehouseStore.findActiveByBusinessUnitCode("MWH.NEW")).thenReturn(null);
     // ZWOLLE-001: maxNumberOfWarehouses=1
     when(locationResolver.resolveByIdentifier("ZWOLLE-001"))
         .thenReturn(new Location("ZWOLLE-001", 1, 40));
-    when(warehouseStore.countActiveByLocation("ZWOLLE-001")).thenReturn(1L);
+    when(warehouseStore.occupancyOf("ZWOLLE-001"))
+        .thenReturn(new LocationOccupancy("ZWOLLE-001", 1, 0));
 
-    assertThrows(MaxWarehousesReachedException.class, () -> useCase.create(warehouse));
+    assertThrows(MaxWarehousesReachedException.class, () -> create(warehouse));
     verify(warehouseStore, never()).create(Mockito.any());
   }
 
@@ -98,15 +115,14 @@ public class CreateWarehouseUseCaseTest {
   public void testCreateWarehouseThrowsCapacityExceededForLocation() {
     Warehouse warehouse = buildWarehouse("MWH.NEW", "AMSTERDAM-001", 60, 5);
 
-    when(warehouseStore.findActiveByBusinessUnitCode("MWH.NEW")).thenReturn(null);
     // AMSTERDAM-001: maxCapacity=100
     when(locationResolver.resolveByIdentifier("AMSTERDAM-001"))
         .thenReturn(new Location("AMSTERDAM-001", 5, 100));
-    when(warehouseStore.countActiveByLocation("AMSTERDAM-001")).thenReturn(1L);
     // Already 50 capacity used + 60 new = 110 > 100
-    when(warehouseStore.totalCapacityByLocation("AMSTERDAM-001")).thenReturn(50);
+    when(warehouseStore.occupancyOf("AMSTERDAM-001"))
+        .thenReturn(new LocationOccupancy("AMSTERDAM-001", 1, 50));
 
-    assertThrows(CapacityExceededException.class, () -> useCase.create(warehouse));
+    assertThrows(CapacityExceededException.class, () -> create(warehouse));
     verify(warehouseStore, never()).create(Mockito.any());
   }
 
@@ -114,14 +130,13 @@ public class CreateWarehouseUseCaseTest {
   public void testCreateWarehouseThrowsCapacityExceededStockOverCapacity() {
     Warehouse warehouse = buildWarehouse("MWH.NEW", "AMSTERDAM-001", 30, 50);
 
-    when(warehouseStore.findActiveByBusinessUnitCode("MWH.NEW")).thenReturn(null);
     when(locationResolver.resolveByIdentifier("AMSTERDAM-001"))
         .thenReturn(new Location("AMSTERDAM-001", 5, 100));
-    when(warehouseStore.countActiveByLocation("AMSTERDAM-001")).thenReturn(0L);
-    when(warehouseStore.totalCapacityByLocation("AMSTERDAM-001")).thenReturn(0);
+    when(warehouseStore.occupancyOf("AMSTERDAM-001"))
+        .thenReturn(new LocationOccupancy("AMSTERDAM-001", 0, 0));
 
     // stock=50 > capacity=30
-    assertThrows(CapacityExceededException.class, () -> useCase.create(warehouse));
+    assertThrows(CapacityExceededException.class, () -> create(warehouse));
     verify(warehouseStore, never()).create(Mockito.any());
   }
 
@@ -132,13 +147,12 @@ public class CreateWarehouseUseCaseTest {
     // currentTotal 70 + new 30 = 100 == maxCapacity 100 -> allowed
     Warehouse warehouse = buildWarehouse("MWH.BOUNDARY", "AMSTERDAM-001", 30, 10);
 
-    when(warehouseStore.findActiveByBusinessUnitCode("MWH.BOUNDARY")).thenReturn(null);
     when(locationResolver.resolveByIdentifier("AMSTERDAM-001"))
         .thenReturn(new Location("AMSTERDAM-001", 5, 100));
-    when(warehouseStore.countActiveByLocation("AMSTERDAM-001")).thenReturn(2L);
-    when(warehouseStore.totalCapacityByLocation("AMSTERDAM-001")).thenReturn(70);
+    when(warehouseStore.occupancyOf("AMSTERDAM-001"))
+        .thenReturn(new LocationOccupancy("AMSTERDAM-001", 2, 70));
 
-    useCase.create(warehouse);
+    create(warehouse);
 
     verify(warehouseStore).create(warehouse);
     assertNotNull(warehouse.createdAt);
@@ -149,13 +163,12 @@ public class CreateWarehouseUseCaseTest {
   public void testCreateWarehouseSuccessWhenNoWarehousesAtLocationYet() {
     Warehouse warehouse = buildWarehouse("MWH.FIRST", "TILBURG-001", 40, 20);
 
-    when(warehouseStore.findActiveByBusinessUnitCode("MWH.FIRST")).thenReturn(null);
     when(locationResolver.resolveByIdentifier("TILBURG-001"))
         .thenReturn(new Location("TILBURG-001", 1, 40));
-    when(warehouseStore.countActiveByLocation("TILBURG-001")).thenReturn(0L);
-    when(warehouseStore.totalCapacityByLocation("TILBURG-001")).thenReturn(0);
+    when(warehouseStore.occupancyOf("TILBURG-001"))
+        .thenReturn(new LocationOccupancy("TILBURG-001", 0, 0));
 
-    useCase.create(warehouse);
+    create(warehouse);
 
     verify(warehouseStore).create(warehouse);
     assertNotNull(warehouse.createdAt);
@@ -167,12 +180,12 @@ public class CreateWarehouseUseCaseTest {
     // count=1, maxNumberOfWarehouses=1 -> no room
     Warehouse warehouse = buildWarehouse("MWH.NEW", "ZWOLLE-001", 10, 5);
 
-    when(warehouseStore.findActiveByBusinessUnitCode("MWH.NEW")).thenReturn(null);
     when(locationResolver.resolveByIdentifier("ZWOLLE-001"))
         .thenReturn(new Location("ZWOLLE-001", 1, 40));
-    when(warehouseStore.countActiveByLocation("ZWOLLE-001")).thenReturn(1L);
+    when(warehouseStore.occupancyOf("ZWOLLE-001"))
+        .thenReturn(new LocationOccupancy("ZWOLLE-001", 1, 0));
 
-    assertThrows(MaxWarehousesReachedException.class, () -> useCase.create(warehouse));
+    assertThrows(MaxWarehousesReachedException.class, () -> create(warehouse));
     verify(warehouseStore, never()).create(Mockito.any());
   }
 
@@ -181,13 +194,12 @@ public class CreateWarehouseUseCaseTest {
     // 50 + 51 = 101 > 100
     Warehouse warehouse = buildWarehouse("MWH.OVER", "AMSTERDAM-001", 51, 10);
 
-    when(warehouseStore.findActiveByBusinessUnitCode("MWH.OVER")).thenReturn(null);
     when(locationResolver.resolveByIdentifier("AMSTERDAM-001"))
         .thenReturn(new Location("AMSTERDAM-001", 5, 100));
-    when(warehouseStore.countActiveByLocation("AMSTERDAM-001")).thenReturn(1L);
-    when(warehouseStore.totalCapacityByLocation("AMSTERDAM-001")).thenReturn(50);
+    when(warehouseStore.occupancyOf("AMSTERDAM-001"))
+        .thenReturn(new LocationOccupancy("AMSTERDAM-001", 1, 50));
 
-    assertThrows(CapacityExceededException.class, () -> useCase.create(warehouse));
+    assertThrows(CapacityExceededException.class, () -> create(warehouse));
     verify(warehouseStore, never()).create(Mockito.any());
   }
 
@@ -195,13 +207,12 @@ public class CreateWarehouseUseCaseTest {
   public void testCreateWarehouseSuccessWhenStockEqualsCapacity() {
     Warehouse warehouse = buildWarehouse("MWH.FULL", "AMSTERDAM-002", 50, 50);
 
-    when(warehouseStore.findActiveByBusinessUnitCode("MWH.FULL")).thenReturn(null);
     when(locationResolver.resolveByIdentifier("AMSTERDAM-002"))
         .thenReturn(new Location("AMSTERDAM-002", 3, 75));
-    when(warehouseStore.countActiveByLocation("AMSTERDAM-002")).thenReturn(0L);
-    when(warehouseStore.totalCapacityByLocation("AMSTERDAM-002")).thenReturn(0);
+    when(warehouseStore.occupancyOf("AMSTERDAM-002"))
+        .thenReturn(new LocationOccupancy("AMSTERDAM-002", 0, 0));
 
-    useCase.create(warehouse);
+    create(warehouse);
 
     verify(warehouseStore).create(warehouse);
     assertNotNull(warehouse.createdAt);
@@ -214,7 +225,7 @@ public class CreateWarehouseUseCaseTest {
     Warehouse warehouse = buildWarehouse("MWH.NEW", "AMSTERDAM-001", 30, 5);
     warehouse.capacity = null;
 
-    assertThrows(InvalidWarehouseException.class, () -> useCase.create(warehouse));
+    assertThrows(InvalidWarehouseException.class, () -> create(warehouse));
     verify(warehouseStore, never()).create(Mockito.any());
   }
 
@@ -223,7 +234,7 @@ public class CreateWarehouseUseCaseTest {
     Warehouse warehouse = buildWarehouse("MWH.NEW", "AMSTERDAM-001", 30, 5);
     warehouse.stock = null;
 
-    assertThrows(InvalidWarehouseException.class, () -> useCase.create(warehouse));
+    assertThrows(InvalidWarehouseException.class, () -> create(warehouse));
     verify(warehouseStore, never()).create(Mockito.any());
   }
 
@@ -231,7 +242,7 @@ public class CreateWarehouseUseCaseTest {
   public void testCreateWarehouseThrowsWhenBusinessUnitCodeIsBlank() {
     Warehouse warehouse = buildWarehouse("  ", "AMSTERDAM-001", 30, 5);
 
-    assertThrows(InvalidWarehouseException.class, () -> useCase.create(warehouse));
+    assertThrows(InvalidWarehouseException.class, () -> create(warehouse));
     verify(warehouseStore, never()).create(Mockito.any());
   }
 
@@ -239,7 +250,7 @@ public class CreateWarehouseUseCaseTest {
   public void testCreateWarehouseThrowsWhenLocationIsBlank() {
     Warehouse warehouse = buildWarehouse("MWH.NEW", "  ", 30, 5);
 
-    assertThrows(InvalidWarehouseException.class, () -> useCase.create(warehouse));
+    assertThrows(InvalidWarehouseException.class, () -> create(warehouse));
     verify(warehouseStore, never()).create(Mockito.any());
   }
 
@@ -247,7 +258,7 @@ public class CreateWarehouseUseCaseTest {
   public void testCreateWarehouseThrowsWhenCapacityIsZero() {
     Warehouse warehouse = buildWarehouse("MWH.NEW", "AMSTERDAM-001", 0, 0);
 
-    assertThrows(InvalidWarehouseException.class, () -> useCase.create(warehouse));
+    assertThrows(InvalidWarehouseException.class, () -> create(warehouse));
     verify(warehouseStore, never()).create(Mockito.any());
   }
 
@@ -255,7 +266,63 @@ public class CreateWarehouseUseCaseTest {
   public void testCreateWarehouseThrowsWhenStockIsNegative() {
     Warehouse warehouse = buildWarehouse("MWH.NEW", "AMSTERDAM-001", 30, -1);
 
-    assertThrows(InvalidWarehouseException.class, () -> useCase.create(warehouse));
+    assertThrows(InvalidWarehouseException.class, () -> create(warehouse));
+    verify(warehouseStore, never()).create(Mockito.any());
+  }
+
+  @Test
+  public void testCreateAllCreatesValidWarehousesAndRejectsOthers() {
+    List<Warehouse> warehouses =
+        Arrays.asList(
+            buildWarehouse("MWH.A", "AMSTERDAM-001", 30, 5),
+            buildWarehouse("MWH.EXISTING", "AMSTERDAM-001", 10, 5),
+            buildWarehouse("MWH.A", "AMSTERDAM-001", 10, 5),
+            buildWarehouse("MWH.B", "UNKNOWN-001", 10, 5),
+            buildWarehouse("MWH.C", "AMSTERDAM-001", 20, 5),
+            // earlier MWH.A + MWH.C already use 50 of the remaining 70
+            buildWarehouse("MWH.D", "AMSTERDAM-001", 30, 5),
+            buildWarehouse("MWH.E", "ZWOLLE-001", 10, 5),
+            null);
+
+    when(warehouseStore.findActiveBusinessUnitCodes(Mockito.any()))
+        .thenReturn(Set.of("MWH.EXISTING"));
+    when(locationResolver.resolveByIdentifier("AMSTERDAM-001"))
+        .thenReturn(new Location("AMSTERDAM-001", 5, 100));
+    when(locationResolver.resolveByIdentifier("ZWOLLE-001"))
+        .thenReturn(new Location("ZWOLLE-001", 1, 40));
+    when(locationResolver.resolveByIdentifier("UNKNOWN-001"))
+        .thenThrow(new LocationNotFoundException("UNKNOWN-001"));
+    when(warehouseStore.occupancyByLocation(Mockito.any()))
+        .thenReturn(
+            Map.of(
+                "AMSTERDAM-001", new LocationOccupancy("AMSTERDAM-001", 1, 30),
+                "ZWOLLE-001", new LocationOccupancy("ZWOLLE-001", 1, 20)));
+
+    List<WarehouseCreationResult> results = useCase.createAll(warehouses);
+
+    assertEquals(
+        Arrays.asList(
+            null,
+            DuplicateBusinessUnitCodeException.ERROR_CODE,
+            DuplicateBusinessUnitCodeException.ERROR_CODE,
+            LocationNotFoundException.ERROR_CODE,
+            null,
+            CapacityExceededException.ERROR_CODE,
+            MaxWarehousesReachedException.ERROR_CODE,
+            InvalidWarehouseException.ERROR_CODE),
+        results.stream().map(r -> r.errorCode).toList());
+    verify(warehouseStore).createAll(List.of(warehouses.get(0), warehouses.get(4)));
     verify(warehouseStore, never()).create(Mockito.any());
+    assertNotNull(warehouses.get(0).createdAt);
+  }
+
+  @Test
+  public void testCreateAllWithNoValidWarehousesCreatesNothing() {
+    List<Warehouse> warehouses = List.of(buildWarehouse("MWH.NEW", "AMSTERDAM-001", 0, 0));
+
+    List<WarehouseCreationResult> results = useCase.createAll(warehouses);
+
+    assertEquals(InvalidWarehouseException.ERROR_CODE, results.get(0).errorCode);
+    verify(warehouseStore, never()).createAll(Mockito.any());
   }
 }
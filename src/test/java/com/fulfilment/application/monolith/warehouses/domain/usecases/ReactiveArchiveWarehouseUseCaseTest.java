@@ -0,0 +1,19 @@
+package com.fulfilment.application.monolith.warehouses.domain.usecases;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import io.quarkus.test.junit.QuarkusTest;
+
+/**
+ * The {@link ArchiveWarehouseUseCaseTest} cases against {@link ReactiveArchiveWarehouseUseCase}.
+ */
+@QuarkusTest
+public class ReactiveArchiveWarehouseUseCaseTest extends ArchiveWarehouseUseCaseTest {
+
+  @Override
+  protected void archive(Warehouse warehouse) {
+    new ReactiveArchiveWarehouseUseCase(new BlockingWarehouseStoreBridge(warehouseStore))
+        .archive(warehouse)
+        .await()
+        .indefinitely();
+  }
+}
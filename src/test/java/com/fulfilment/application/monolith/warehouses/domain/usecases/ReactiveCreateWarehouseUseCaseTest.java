@@ -0,0 +1,22 @@
+package com.fulfilment.application.monolith.warehouses.domain.usecases;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.validators.WarehouseValidator;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+
+/** The {@link CreateWarehouseUseCaseTest} cases against {@link ReactiveCreateWarehouseUseCase}. */
+@QuarkusTest
+public class ReactiveCreateWarehouseUseCaseTest extends CreateWarehouseUseCaseTest {
+
+  @Inject WarehouseValidator warehouseValidator;
+
+  @Override
+  protected void create(Warehouse warehouse) {
+    new ReactiveCreateWarehouseUseCase(
+            new BlockingWarehouseStoreBridge(warehouseStore), locationResolver, warehouseValidator)
+        .create(warehouse)
+        .await()
+        .indefinitely();
+  }
+}
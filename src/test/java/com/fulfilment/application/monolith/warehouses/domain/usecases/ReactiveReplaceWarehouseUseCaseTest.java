@@ -0,0 +1,24 @@
+package com.fulfilment.application.monolith.warehouses.domain.usecases;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.validators.WarehouseValidator;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+
+/**
+ * The {@link ReplaceWarehouseUseCaseTest} cases against {@link ReactiveReplaceWarehouseUseCase}.
+ */
+@QuarkusTest
+public class ReactiveReplaceWarehouseUseCaseTest extends ReplaceWarehouseUseCaseTest {
+
+  @Inject WarehouseValidator warehouseValidator;
+
+  @Override
+  protected void replace(Warehouse warehouse) {
+    new ReactiveReplaceWarehouseUseCase(
+            new BlockingWarehouseStoreBridge(warehouseStore), locationResolver, warehouseValidator)
+        .replace(warehouse)
+        .await()
+        .indefinitely();
+  }
+}
@@ -14,6 +14,7 @@ import com.fulfilment.application.monolith.warehouses.domain.exceptions.MaxWareh
 import com.fulfilment.application.monolith.warehouses.domain.exceptions.StockMismatchException;
 import com.fulfilment.application.monolith.warehouses.domain.exceptions.WarehouseNotFoundException;
 import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.models.LocationOccupancy;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
 import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
 import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
@@ -31,6 +32,11 @@ public class ReplaceWarehouseUseCaseTest {
 
   @Inject ReplaceWarehouseUseCase useCase;
 
+  /** Runs a replace; {@link ReactiveReplaceWarehouseUseCaseTest} runs the reactive one. */
+  protected void replace(Warehouse warehouse) {
+    useCase.replace(warehouse);
+  }
+
   private static Warehouse warehouse(
       String buCode, String location, Integer capacity, Integer stock) {
     var w = new Warehouse();
@@ -45,7 +51,7 @@ public class ReplaceWarehouseUseCaseTest {
   @Test
   void replace_whenBusinessUnitCodeBlank_throwsInvalidWarehouseException() {
     Warehouse newWh = warehouse("  ", "AMSTERDAM-001", 100, 50);
-    assertThrows(InvalidWarehouseException.class, () -> useCase.replace(newWh));
+    assertThrows(InvalidWarehouseException.class, () -> replace(newWh));
     verify(warehouseStore, never()).update(any());
     verify(warehouseStore, never()).create(any());
   }
@@ -53,7 +59,7 @@ public class ReplaceWarehouseUseCaseTest {
   @Test
   void replace_whenLocationBlank_throwsInvalidWarehouseException() {
     Warehouse newWh = warehouse("MWH.001", "  ", 100, 50);
-    assertThrows(InvalidWarehouseException.class, () -> useCase.replace(newWh));
+    assertThrows(InvalidWarehouseException.class, () -> replace(newWh));
     verify(warehouseStore, never()).update(any());
     verify(warehouseStore, never()).create(any());
   }
@@ -61,7 +67,7 @@ public class ReplaceWarehouseUseCaseTest {
   @Test
   void replace_whenCapacityNull_throwsInvalidWarehouseException() {
     Warehouse newWh = warehouse("MWH.001", "AMSTERDAM-001", null, 50);
-    assertThrows(InvalidWarehouseException.class, () -> useCase.replace(newWh));
+    assertThrows(InvalidWarehouseException.class, () -> replace(newWh));
     verify(warehouseStore, never()).update(any());
     verify(warehouseStore, never()).create(any());
   }
@@ -69,7 +75,7 @@ public class ReplaceWarehouseUseCaseTest {
   @Test
   void replace_whenStockNull_throwsInvalidWarehouseException() {
     Warehouse newWh = warehouse("MWH.001", "AMSTERDAM-001", 100, null);
-    assertThrows(InvalidWarehouseException.class, () -> useCase.replace(newWh));
+    assertThrows(InvalidWarehouseException.class, () -> replace(newWh));
     verify(warehouseStore, never()).update(any());
     verify(warehouseStore, never()).create(any());
   }
@@ -77,7 +83,7 @@ public class ReplaceWarehouseUseCaseTest {
   @Test
   void replace_whenCapacityZero_throwsInvalidWarehouseException() {
     Warehouse newWh = warehouse("MWH.001", "AMSTERDAM-001", 0, 50);
-    assertThrows(InvalidWarehouseException.class, () -> useCase.replace(newWh));
+    assertThrows(InvalidWarehouseException.class, () -> replace(newWh));
     verify(warehouseStore, never()).update(any());
     verify(warehouseStore, never()).create(any());
   }
@@ -85,7 +91,7 @@ public class ReplaceWarehouseUseCaseTest {
   @Test
   void replace_whenStockNegative_throwsInvalidWarehouseException() {
     Warehouse newWh = warehouse("MWH.001", "AMSTERDAM-001", 100, -1);
-    assertThrows(InvalidWarehouseException.class, () -> useCase.replace(newWh));
+    assertThrows(InvalidWarehouseException.class, () -> replace(newWh));
     verify(warehouseStore, never()).update(any());
     verify(warehouseStore, never()).create(any());
   }
@@ -95,7 +101,7 @@ public class ReplaceWarehouseUseCaseTest {
     Warehouse newWh = warehouse("MWH.001", "AMSTERDAM-001", 100, 50);
     when(warehouseStore.findActiveByBusinessUnitCode("MWH.001")).thenReturn(null);
 
-    assertThrows(WarehouseNotFoundException.class, () -> useCase.replace(newWh));
+    assertThrows(WarehouseNotFoundException.class, () -> replace(newWh));
     verify(warehouseStore, never()).update(any());
     verify(warehouseStore, never()).create(any());
   }
@@ -108,7 +114,7 @@ public class ReplaceWarehouseUseCaseTest {
     when(locationResolver.resolveByIdentifier("UNKNOWN-LOC"))
         .thenThrow(new LocationNotFoundException("UNKNOWN-LOC"));
 
-    assertThrows(LocationNotFoundException.class, () -> useCase.replace(newWh));
+    assertThrows(LocationNotFoundException.class, () -> replace(newWh));
     verify(warehouseStore, never()).update(any());
     verify(warehouseStore, never()).create(any());
   }
@@ -119,7 +125,7 @@ public class ReplaceWarehouseUseCaseTest {
     Warehouse newWh = warehouse("MWH.001", "AMSTERDAM-001", 50, 80); // capacity 50 < stock 80
     when(warehouseStore.findActiveByBusinessUnitCode("MWH.001")).thenReturn(current);
 
-    assertThrows(InsufficientCapacityException.class, () -> useCase.replace(newWh));
+    assertThrows(InsufficientCapacityException.class, () -> replace(newWh));
     verify(warehouseStore, never()).update(any());
     verify(warehouseStore, never()).create(any());
   }
@@ -131,10 +137,10 @@ public class ReplaceWarehouseUseCaseTest {
     when(warehouseStore.findActiveByBusinessUnitCode("MWH.001")).thenReturn(current);
     when(locationResolver.resolveByIdentifier("AMSTERDAM-001"))
         .thenReturn(new Location("AMSTERDAM-001", 5, 100));
-    when(warehouseStore.countActiveByLocation("AMSTERDAM-001")).thenReturn(0L);
-    when(warehouseStore.totalCapacityByLocation("AMSTERDAM-001")).thenReturn(0);
+    when(warehouseStore.occupancyOf("AMSTERDAM-001"))
+        .thenReturn(new LocationOccupancy("AMSTERDAM-001", 0, 0));
 
-    assertThrows(StockMismatchException.class, () -> useCase.replace(newWh));
+    assertThrows(StockMismatchException.class, () -> replace(newWh));
     verify(warehouseStore, never()).update(any());
     verify(warehouseStore, never()).create(any());
   }
@@ -147,10 +153,11 @@ public class ReplaceWarehouseUseCaseTest {
     when(warehouseStore.findActiveByBusinessUnitCode("MWH.001")).thenReturn(current);
     when(locationResolver.resolveByIdentifier("AMSTERDAM-001"))
         .thenReturn(new Location("AMSTERDAM-001", 5, 100));
-    when(warehouseStore.countActiveByLocation("AMSTERDAM-001")).thenReturn(1L);
-    when(warehouseStore.totalCapacityByLocation("AMSTERDAM-001")).thenReturn(20); // 20 + 80 <= 100
+    // 20 + 80 <= 100
+    when(warehouseStore.occupancyOf("AMSTERDAM-001"))
+        .thenReturn(new LocationOccupancy("AMSTERDAM-001", 1, 20));
 
-    useCase.replace(newWh);
+    replace(newWh);
 
     verify(warehouseStore).update(current);
     verify(warehouseStore).create(newWh);
@@ -167,12 +174,11 @@ public class ReplaceWarehouseUseCaseTest {
     when(warehouseStore.findActiveByBusinessUnitCode("MWH.001")).thenReturn(current);
     when(locationResolver.resolveByIdentifier("AMSTERDAM-001"))
         .thenReturn(new Location("AMSTERDAM-001", 5, 100));
-    when(warehouseStore.countActiveByLocation("AMSTERDAM-001"))
-        .thenReturn(2L); // same loc: 2 active
-    when(warehouseStore.totalCapacityByLocation("AMSTERDAM-001"))
-        .thenReturn(40); // 40 - 50 + 60 = 50 <= 100
+    // same loc: 2 active; 40 - 50 + 60 = 50 <= 100
+    when(warehouseStore.occupancyOf("AMSTERDAM-001"))
+        .thenReturn(new LocationOccupancy("AMSTERDAM-001", 2, 40));
 
-    useCase.replace(newWh);
+    replace(newWh);
 
     verify(warehouseStore).update(current);
     verify(warehouseStore).create(newWh);
@@ -186,13 +192,11 @@ public class ReplaceWarehouseUseCaseTest {
     when(warehouseStore.findActiveByBusinessUnitCode("MWH.001")).thenReturn(current);
     when(locationResolver.resolveByIdentifier("AMSTERDAM-001"))
         .thenReturn(new Location("AMSTERDAM-001", 2, 100)); // max 2 warehouses
-    when(warehouseStore.countActiveByLocation("AMSTERDAM-001"))
-        .thenReturn(2L); // already 2, same loc: 2 > 2 is false... need count > max. So 3 > 2.
-    when(warehouseStore.totalCapacityByLocation("AMSTERDAM-001")).thenReturn(50);
     // sameLocation true, activeCountAtNewLocation 3 > 2 → MaxWarehousesReached
-    when(warehouseStore.countActiveByLocation("AMSTERDAM-001")).thenReturn(3L);
+    when(warehouseStore.occupancyOf("AMSTERDAM-001"))
+        .thenReturn(new LocationOccupancy("AMSTERDAM-001", 3, 50));
 
-    assertThrows(MaxWarehousesReachedException.class, () -> useCase.replace(newWh));
+    assertThrows(MaxWarehousesReachedException.class, () -> replace(newWh));
     verify(warehouseStore, never()).update(any());
     verify(warehouseStore, never()).create(any());
   }
@@ -205,10 +209,11 @@ public class ReplaceWarehouseUseCaseTest {
     when(warehouseStore.findActiveByBusinessUnitCode("MWH.001")).thenReturn(current);
     when(locationResolver.resolveByIdentifier("AMSTERDAM-001"))
         .thenReturn(new Location("AMSTERDAM-001", 2, 100));
-    when(warehouseStore.countActiveByLocation("AMSTERDAM-001")).thenReturn(2L); // >= 2, no room
-    when(warehouseStore.totalCapacityByLocation("AMSTERDAM-001")).thenReturn(50);
+    // >= 2, no room
+    when(warehouseStore.occupancyOf("AMSTERDAM-001"))
+        .thenReturn(new LocationOccupancy("AMSTERDAM-001", 2, 50));
 
-    assertThrows(MaxWarehousesReachedException.class, () -> useCase.replace(newWh));
+    assertThrows(MaxWarehousesReachedException.class, () -> replace(newWh));
     verify(warehouseStore, never()).update(any());
     verify(warehouseStore, never()).create(any());
   }
@@ -222,11 +227,11 @@ public class ReplaceWarehouseUseCaseTest {
     when(warehouseStore.findActiveByBusinessUnitCode("MWH.001")).thenReturn(current);
     when(locationResolver.resolveByIdentifier("AMSTERDAM-001"))
         .thenReturn(new Location("AMSTERDAM-001", 5, 50));
-    when(warehouseStore.countActiveByLocation("AMSTERDAM-001")).thenReturn(1L);
-    when(warehouseStore.totalCapacityByLocation("AMSTERDAM-001"))
-        .thenReturn(20); // 20 - 20 + 90 = 90 > 50
+    // 20 - 20 + 90 = 90 > 50
+    when(warehouseStore.occupancyOf("AMSTERDAM-001"))
+        .thenReturn(new LocationOccupancy("AMSTERDAM-001", 1, 20));
 
-    assertThrows(CapacityExceededException.class, () -> useCase.replace(newWh));
+    assertThrows(CapacityExceededException.class, () -> replace(newWh));
     verify(warehouseStore, never()).update(any());
     verify(warehouseStore, never()).create(any());
   }
@@ -240,10 +245,11 @@ public class ReplaceWarehouseUseCaseTest {
     when(warehouseStore.findActiveByBusinessUnitCode("MWH.001")).thenReturn(current);
     when(locationResolver.resolveByIdentifier("AMSTERDAM-001"))
         .thenReturn(new Location("AMSTERDAM-001", 5, 100));
-    when(warehouseStore.countActiveByLocation("AMSTERDAM-001")).thenReturn(1L);
-    when(warehouseStore.totalCapacityByLocation("AMSTERDAM-001")).thenReturn(50); // 50 + 60 > 100
+    // 50 + 60 > 100
+    when(warehouseStore.occupancyOf("AMSTERDAM-001"))
+        .thenReturn(new LocationOccupancy("AMSTERDAM-001", 1, 50));
 
-    assertThrows(CapacityExceededException.class, () -> useCase.replace(newWh));
+    assertThrows(CapacityExceededException.class, () -> replace(newWh));
     verify(warehouseStore, never()).update(any());
     verify(warehouseStore, never()).create(any());
   }
@@ -264,10 +270,10 @@ public class ReplaceWarehouseUseCaseTest {
     when(warehouseStore.findActiveByBusinessUnitCode("MWH.001")).thenReturn(current);
     when(locationResolver.resolveByIdentifier("AMSTERDAM-001"))
         .thenReturn(new Location("AMSTERDAM-001", 5, 100));
-    when(warehouseStore.countActiveByLocation("AMSTERDAM-001")).thenReturn(0L);
-    when(warehouseStore.totalCapacityByLocation("AMSTERDAM-001")).thenReturn(0);
+    when(warehouseStore.occupancyOf("AMSTERDAM-001"))
+        .thenReturn(new LocationOccupancy("AMSTERDAM-001", 0, 0));
 
-    useCase.replace(newWh);
+    replace(newWh);
     verify(warehouseStore).update(current);
     verify(warehouseStore).create(newWh);
   }